@@ -1,7 +1,15 @@
 package com.thecookiezen.archiledger.application.service;
 
+import com.thecookiezen.archiledger.domain.model.DirectedLink;
+import com.thecookiezen.archiledger.domain.model.GraphPage;
+import com.thecookiezen.archiledger.domain.model.LinkResult;
 import com.thecookiezen.archiledger.domain.model.MemoryNote;
 import com.thecookiezen.archiledger.domain.model.MemoryNoteId;
+import com.thecookiezen.archiledger.domain.model.Neighborhood;
+import com.thecookiezen.archiledger.domain.model.NoteSkeleton;
+import com.thecookiezen.archiledger.domain.model.ScoredNote;
+import com.thecookiezen.archiledger.domain.model.SearchCriteria;
+import com.thecookiezen.archiledger.domain.model.SearchMode;
 
 import java.util.List;
 import java.util.Map;
@@ -23,15 +31,35 @@ public interface MemoryNoteService {
 
     void addLink(MemoryNoteId from, MemoryNoteId to, String relationType);
 
+    List<LinkResult> addLinks(List<DirectedLink> links);
+
     void removeLink(MemoryNoteId from, MemoryNoteId to, String relationType);
 
     List<MemoryNote> getNotesByTag(String tag);
 
     List<MemoryNote> getLinkedNotes(MemoryNoteId noteId);
 
+    Neighborhood getNeighborhood(MemoryNoteId noteId, int depth, List<String> relationTypes, int maxNodes);
+
     Set<String> getAllTags();
 
     Map<String, Object> readGraph();
 
-    List<String> similaritySearch(String query);
+    /**
+     * Reads the page of at most {@code pageSize} notes that follows {@code cursor} (null for the first page).
+     */
+    GraphPage<MemoryNote> readGraphPage(String cursor, int pageSize);
+
+    /**
+     * Like {@link #readGraphPage} but returns only ids, tags and links.
+     */
+    GraphPage<NoteSkeleton> readGraphSkeleton(String cursor, int pageSize);
+
+    List<ScoredNote> similaritySearch(String query, SearchCriteria criteria);
+
+    /**
+     * Searches with the given mode. {@code HYBRID} fuses the vector and lexical rankings by reciprocal rank,
+     * so its scores are fusion scores; {@code criteria.minScore()} only applies to the vector ranking.
+     */
+    List<ScoredNote> search(String query, SearchCriteria criteria, SearchMode mode);
 }
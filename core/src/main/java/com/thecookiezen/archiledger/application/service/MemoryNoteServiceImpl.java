@@ -1,7 +1,15 @@
 package com.thecookiezen.archiledger.application.service;
 
+import com.thecookiezen.archiledger.domain.model.DirectedLink;
+import com.thecookiezen.archiledger.domain.model.GraphPage;
+import com.thecookiezen.archiledger.domain.model.LinkResult;
 import com.thecookiezen.archiledger.domain.model.MemoryNote;
 import com.thecookiezen.archiledger.domain.model.MemoryNoteId;
+import com.thecookiezen.archiledger.domain.model.Neighborhood;
+import com.thecookiezen.archiledger.domain.model.NoteSkeleton;
+import com.thecookiezen.archiledger.domain.model.ScoredNote;
+import com.thecookiezen.archiledger.domain.model.SearchCriteria;
+import com.thecookiezen.archiledger.domain.model.SearchMode;
 import com.thecookiezen.archiledger.domain.repository.EmbeddingsService;
 import com.thecookiezen.archiledger.domain.repository.MemoryNoteRepository;
 
@@ -12,38 +20,49 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 @Service
 class MemoryNoteServiceImpl implements MemoryNoteService {
 
+    /** Each ranking contributes this many candidates per requested hybrid result. */
+    static final int HYBRID_CANDIDATE_FACTOR = 3;
+
     private final MemoryNoteRepository repository;
     private final EmbeddingsService embeddingsService;
+    private final RetrievalCounter retrievalCounter;
+    private final WriteCoordinator writes;
 
-    MemoryNoteServiceImpl(MemoryNoteRepository repository, EmbeddingsService embeddingsService) {
+    MemoryNoteServiceImpl(MemoryNoteRepository repository, EmbeddingsService embeddingsService,
+            RetrievalCounter retrievalCounter, WriteCoordinator writes) {
         this.repository = repository;
         this.embeddingsService = embeddingsService;
+        this.retrievalCounter = retrievalCounter;
+        this.writes = writes;
     }
 
     @Override
     public MemoryNote createNote(MemoryNote note) {
         float[] embedding = embeddingsService.generateEmbeddings(note);
-        return repository.save(note.withEmbedding(embedding));
+        return writes.await(writes.saveAll(List.of(note.withEmbedding(embedding)))).get(0);
     }
 
     @Override
     public List<MemoryNote> createNotes(List<MemoryNote> notes) {
-        List<MemoryNote> created = new ArrayList<>();
-        for (MemoryNote note : notes) {
-            created.add(createNote(note));
+        List<float[]> embeddings = embeddingsService.generateEmbeddings(notes);
+        List<MemoryNote> withEmbeddings = new ArrayList<>(notes.size());
+        for (int i = 0; i < notes.size(); i++) {
+            withEmbeddings.add(notes.get(i).withEmbedding(embeddings.get(i)));
         }
-        return created;
+        return writes.await(writes.saveAll(withEmbeddings));
     }
 
     @Override
     public Optional<MemoryNote> getNote(MemoryNoteId id) {
-        Optional<MemoryNote> note = repository.findById(id);
-        note.ifPresent(n -> repository.incrementRetrievalCount(id));
-        return note;
+        return repository.findById(id).map(note -> note.withRetrievalCount(
+                Math.toIntExact(note.retrievalCount() + retrievalCounter.increment(id))));
     }
 
     @Override
@@ -53,24 +72,39 @@ class MemoryNoteServiceImpl implements MemoryNoteService {
 
     @Override
     public void deleteNote(MemoryNoteId id) {
-        repository.delete(id);
+        writes.await(writes.delete(id));
+        retrievalCounter.forget(id);
     }
 
     @Override
     public void deleteNotes(List<MemoryNoteId> ids) {
-        for (MemoryNoteId id : ids) {
-            deleteNote(id);
+        List<CompletableFuture<Void>> deletes = ids.stream().map(writes::delete).toList();
+        for (int i = 0; i < ids.size(); i++) {
+            writes.await(deletes.get(i));
+            retrievalCounter.forget(ids.get(i));
         }
     }
 
     @Override
     public void addLink(MemoryNoteId from, MemoryNoteId to, String relationType) {
-        repository.addLink(from, to, relationType);
+        LinkResult result = writes.await(
+                writes.addLinks(List.of(new DirectedLink(from, to, relationType)))).get(0);
+        if (result.status() == LinkResult.Status.SOURCE_NOT_FOUND) {
+            throw new IllegalArgumentException("Source note not found: " + from.value());
+        }
+        if (result.status() == LinkResult.Status.TARGET_NOT_FOUND) {
+            throw new IllegalArgumentException("Target note not found: " + to.value());
+        }
+    }
+
+    @Override
+    public List<LinkResult> addLinks(List<DirectedLink> links) {
+        return writes.await(writes.addLinks(links));
     }
 
     @Override
     public void removeLink(MemoryNoteId from, MemoryNoteId to, String relationType) {
-        repository.removeLink(from, to, relationType);
+        writes.await(writes.removeLink(new DirectedLink(from, to, relationType)));
     }
 
     @Override
@@ -83,6 +117,18 @@ class MemoryNoteServiceImpl implements MemoryNoteService {
         return repository.findLinkedNotes(noteId);
     }
 
+    @Override
+    public Neighborhood getNeighborhood(MemoryNoteId noteId, int depth, List<String> relationTypes, int maxNodes) {
+        if (depth < 1 || depth > Neighborhood.MAX_DEPTH) {
+            throw new IllegalArgumentException("Depth must be between 1 and " + Neighborhood.MAX_DEPTH);
+        }
+        if (maxNodes < 1 || maxNodes > Neighborhood.MAX_NODES) {
+            throw new IllegalArgumentException("maxNodes must be between 1 and " + Neighborhood.MAX_NODES);
+        }
+        return repository.findNeighborhood(noteId, depth,
+                relationTypes != null ? List.copyOf(relationTypes) : List.of(), maxNodes);
+    }
+
     @Override
     public Set<String> getAllTags() {
         return repository.findAllTags();
@@ -94,12 +140,50 @@ class MemoryNoteServiceImpl implements MemoryNoteService {
     }
 
     @Override
-    public List<String> similaritySearch(String query) {
+    public GraphPage<MemoryNote> readGraphPage(String cursor, int pageSize) {
+        return page(cursor, pageSize, repository::findPage, MemoryNote::id);
+    }
+
+    @Override
+    public GraphPage<NoteSkeleton> readGraphSkeleton(String cursor, int pageSize) {
+        return page(cursor, pageSize, repository::findSkeletonPage, NoteSkeleton::id);
+    }
+
+    /**
+     * Fetches one note more than requested to learn whether another page follows.
+     */
+    private static <T> GraphPage<T> page(String cursor, int pageSize,
+            BiFunction<MemoryNoteId, Integer, List<T>> finder, Function<T, MemoryNoteId> idOf) {
+        if (pageSize <= 0 || pageSize > GraphPage.MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + GraphPage.MAX_PAGE_SIZE);
+        }
+        List<T> notes = finder.apply(GraphPage.decodeCursor(cursor), pageSize + 1);
+        if (notes.size() <= pageSize) {
+            return new GraphPage<>(notes, null);
+        }
+        List<T> page = notes.subList(0, pageSize);
+        return new GraphPage<>(page, GraphPage.encodeCursor(idOf.apply(page.get(pageSize - 1))));
+    }
+
+    @Override
+    public List<ScoredNote> similaritySearch(String query, SearchCriteria criteria) {
         float[] queryEmbedding = embeddingsService.embed(query);
-        return repository.findSimilar(queryEmbedding, 10).stream()
-                .map(repository::findById)
-                .flatMap(Optional::stream)
-                .map(MemoryNote::content)
-                .toList();
+        return repository.findSimilar(queryEmbedding, criteria);
+    }
+
+    @Override
+    public List<ScoredNote> search(String query, SearchCriteria criteria, SearchMode mode) {
+        return switch (mode) {
+            case VECTOR -> similaritySearch(query, criteria);
+            case LEXICAL -> repository.findByText(query, criteria);
+            case HYBRID -> {
+                SearchCriteria candidates = new SearchCriteria(
+                        Math.min(criteria.limit() * HYBRID_CANDIDATE_FACTOR, SearchCriteria.MAX_LIMIT),
+                        criteria.minScore(), criteria.tags(), criteria.createdAfter(), criteria.createdBefore());
+                yield ReciprocalRankFusion.fuse(List.of(
+                        similaritySearch(query, candidates),
+                        repository.findByText(query, candidates)), criteria.limit());
+            }
+        };
     }
 }
@@ -0,0 +1,38 @@
+package com.thecookiezen.archiledger.application.service;
+
+import com.thecookiezen.archiledger.domain.model.MemoryNoteId;
+import com.thecookiezen.archiledger.domain.model.ScoredNote;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Merges rankings whose scores are not comparable (cosine similarity, BM25) by rank alone: a note scores
+ * {@code sum(1 / (k + rank))} over the rankings it appears in, with 1-based ranks.
+ */
+final class ReciprocalRankFusion {
+
+    /** The constant from the original RRF paper; damps the influence of the very top ranks. */
+    static final int K = 60;
+
+    private ReciprocalRankFusion() {
+    }
+
+    static List<ScoredNote> fuse(List<List<ScoredNote>> rankings, int limit) {
+        Map<MemoryNoteId, ScoredNote> fused = new LinkedHashMap<>();
+        for (List<ScoredNote> ranking : rankings) {
+            for (int rank = 0; rank < ranking.size(); rank++) {
+                ScoredNote hit = ranking.get(rank);
+                double contribution = 1.0 / (K + rank + 1);
+                fused.merge(hit.note().id(), new ScoredNote(hit.note(), contribution),
+                        (existing, added) -> new ScoredNote(existing.note(), existing.score() + added.score()));
+            }
+        }
+        return fused.values().stream()
+                .sorted(Comparator.comparingDouble(ScoredNote::score).reversed())
+                .limit(limit)
+                .toList();
+    }
+}
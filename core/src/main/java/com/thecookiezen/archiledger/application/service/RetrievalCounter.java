@@ -0,0 +1,149 @@
+package com.thecookiezen.archiledger.application.service;
+
+import com.thecookiezen.archiledger.domain.model.MemoryNoteId;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind buffer for note retrieval counts. Reads only bump a striped {@link LongAdder}; the
+ * accumulated deltas reach the repository in a single batch every flush interval and on shutdown. Batches go
+ * through the {@link WriteCoordinator}, so they are applied in order with the saves of the same notes.
+ * <p>
+ * Deltas are taken with {@link LongAdder#sumThenReset()}, which resets each cell atomically, so an
+ * increment racing a flush lands in either this batch or the next one. A failed flush puts its
+ * deltas back; a flush that times out waiting keeps them queued and puts them back only if the write later
+ * fails.
+ * <p>
+ * A note with no retrievals since the previous flush has its adder removed, so the buffer only holds notes read
+ * within the last interval. An increment that raced the removal finds its adder unmapped and moves the count to
+ * the live one.
+ */
+@Component
+class RetrievalCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RetrievalCounter.class);
+
+    private final WriteCoordinator writes;
+    private final long flushIntervalMs;
+    private final Map<MemoryNoteId, LongAdder> pending = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+
+    RetrievalCounter(WriteCoordinator writes,
+            @Value("${notes.retrieval-count.flush-interval-ms:1000}") long flushIntervalMs) {
+        this.writes = writes;
+        this.flushIntervalMs = flushIntervalMs;
+    }
+
+    @PostConstruct
+    void start() {
+        if (flushIntervalMs <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "retrieval-counter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Records one retrieval and returns the retrievals of {@code id} not yet flushed, this one included.
+     */
+    long increment(MemoryNoteId id) {
+        LongAdder adder = pending.computeIfAbsent(id, key -> new LongAdder());
+        adder.increment();
+        if (pending.get(id) != adder) {
+            LongAdder removed = adder;
+            adder = pending.computeIfAbsent(id, key -> new LongAdder());
+            adder.add(removed.sumThenReset());
+        }
+        return adder.sum();
+    }
+
+    long pending(MemoryNoteId id) {
+        LongAdder adder = pending.get(id);
+        return adder != null ? adder.sum() : 0;
+    }
+
+    /**
+     * Drops the buffered retrievals of a deleted note.
+     */
+    void forget(MemoryNoteId id) {
+        pending.remove(id);
+    }
+
+    /** Number of notes with a buffered adder. */
+    int trackedNotes() {
+        return pending.size();
+    }
+
+    synchronized void flush() {
+        Map<MemoryNoteId, Long> deltas = new HashMap<>();
+        pending.forEach((id, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta == 0 && pending.remove(id, adder)) {
+                // Increments that landed between the reset and the removal still belong to this batch.
+                delta = adder.sumThenReset();
+            }
+            if (delta != 0) {
+                deltas.put(id, delta);
+            }
+        });
+        if (deltas.isEmpty()) {
+            return;
+        }
+        CompletableFuture<Void> write;
+        try {
+            write = writes.addRetrievalCounts(deltas);
+        } catch (RuntimeException e) {
+            restore(deltas);
+            throw e;
+        }
+        writes.await(write.whenComplete((ignored, failure) -> {
+            if (failure != null) {
+                restore(deltas);
+            }
+        }));
+    }
+
+    private void restore(Map<MemoryNoteId, Long> deltas) {
+        deltas.forEach((id, delta) -> pending.computeIfAbsent(id, key -> new LongAdder()).add(delta));
+    }
+
+    @PreDestroy
+    void close() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            try {
+                scheduler.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.warn("Failed to flush retrieval counts, retrying in {} ms", flushIntervalMs, e);
+        }
+    }
+}
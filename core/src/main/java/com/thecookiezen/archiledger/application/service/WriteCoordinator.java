@@ -0,0 +1,350 @@
+package com.thecookiezen.archiledger.application.service;
+
+import com.thecookiezen.archiledger.domain.model.DirectedLink;
+import com.thecookiezen.archiledger.domain.model.LinkResult;
+import com.thecookiezen.archiledger.domain.model.MemoryNote;
+import com.thecookiezen.archiledger.domain.model.MemoryNoteId;
+import com.thecookiezen.archiledger.domain.repository.MemoryNoteRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Group commit for every note and link mutation. Request threads enqueue mutations; a single writer thread takes
+ * whatever has queued up, waiting at most {@code max-delay-ms} after the first mutation or until
+ * {@code max-batch-size} mutations, and applies the group in one {@link MemoryNoteRepository#inTransaction}.
+ * Consecutive saves and link additions are merged into one {@code saveAll} or {@code addLinks} call; deletes and
+ * link removals are applied one by one, in queue order with the rest of the group. Retrieval count flushes go
+ * through the same queue, so they are applied in order with the saves of the same notes.
+ * <p>
+ * Callers' futures complete only after the group commits. If the group fails, its mutations are retried one
+ * by one so that a single bad mutation fails only its own caller; saves, links and deletes are idempotent, so
+ * re-applying them is harmless. Retrieval counts add to the stored value, so each is committed on its own
+ * between the groups around it and never retried. When the queue is full, callers wait up to {@code enqueue-timeout-ms} and
+ * are then rejected. If the writer thread exits for any reason, queued and later mutations fail instead of
+ * waiting for it, and {@link #await} gives up after {@code await-timeout-ms} in any case.
+ */
+@Component
+class WriteCoordinator {
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteCoordinator.class);
+
+    private sealed interface Mutation permits SaveNotes, AddLinks, DeleteNote, RemoveLink, AddRetrievalCounts, Stop {
+    }
+
+    private record SaveNotes(List<MemoryNote> notes, CompletableFuture<List<MemoryNote>> result)
+            implements Mutation {
+    }
+
+    private record AddLinks(List<DirectedLink> links, CompletableFuture<List<LinkResult>> result)
+            implements Mutation {
+    }
+
+    private record DeleteNote(MemoryNoteId id, CompletableFuture<Void> result) implements Mutation {
+    }
+
+    private record RemoveLink(DirectedLink link, CompletableFuture<Void> result) implements Mutation {
+    }
+
+    private record AddRetrievalCounts(Map<MemoryNoteId, Long> deltas, CompletableFuture<Void> result)
+            implements Mutation {
+    }
+
+    private record Stop() implements Mutation {
+    }
+
+    private final MemoryNoteRepository repository;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final long enqueueTimeoutMs;
+    private final long awaitTimeoutMs;
+    private final BlockingQueue<Mutation> queue;
+    private volatile boolean closed;
+    private Thread writer;
+
+    WriteCoordinator(MemoryNoteRepository repository,
+            @Value("${notes.write.max-batch-size:128}") int maxBatchSize,
+            @Value("${notes.write.max-delay-ms:2}") long maxDelayMs,
+            @Value("${notes.write.queue-capacity:1024}") int queueCapacity,
+            @Value("${notes.write.enqueue-timeout-ms:1000}") long enqueueTimeoutMs,
+            @Value("${notes.write.await-timeout-ms:30000}") long awaitTimeoutMs) {
+        if (maxBatchSize < 1 || maxDelayMs < 0 || queueCapacity < 1 || enqueueTimeoutMs < 0 || awaitTimeoutMs < 1) {
+            throw new IllegalArgumentException("Invalid notes.write settings");
+        }
+        this.repository = repository;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMs);
+        this.enqueueTimeoutMs = enqueueTimeoutMs;
+        this.awaitTimeoutMs = awaitTimeoutMs;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    void start() {
+        writer = new Thread(this::run, "note-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    CompletableFuture<List<MemoryNote>> saveAll(List<MemoryNote> notes) {
+        CompletableFuture<List<MemoryNote>> result = new CompletableFuture<>();
+        enqueue(new SaveNotes(List.copyOf(notes), result));
+        return result;
+    }
+
+    CompletableFuture<List<LinkResult>> addLinks(List<DirectedLink> links) {
+        CompletableFuture<List<LinkResult>> result = new CompletableFuture<>();
+        enqueue(new AddLinks(List.copyOf(links), result));
+        return result;
+    }
+
+    CompletableFuture<Void> delete(MemoryNoteId id) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        enqueue(new DeleteNote(id, result));
+        return result;
+    }
+
+    CompletableFuture<Void> removeLink(DirectedLink link) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        enqueue(new RemoveLink(link, result));
+        return result;
+    }
+
+    CompletableFuture<Void> addRetrievalCounts(Map<MemoryNoteId, Long> deltas) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        enqueue(new AddRetrievalCounts(Map.copyOf(deltas), result));
+        return result;
+    }
+
+    /**
+     * Waits for a write and rethrows its failure unwrapped, as if the repository had been called directly. A
+     * write still pending after {@code await-timeout-ms} fails the caller, though it may yet commit.
+     */
+    <T> T await(CompletableFuture<T> write) {
+        try {
+            return write.get(awaitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Write not committed within " + awaitTimeoutMs + " ms", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a write", e);
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        closed = true;
+        if (writer == null) {
+            return;
+        }
+        try {
+            queue.put(new Stop());
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        failQueued();
+    }
+
+    private void enqueue(Mutation mutation) {
+        if (closed) {
+            throw new IllegalStateException("Write coordinator is closed");
+        }
+        boolean accepted;
+        try {
+            accepted = queue.offer(mutation, enqueueTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the write queue", e);
+        }
+        if (!accepted) {
+            throw new IllegalStateException("Write queue is full, retry later");
+        }
+        if (closed) {
+            // The writer may have drained the queue before this mutation landed in it.
+            failQueued();
+        }
+    }
+
+    private void failQueued() {
+        Mutation stranded;
+        while ((stranded = queue.poll()) != null) {
+            fail(stranded, new IllegalStateException("Write coordinator is closed"));
+        }
+    }
+
+    private void run() {
+        List<Mutation> batch = new ArrayList<>(maxBatchSize);
+        try {
+            runLoop(batch);
+        } finally {
+            closed = true;
+            IllegalStateException stopped = new IllegalStateException("Write coordinator is closed");
+            batch.forEach(mutation -> fail(mutation, stopped));
+            failQueued();
+        }
+    }
+
+    private void runLoop(List<Mutation> batch) {
+        boolean stopping = false;
+        while (!stopping) {
+            try {
+                Mutation first = queue.take();
+                if (first instanceof Stop) {
+                    break;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Mutation next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    if (next instanceof Stop) {
+                        stopping = true;
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                stopping = true;
+            }
+            if (!batch.isEmpty()) {
+                commitInOrder(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Commits the batch as one group, except that every retrieval count flush is committed alone, after the
+     * mutations queued before it and before those queued after it.
+     */
+    private void commitInOrder(List<Mutation> batch) {
+        int start = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            if (batch.get(i) instanceof AddRetrievalCounts) {
+                if (i > start) {
+                    commit(batch.subList(start, i));
+                }
+                commit(batch.subList(i, i + 1));
+                start = i + 1;
+            }
+        }
+        if (start < batch.size()) {
+            commit(batch.subList(start, batch.size()));
+        }
+    }
+
+    private void commit(List<Mutation> batch) {
+        List<Runnable> completions;
+        try {
+            completions = repository.inTransaction(() -> apply(batch));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                fail(batch.get(0), e);
+                return;
+            }
+            logger.debug("Group of {} writes failed, retrying them one by one", batch.size(), e);
+            batch.forEach(mutation -> commit(List.of(mutation)));
+            return;
+        }
+        completions.forEach(Runnable::run);
+    }
+
+    /**
+     * Applies the batch in order and returns the callbacks that complete the callers' futures.
+     */
+    private List<Runnable> apply(List<Mutation> batch) {
+        List<Runnable> completions = new ArrayList<>(batch.size());
+        int start = 0;
+        while (start < batch.size()) {
+            int end = start + 1;
+            while (end < batch.size() && batch.get(end).getClass() == batch.get(start).getClass()) {
+                end++;
+            }
+            List<Mutation> run = batch.subList(start, end);
+            if (run.get(0) instanceof SaveNotes) {
+                List<SaveNotes> saves = run.stream().map(SaveNotes.class::cast).toList();
+                List<MemoryNote> saved = repository.saveAll(
+                        saves.stream().flatMap(save -> save.notes().stream()).toList());
+                split(saves, SaveNotes::notes, saved, SaveNotes::result, completions);
+            } else if (run.get(0) instanceof AddLinks) {
+                List<AddLinks> adds = run.stream().map(AddLinks.class::cast).toList();
+                List<LinkResult> results = repository.addLinks(
+                        adds.stream().flatMap(add -> add.links().stream()).toList());
+                split(adds, AddLinks::links, results, AddLinks::result, completions);
+            } else {
+                for (Mutation mutation : run) {
+                    completions.add(applyAlone(mutation));
+                }
+            }
+            start = end;
+        }
+        return completions;
+    }
+
+    private static <M, T> void split(List<M> mutations, Function<M, List<?>> input, List<T> output,
+            Function<M, CompletableFuture<List<T>>> result, List<Runnable> completions) {
+        int offset = 0;
+        for (M mutation : mutations) {
+            List<T> own = List.copyOf(output.subList(offset, offset + input.apply(mutation).size()));
+            offset += own.size();
+            CompletableFuture<List<T>> future = result.apply(mutation);
+            completions.add(() -> future.complete(own));
+        }
+    }
+
+    private Runnable applyAlone(Mutation mutation) {
+        if (mutation instanceof DeleteNote delete) {
+            repository.delete(delete.id());
+            return () -> delete.result().complete(null);
+        }
+        if (mutation instanceof AddRetrievalCounts counts) {
+            repository.addRetrievalCounts(counts.deltas());
+            return () -> counts.result().complete(null);
+        }
+        RemoveLink remove = (RemoveLink) mutation;
+        DirectedLink link = remove.link();
+        repository.removeLink(link.from(), link.to(), link.relationType());
+        return () -> remove.result().complete(null);
+    }
+
+    private static void fail(Mutation mutation, Throwable failure) {
+        if (mutation instanceof SaveNotes save) {
+            save.result().completeExceptionally(failure);
+        } else if (mutation instanceof AddLinks add) {
+            add.result().completeExceptionally(failure);
+        } else if (mutation instanceof DeleteNote delete) {
+            delete.result().completeExceptionally(failure);
+        } else if (mutation instanceof RemoveLink remove) {
+            remove.result().completeExceptionally(failure);
+        } else if (mutation instanceof AddRetrievalCounts counts) {
+            counts.result().completeExceptionally(failure);
+        }
+    }
+}
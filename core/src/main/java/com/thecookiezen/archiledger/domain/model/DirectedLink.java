@@ -0,0 +1,26 @@
+package com.thecookiezen.archiledger.domain.model;
+
+public record DirectedLink(MemoryNoteId from, MemoryNoteId to, String relationType) {
+    public DirectedLink {
+        if (from == null) {
+            throw new IllegalArgumentException("DirectedLink from cannot be null");
+        }
+        if (to == null) {
+            throw new IllegalArgumentException("DirectedLink to cannot be null");
+        }
+        if (relationType == null || relationType.isBlank()) {
+            throw new IllegalArgumentException("DirectedLink relationType cannot be null or blank");
+        }
+    }
+
+    public DirectedLink(String from, String to, String relationType) {
+        this(new MemoryNoteId(from), new MemoryNoteId(to), relationType);
+    }
+
+    /**
+     * Deterministic link name used to deduplicate links in persistent stores.
+     */
+    public String name() {
+        return from.value() + "-" + relationType + "-" + to.value();
+    }
+}
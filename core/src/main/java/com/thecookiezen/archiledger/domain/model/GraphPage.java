@@ -0,0 +1,38 @@
+package com.thecookiezen.archiledger.domain.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * One page of the graph, ordered by note id. {@code nextCursor} is an opaque token that continues
+ * after the last note of this page, or null on the last page.
+ */
+public record GraphPage<T>(List<T> notes, String nextCursor) {
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    public GraphPage {
+        notes = (notes != null) ? List.copyOf(notes) : List.of();
+    }
+
+    public static String encodeCursor(MemoryNoteId lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(lastId.value().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the id the cursor continues after, or null for a null or blank cursor (the first page).
+     */
+    public static MemoryNoteId decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return new MemoryNoteId(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid graph cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.thecookiezen.archiledger.domain.model;
+
+public record LinkResult(DirectedLink link, Status status) {
+
+    public enum Status {
+        LINKED,
+        SOURCE_NOT_FOUND,
+        TARGET_NOT_FOUND
+    }
+
+    public LinkResult {
+        if (link == null) {
+            throw new IllegalArgumentException("LinkResult link cannot be null");
+        }
+        if (status == null) {
+            throw new IllegalArgumentException("LinkResult status cannot be null");
+        }
+    }
+
+    public boolean linked() {
+        return status == Status.LINKED;
+    }
+}
@@ -0,0 +1,20 @@
+package com.thecookiezen.archiledger.domain.model;
+
+import java.util.List;
+
+/**
+ * The subgraph around a note: each reachable note once, at its shortest hop distance and ordered by it,
+ * plus the links between those notes. Links are followed in both directions.
+ */
+public record Neighborhood(List<NeighborhoodNote> notes, List<DirectedLink> links) {
+
+    public static final int DEFAULT_DEPTH = 2;
+    public static final int MAX_DEPTH = 3;
+    public static final int DEFAULT_MAX_NODES = 100;
+    public static final int MAX_NODES = 1000;
+
+    public Neighborhood {
+        notes = (notes != null) ? List.copyOf(notes) : List.of();
+        links = (links != null) ? List.copyOf(links) : List.of();
+    }
+}
@@ -0,0 +1,16 @@
+package com.thecookiezen.archiledger.domain.model;
+
+/**
+ * A note reached by a neighborhood traversal, {@code distance} hops from the start note (which has distance 0).
+ */
+public record NeighborhoodNote(MemoryNote note, int distance) {
+
+    public NeighborhoodNote {
+        if (note == null) {
+            throw new IllegalArgumentException("NeighborhoodNote note cannot be null");
+        }
+        if (distance < 0) {
+            throw new IllegalArgumentException("NeighborhoodNote distance cannot be negative");
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.thecookiezen.archiledger.domain.model;
+
+import java.util.List;
+
+/**
+ * A note without its content: enough to lay out the graph structure.
+ */
+public record NoteSkeleton(MemoryNoteId id, List<String> tags, List<NoteLink> links) {
+
+    public NoteSkeleton {
+        if (id == null) {
+            throw new IllegalArgumentException("NoteSkeleton id cannot be null");
+        }
+        tags = (tags != null) ? List.copyOf(tags) : List.of();
+        links = (links != null) ? List.copyOf(links) : List.of();
+    }
+}
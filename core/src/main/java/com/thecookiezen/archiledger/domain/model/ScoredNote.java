@@ -0,0 +1,9 @@
+package com.thecookiezen.archiledger.domain.model;
+
+public record ScoredNote(MemoryNote note, double score) {
+    public ScoredNote {
+        if (note == null) {
+            throw new IllegalArgumentException("ScoredNote note cannot be null");
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.thecookiezen.archiledger.domain.model;
+
+import java.util.List;
+
+/**
+ * Parameters of a similarity search. {@code minScore} is a cosine similarity in [-1, 1].
+ * A note matches the tag filter when it carries any of the given tags. The time bounds are
+ * ISO-8601 UTC timestamps (or prefixes such as {@code 2026-03-04}) compared lexicographically
+ * against the note timestamp: {@code createdAfter} is inclusive, {@code createdBefore} exclusive.
+ */
+public record SearchCriteria(
+        int limit,
+        double minScore,
+        List<String> tags,
+        String createdAfter,
+        String createdBefore) {
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 1000;
+    public static final double NO_MIN_SCORE = -1.0;
+
+    public SearchCriteria {
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("SearchCriteria limit must be between 1 and " + MAX_LIMIT);
+        }
+        if (minScore < -1.0 || minScore > 1.0) {
+            throw new IllegalArgumentException("SearchCriteria minScore must be between -1 and 1");
+        }
+        tags = (tags != null) ? List.copyOf(tags) : List.of();
+        createdAfter = (createdAfter == null || createdAfter.isBlank()) ? null : createdAfter;
+        createdBefore = (createdBefore == null || createdBefore.isBlank()) ? null : createdBefore;
+    }
+
+    public static SearchCriteria topK(int limit) {
+        return new SearchCriteria(limit, NO_MIN_SCORE, List.of(), null, null);
+    }
+
+    public boolean hasFilters() {
+        return !tags.isEmpty() || createdAfter != null || createdBefore != null;
+    }
+
+    public boolean matches(MemoryNote note) {
+        if (!tags.isEmpty() && note.tags().stream().noneMatch(tags::contains)) {
+            return false;
+        }
+        if (createdAfter != null && note.timestamp().compareTo(createdAfter) < 0) {
+            return false;
+        }
+        return createdBefore == null || note.timestamp().compareTo(createdBefore) < 0;
+    }
+}
@@ -0,0 +1,11 @@
+package com.thecookiezen.archiledger.domain.model;
+
+/**
+ * How {@code search_notes} ranks notes: by embedding similarity, by full-text relevance of the query terms,
+ * or by reciprocal rank fusion of both rankings.
+ */
+public enum SearchMode {
+    VECTOR,
+    LEXICAL,
+    HYBRID
+}
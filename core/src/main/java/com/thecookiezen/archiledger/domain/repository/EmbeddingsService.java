@@ -2,9 +2,17 @@ package com.thecookiezen.archiledger.domain.repository;
 
 import com.thecookiezen.archiledger.domain.model.MemoryNote;
 
+import java.util.List;
+
 public interface EmbeddingsService {
 
     float[] generateEmbeddings(MemoryNote note);
 
+    /**
+     * Generates embeddings for several notes at once. The returned list is aligned
+     * with the input list: the n-th embedding belongs to the n-th note.
+     */
+    List<float[]> generateEmbeddings(List<MemoryNote> notes);
+
     float[] embed(String text);
-}
\ No newline at end of file
+}
@@ -1,38 +1,110 @@
 package com.thecookiezen.archiledger.domain.repository;
 
+import com.thecookiezen.archiledger.domain.model.DirectedLink;
+import com.thecookiezen.archiledger.domain.model.LinkResult;
 import com.thecookiezen.archiledger.domain.model.MemoryNote;
 import com.thecookiezen.archiledger.domain.model.MemoryNoteId;
+import com.thecookiezen.archiledger.domain.model.Neighborhood;
 import com.thecookiezen.archiledger.domain.model.NoteLink;
+import com.thecookiezen.archiledger.domain.model.NoteSkeleton;
+import com.thecookiezen.archiledger.domain.model.ScoredNote;
+import com.thecookiezen.archiledger.domain.model.SearchCriteria;
 
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 public interface MemoryNoteRepository {
     MemoryNote save(MemoryNote note);
 
+    /**
+     * Saves several notes, with their embeddings and links, as one unit of work.
+     */
+    List<MemoryNote> saveAll(List<MemoryNote> notes);
+
+    /**
+     * Runs {@code work} as one transaction where the store supports them; calls made by {@code work} join it
+     * instead of committing on their own.
+     */
+    default <T> T inTransaction(Supplier<T> work) {
+        return work.get();
+    }
+
     Optional<MemoryNote> findById(MemoryNoteId id);
 
     List<MemoryNote> findAll();
 
+    /**
+     * Lazily streams every note with its outgoing links, holding at most one page of notes in memory.
+     * Notes changed while the stream is consumed may or may not be seen. Close the stream when done.
+     */
+    Stream<MemoryNote> streamAll();
+
     void delete(MemoryNoteId id);
 
     void addLink(MemoryNoteId from, MemoryNoteId to, String relationType);
 
+    /**
+     * Adds links that do not exist yet. Links whose endpoints are missing are skipped and
+     * reported in the result, which is aligned with the input list.
+     */
+    List<LinkResult> addLinks(List<DirectedLink> links);
+
     void removeLink(MemoryNoteId from, MemoryNoteId to, String relationType);
 
     List<NoteLink> findLinksFrom(MemoryNoteId id);
 
     List<MemoryNote> findByTag(String tag);
 
+    /**
+     * Lazy counterpart of {@link #findByTag}, with the same guarantees as {@link #streamAll}.
+     */
+    Stream<MemoryNote> streamByTag(String tag);
+
     List<MemoryNote> findLinkedNotes(MemoryNoteId noteId);
 
+    /**
+     * Traverses links in both directions up to {@code depth} hops from {@code start}, following only the given
+     * relation types (all when empty), and stops after {@code maxNodes} notes including the start. Notes carry
+     * no links of their own; the links between returned notes are listed on the neighborhood. Returns an
+     * empty neighborhood when the start note does not exist.
+     */
+    Neighborhood findNeighborhood(MemoryNoteId start, int depth, List<String> relationTypes, int maxNodes);
+
     Set<String> findAllTags();
 
     Map<String, Object> getGraph();
 
-    void incrementRetrievalCount(MemoryNoteId id);
+    /**
+     * Returns up to {@code limit} notes with their outgoing links, ordered by id and starting after
+     * {@code after} (or at the first note when it is null). Only the page is loaded, not the graph.
+     */
+    List<MemoryNote> findPage(MemoryNoteId after, int limit);
+
+    /**
+     * Same page as {@link #findPage} with only the id, tags and outgoing links of each note.
+     */
+    List<NoteSkeleton> findSkeletonPage(MemoryNoteId after, int limit);
+
+    /**
+     * Adds each delta to the retrieval count of its note in one batch; ids of missing notes are ignored.
+     */
+    void addRetrievalCounts(Map<MemoryNoteId, Long> deltas);
+
+    /**
+     * Returns up to {@code criteria.limit()} notes that pass the criteria filters, ordered by
+     * descending cosine similarity to the query. Returned notes carry their stored fields but
+     * no links or embedding.
+     */
+    List<ScoredNote> findSimilar(float[] queryEmbedding, SearchCriteria criteria);
 
-    List<MemoryNoteId> findSimilar(float[] queryEmbedding, int topK);
+    /**
+     * Full-text search over note content, keywords and context. Returns up to {@code criteria.limit()} notes
+     * that pass the criteria filters and contain any of the query terms, ordered by descending relevance.
+     * Scores are unbounded BM25 values, so {@code criteria.minScore()} is not applied.
+     */
+    List<ScoredNote> findByText(String query, SearchCriteria criteria);
 }
@@ -0,0 +1,76 @@
+package com.thecookiezen.archiledger.infrastructure.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Caps how many threads are inside a resource at once. Callers beyond the limit park on a fair semaphore,
+ * which costs a virtual thread almost nothing, instead of all piling into a connection pool or a native
+ * inference call. Nested calls on a thread that already holds a permit do not take another one, so a
+ * guarded component calling itself cannot deadlock.
+ */
+final class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final Semaphore permits;
+    private final ThreadLocal<int[]> depth = ThreadLocal.withInitial(() -> new int[1]);
+
+    Bulkhead(String name, int maxConcurrent) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException(name + " bulkhead needs at least one permit");
+        }
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    String name() {
+        return name;
+    }
+
+    int maxConcurrent() {
+        return maxConcurrent;
+    }
+
+    int available() {
+        return permits.availablePermits();
+    }
+
+    /**
+     * Returns a proxy of {@code target} that runs every {@code type} method inside this bulkhead.
+     */
+    <T> T guard(Class<T> type, T target) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                (proxy, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class) {
+                        return method.invoke(target, args);
+                    }
+                    enter();
+                    try {
+                        return method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    } finally {
+                        exit();
+                    }
+                }));
+    }
+
+    private void enter() throws InterruptedException {
+        int[] held = depth.get();
+        if (held[0] == 0) {
+            permits.acquire();
+        }
+        held[0]++;
+    }
+
+    private void exit() {
+        int[] held = depth.get();
+        if (--held[0] == 0) {
+            depth.remove();
+            permits.release();
+        }
+    }
+}
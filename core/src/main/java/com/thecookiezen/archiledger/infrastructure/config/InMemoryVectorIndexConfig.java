@@ -0,0 +1,118 @@
+package com.thecookiezen.archiledger.infrastructure.config;
+
+import com.thecookiezen.archiledger.infrastructure.persistence.vector.ExactVectorIndex;
+import com.thecookiezen.archiledger.infrastructure.persistence.vector.HnswVectorIndex;
+import com.thecookiezen.archiledger.infrastructure.persistence.vector.IvfVectorIndex;
+import com.thecookiezen.archiledger.infrastructure.persistence.vector.MappedVectorIndex;
+import com.thecookiezen.archiledger.infrastructure.persistence.vector.PcaVectorIndex;
+import com.thecookiezen.archiledger.infrastructure.persistence.vector.QuantizedVectorIndex;
+import com.thecookiezen.archiledger.infrastructure.persistence.vector.VectorIndex;
+import com.thecookiezen.archiledger.infrastructure.persistence.vector.VectorOps;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+@Configuration
+@Profile("default")
+public class InMemoryVectorIndexConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryVectorIndexConfig.class);
+
+    @Value("${inmemory.vector-index.type:exact}")
+    private String type;
+
+    @Value("${inmemory.vector-index.quantization:none}")
+    private String quantization;
+
+    @Value("${inmemory.vector-index.rerank-factor:0}")
+    private int rerankFactor;
+
+    @Value("${inmemory.vector-index.mapped-dir:}")
+    private String mappedDir;
+
+    @Value("${inmemory.vector-index.hnsw.m:16}")
+    private int hnswM;
+
+    @Value("${inmemory.vector-index.hnsw.ef-construction:200}")
+    private int hnswEfConstruction;
+
+    @Value("${inmemory.vector-index.hnsw.ef-search:64}")
+    private int hnswEfSearch;
+
+    @Value("${inmemory.vector-index.hnsw.seed:42}")
+    private long hnswSeed;
+
+    @Value("${inmemory.vector-index.ivf.nlist:0}")
+    private int ivfNlist;
+
+    @Value("${inmemory.vector-index.ivf.nprobe:8}")
+    private int ivfNprobe;
+
+    @Value("${inmemory.vector-index.ivf.min-training-size:1024}")
+    private int ivfMinTrainingSize;
+
+    @Value("${inmemory.vector-index.ivf.retrain-growth:2.0}")
+    private double ivfRetrainGrowth;
+
+    @Value("${inmemory.vector-index.pca.components:64}")
+    private int pcaComponents;
+
+    @Value("${inmemory.vector-index.pca.min-training-size:1024}")
+    private int pcaMinTrainingSize;
+
+    @Value("${inmemory.vector-index.pca.retrain-growth:2.0}")
+    private double pcaRetrainGrowth;
+
+    @Bean
+    public VectorIndex vectorIndex() {
+        boolean mapped = mappedDir != null && !mappedDir.isBlank();
+        if (mapped && (!"exact".equalsIgnoreCase(type.trim()) || !"none".equalsIgnoreCase(quantization.trim()))) {
+            throw new IllegalArgumentException(
+                    "inmemory.vector-index.mapped-dir requires type=exact without quantization");
+        }
+        return switch (type.trim().toLowerCase(Locale.ROOT)) {
+            case "exact" -> {
+                if (mapped) {
+                    logger.info("Using exact in-memory vector search over embeddings mapped from {}", mappedDir);
+                    yield new MappedVectorIndex(Path.of(mappedDir));
+                }
+                if ("none".equalsIgnoreCase(quantization.trim())) {
+                    logger.info("Using exact in-memory vector search");
+                    yield new ExactVectorIndex();
+                }
+                QuantizedVectorIndex.Quantization mode = QuantizedVectorIndex.Quantization.valueOf(
+                        quantization.trim().toUpperCase(Locale.ROOT));
+                int factor = rerankFactor > 0 ? rerankFactor : mode.defaultRerankFactor();
+                logger.info("Using {}-quantized in-memory vector search re-ranking {}x candidates", mode, factor);
+                yield new QuantizedVectorIndex(mode, VectorOps.preferred(), factor);
+            }
+            case "hnsw" -> {
+                logger.info("Using HNSW in-memory vector search (M={}, efConstruction={}, efSearch={})",
+                        hnswM, hnswEfConstruction, hnswEfSearch);
+                yield new HnswVectorIndex(VectorOps.preferred(), hnswM, hnswEfConstruction, hnswEfSearch,
+                        hnswSeed);
+            }
+            case "ivf" -> {
+                logger.info("Using IVF in-memory vector search (nlist={}, nprobe={}, minTrainingSize={}, retrainGrowth={})",
+                        ivfNlist == 0 ? "auto" : ivfNlist, ivfNprobe, ivfMinTrainingSize, ivfRetrainGrowth);
+                yield new IvfVectorIndex(VectorOps.preferred(), ivfNlist, ivfNprobe, ivfMinTrainingSize,
+                        ivfRetrainGrowth);
+            }
+            case "pca" -> {
+                int factor = rerankFactor > 0 ? rerankFactor : PcaVectorIndex.DEFAULT_RERANK_FACTOR;
+                logger.info("Using PCA-prefiltered in-memory vector search (components={}, rerankFactor={}, minTrainingSize={}, retrainGrowth={})",
+                        pcaComponents, factor, pcaMinTrainingSize, pcaRetrainGrowth);
+                yield new PcaVectorIndex(VectorOps.preferred(), pcaComponents, factor, pcaMinTrainingSize,
+                        pcaRetrainGrowth);
+            }
+            default -> throw new IllegalArgumentException("Unknown inmemory.vector-index.type: " + type);
+        };
+    }
+}
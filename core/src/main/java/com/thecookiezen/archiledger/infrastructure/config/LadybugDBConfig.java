@@ -3,12 +3,17 @@ package com.thecookiezen.archiledger.infrastructure.config;
 import com.ladybugdb.Connection;
 import com.ladybugdb.Database;
 import com.thecookiezen.archiledger.domain.model.MemoryNoteId;
+import com.thecookiezen.archiledger.infrastructure.persistence.ladybugdb.ReadWriteConnectionPools;
 import com.thecookiezen.archiledger.infrastructure.persistence.ladybugdb.model.LadybugMemoryNote;
 import com.thecookiezen.archiledger.infrastructure.persistence.ladybugdb.model.LadybugNoteLink;
 import com.thecookiezen.archiledger.infrastructure.persistence.ladybugdb.model.LinkProjection;
+import com.thecookiezen.archiledger.infrastructure.persistence.ladybugdb.model.NeighborProjection;
+import com.thecookiezen.archiledger.infrastructure.persistence.ladybugdb.model.NoteSkeletonProjection;
+import com.thecookiezen.archiledger.infrastructure.persistence.ladybugdb.model.NoteWithLinksProjection;
+import com.thecookiezen.archiledger.infrastructure.persistence.ladybugdb.model.ScoredNoteProjection;
+import com.thecookiezen.archiledger.infrastructure.persistence.ladybugdb.model.TextMatchProjection;
 import com.thecookiezen.ladybugdb.spring.config.EnableLadybugDBRepositories;
 import com.thecookiezen.ladybugdb.spring.connection.LadybugDBConnectionFactory;
-import com.thecookiezen.ladybugdb.spring.connection.PooledConnectionFactory;
 import com.thecookiezen.ladybugdb.spring.core.LadybugDBTemplate;
 import com.thecookiezen.ladybugdb.spring.mapper.EntityWriter;
 import com.thecookiezen.ladybugdb.spring.mapper.RowMapper;
@@ -18,8 +23,11 @@ import com.thecookiezen.ladybugdb.spring.transaction.LadybugDBTransactionManager
 
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -68,6 +76,7 @@ public class LadybugDBConfig {
                 logger.info("Loaded existing LadybugDB database from: {}", dataDirPath.toAbsolutePath());
             }
         }
+        migrateSchema(db);
 
         return db;
     }
@@ -109,9 +118,46 @@ public class LadybugDBConfig {
         }
     }
 
+    /**
+     * Additions to the schema that existing databases also need; every statement must be idempotent.
+     */
+    private void migrateSchema(Database db) {
+        try (Connection conn = new Connection(db)) {
+            try (var rk = conn.query(
+                    "ALTER TABLE MemoryNote ADD IF NOT EXISTS keywordsText STRING")) {
+                if (!rk.isSuccess()) {
+                    throw new RuntimeException("Failed to add MemoryNote.keywordsText: " + rk.getErrorMessage());
+                }
+            }
+            try (var rf = conn.query(
+                    "MATCH (n:MemoryNote) WHERE n.keywordsText IS NULL SET n.keywordsText = list_to_string(' ', n.keywords)")) {
+                if (!rf.isSuccess()) {
+                    throw new RuntimeException("Failed to fill MemoryNote.keywordsText: " + rf.getErrorMessage());
+                }
+            }
+            logger.info("MemoryNote.keywordsText column ready");
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Schema migration failed", e);
+        }
+    }
+
     @Bean(destroyMethod = "close")
-    public LadybugDBConnectionFactory connectionFactory(Database database) {
-        return new PooledConnectionFactory(database);
+    public ReadWriteConnectionPools connectionPools(Database database) {
+        ReadWriteConnectionPools pools = new ReadWriteConnectionPools(database, poolMaxTotal, poolMaxIdle, poolMinIdle);
+        pools.registerMBeans();
+        logger.info("LadybugDB connection pools ready: {} readers (idle {}..{}), 1 writer",
+                poolMaxTotal, poolMinIdle, poolMaxIdle);
+        return pools;
+    }
+
+    /**
+     * Closed through {@link #connectionPools}, which owns the connections.
+     */
+    @Bean(destroyMethod = "")
+    public LadybugDBConnectionFactory connectionFactory(ReadWriteConnectionPools pools) {
+        return pools.connectionFactory();
     }
 
     @Bean
@@ -131,6 +177,11 @@ public class LadybugDBConfig {
         registry.registerDescriptor(LadybugNoteLink.class, noteLinkReader(), noteLinkWriter());
         registry.registerDescriptor(LinkProjection.class, linkProjectionReader(), entity -> Map.of());
         registry.registerDescriptor(MemoryNoteId.class, memoryNoteIdReader(), entity -> Map.of());
+        registry.registerDescriptor(ScoredNoteProjection.class, scoredNoteReader(), entity -> Map.of());
+        registry.registerDescriptor(TextMatchProjection.class, textMatchReader(), entity -> Map.of());
+        registry.registerDescriptor(NoteWithLinksProjection.class, noteWithLinksReader(), entity -> Map.of());
+        registry.registerDescriptor(NoteSkeletonProjection.class, noteSkeletonReader(), entity -> Map.of());
+        registry.registerDescriptor(NeighborProjection.class, neighborReader(), entity -> Map.of());
         return registry;
     }
 
@@ -144,24 +195,91 @@ public class LadybugDBConfig {
     private RowMapper<LadybugMemoryNote> memoryNoteReader() {
         return row -> {
             var node = row.getNode("n");
-            LadybugMemoryNote note = new LadybugMemoryNote();
-            note.setId(ValueMappers.asString(node.get("id")));
-            note.setContent(ValueMappers.asString(node.get("content")));
-            note.setKeywords(ValueMappers.asStringList(node.get("keywords")));
-            note.setContext(ValueMappers.asString(node.get("context")));
-            note.setTags(ValueMappers.asStringList(node.get("tags")));
-            note.setTimestamp(ValueMappers.asString(node.get("timestamp")));
-            Integer retrievalCount = ValueMappers.asInteger(node.get("retrievalCount"));
-            note.setRetrievalCount(retrievalCount != null ? retrievalCount : 0);
-            return note;
+            return toLadybugMemoryNote(node::get);
+        };
+    }
+
+    private RowMapper<ScoredNoteProjection> scoredNoteReader() {
+        return row -> {
+            var node = row.getNode("n");
+            return new ScoredNoteProjection(toLadybugMemoryNote(node::get), asDouble(row.getValue("distance")));
         };
     }
 
+    private RowMapper<TextMatchProjection> textMatchReader() {
+        return row -> {
+            var node = row.getNode("n");
+            return new TextMatchProjection(toLadybugMemoryNote(node::get), asDouble(row.getValue("score")));
+        };
+    }
+
+    private RowMapper<NoteWithLinksProjection> noteWithLinksReader() {
+        return row -> {
+            var node = row.getNode("n");
+            LadybugMemoryNote note = toLadybugMemoryNote(node::get);
+            return new NoteWithLinksProjection(note,
+                    toLinks(note.getId(), row.getValue("linkTargets"), row.getValue("linkTypes")));
+        };
+    }
+
+    private RowMapper<NoteSkeletonProjection> noteSkeletonReader() {
+        return row -> {
+            String id = ValueMappers.asString(row.getValue("id"));
+            return new NoteSkeletonProjection(id, ValueMappers.asStringList(row.getValue("tags")),
+                    toLinks(id, row.getValue("linkTargets"), row.getValue("linkTypes")));
+        };
+    }
+
+    private RowMapper<NeighborProjection> neighborReader() {
+        return row -> {
+            var node = row.getNode("n");
+            LadybugMemoryNote note = toLadybugMemoryNote(node::get);
+            return new NeighborProjection(note, ((Number) row.getValue("distance")).intValue(),
+                    toLinks(note.getId(), row.getValue("linkTargets"), row.getValue("linkTypes")));
+        };
+    }
+
+    private static List<LinkProjection> toLinks(String fromId, Object linkTargets, Object linkTypes) {
+        List<String> targets = ValueMappers.asStringList(linkTargets);
+        List<String> types = ValueMappers.asStringList(linkTypes);
+        List<LinkProjection> links = new ArrayList<>();
+        if (targets != null && types != null) {
+            // OPTIONAL MATCH yields a null target for notes without outgoing links.
+            for (int i = 0; i < Math.min(targets.size(), types.size()); i++) {
+                if (targets.get(i) != null && types.get(i) != null) {
+                    links.add(new LinkProjection(fromId, targets.get(i), types.get(i)));
+                }
+            }
+        }
+        return links;
+    }
+
+    private static LadybugMemoryNote toLadybugMemoryNote(Function<String, Object> property) {
+        LadybugMemoryNote note = new LadybugMemoryNote();
+        note.setId(ValueMappers.asString(property.apply("id")));
+        note.setContent(ValueMappers.asString(property.apply("content")));
+        note.setKeywords(ValueMappers.asStringList(property.apply("keywords")));
+        note.setContext(ValueMappers.asString(property.apply("context")));
+        note.setTags(ValueMappers.asStringList(property.apply("tags")));
+        note.setTimestamp(ValueMappers.asString(property.apply("timestamp")));
+        Integer retrievalCount = ValueMappers.asInteger(property.apply("retrievalCount"));
+        note.setRetrievalCount(retrievalCount != null ? retrievalCount : 0);
+        return note;
+    }
+
+    private static double asDouble(Object value) {
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        return Double.parseDouble(ValueMappers.asString(value));
+    }
+
     private EntityWriter<LadybugMemoryNote> memoryNoteWriter() {
         return note -> {
             Map<String, Object> props = new HashMap<>();
             props.put("content", note.getContent());
             props.put("keywords", note.getKeywords());
+            props.put("keywordsText", String.join(" ", note.getKeywords()));
             props.put("context", note.getContext());
             props.put("tags", note.getTags());
             props.put("timestamp", note.getTimestamp());
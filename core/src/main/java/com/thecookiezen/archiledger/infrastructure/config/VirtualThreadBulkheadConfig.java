@@ -0,0 +1,43 @@
+package com.thecookiezen.archiledger.infrastructure.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * With {@code spring.threads.virtual.enabled=true}, request handlers run on virtual threads and thousands of
+ * sessions can be in flight at once. Blocking LadybugDB queries and ONNX inference then become the scarce
+ * resources. LadybugDB queries are already bounded where connections are leased: readers park on the fair
+ * semaphore of the reader pool ({@code ladybugdb.pool.max-total}) and writers on the single writer connection.
+ * Embedding calls get a bulkhead of half the cores, so that inference cannot occupy every carrier thread. The
+ * remaining sessions wait parked.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadBulkheadConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadBulkheadConfig.class);
+
+    @Bean
+    static BeanPostProcessor bulkheadPostProcessor(
+            @Value("${bulkhead.embeddings.max-concurrent:0}") int embeddingConcurrency) {
+        Bulkhead embeddings = new Bulkhead("embeddings", embeddingConcurrency > 0
+                ? embeddingConcurrency
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+        logger.info("Virtual threads enabled: at most {} concurrent embedding calls", embeddings.maxConcurrent());
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof EmbeddingModel model) {
+                    return embeddings.guard(EmbeddingModel.class, model);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,178 @@
+package com.thecookiezen.archiledger.infrastructure.embeddings;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Bounded LRU cache of embeddings keyed by a SHA-256 hash of the normalized text.
+ * Normalization trims the text and collapses whitespace, and folds case when
+ * {@code embeddings.cache.ignore-case} is enabled (the default ONNX model is uncased).
+ */
+@Component
+public class EmbeddingCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmbeddingCache.class);
+
+    static final String CACHE_FILE_NAME = "embedding-cache.bin";
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final int maxEntries;
+    private final boolean ignoreCase;
+    private final Path cacheFile;
+    private final Map<String, float[]> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public EmbeddingCache(
+            @Value("${embeddings.cache.max-entries:10000}") int maxEntries,
+            @Value("${embeddings.cache.ignore-case:true}") boolean ignoreCase,
+            @Value("${embeddings.cache.persist:false}") boolean persist,
+            @Value("${ladybugdb.data-dir:}") String dataDir) {
+        this.maxEntries = Math.max(0, maxEntries);
+        this.ignoreCase = ignoreCase;
+        this.cacheFile = persist && dataDir != null && !dataDir.isBlank()
+                ? Path.of(dataDir).resolve(CACHE_FILE_NAME)
+                : null;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, float[]> eldest) {
+                return size() > EmbeddingCache.this.maxEntries;
+            }
+        };
+    }
+
+    public float[] get(String text) {
+        if (maxEntries == 0) {
+            misses.increment();
+            return null;
+        }
+        float[] embedding;
+        synchronized (entries) {
+            embedding = entries.get(key(text));
+        }
+        if (embedding == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return embedding.clone();
+    }
+
+    public void put(String text, float[] embedding) {
+        if (maxEntries == 0 || embedding == null) {
+            return;
+        }
+        String key = key(text);
+        synchronized (entries) {
+            entries.put(key, embedding.clone());
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    String key(String text) {
+        String normalized = WHITESPACE.matcher(text.strip()).replaceAll(" ");
+        if (ignoreCase) {
+            normalized = normalized.toLowerCase(Locale.ROOT);
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(normalized.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    @PostConstruct
+    public void load() {
+        if (cacheFile == null || !Files.exists(cacheFile)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile)))) {
+            int count = in.readInt();
+            synchronized (entries) {
+                for (int i = 0; i < count; i++) {
+                    String key = in.readUTF();
+                    float[] embedding = new float[in.readInt()];
+                    for (int j = 0; j < embedding.length; j++) {
+                        embedding[j] = in.readFloat();
+                    }
+                    entries.put(key, embedding);
+                }
+            }
+            logger.info("Loaded {} cached embeddings from {}", count, cacheFile.toAbsolutePath());
+        } catch (IOException e) {
+            logger.warn("Failed to load embedding cache from {}, starting empty", cacheFile.toAbsolutePath(), e);
+            synchronized (entries) {
+                entries.clear();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void persist() {
+        if (cacheFile == null) {
+            return;
+        }
+        List<Map.Entry<String, float[]>> snapshot;
+        synchronized (entries) {
+            snapshot = new ArrayList<>(entries.entrySet());
+        }
+        try {
+            Files.createDirectories(cacheFile.getParent());
+            Path tmp = cacheFile.resolveSibling(CACHE_FILE_NAME + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(snapshot.size());
+                for (Map.Entry<String, float[]> entry : snapshot) {
+                    out.writeUTF(entry.getKey());
+                    out.writeInt(entry.getValue().length);
+                    for (float value : entry.getValue()) {
+                        out.writeFloat(value);
+                    }
+                }
+            }
+            Files.move(tmp, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("Persisted {} cached embeddings to {} (hits: {}, misses: {})",
+                    snapshot.size(), cacheFile.toAbsolutePath(), hits(), misses());
+        } catch (IOException e) {
+            logger.warn("Failed to persist embedding cache to {}", cacheFile.toAbsolutePath(), e);
+        }
+    }
+}
@@ -1,27 +1,72 @@
 package com.thecookiezen.archiledger.infrastructure.embeddings;
 
 import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.thecookiezen.archiledger.domain.model.MemoryNote;
 import com.thecookiezen.archiledger.domain.repository.EmbeddingsService;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @Service
 public class LadybugEmbeddingsService implements EmbeddingsService {
 
     private final EmbeddingModel embeddingModel;
+    private final EmbeddingCache cache;
+
+    @Value("${embeddings.batch-size:32}")
+    private int batchSize = 32;
 
-    public LadybugEmbeddingsService(EmbeddingModel embeddingModel) {
+    public LadybugEmbeddingsService(EmbeddingModel embeddingModel, EmbeddingCache cache) {
         this.embeddingModel = embeddingModel;
+        this.cache = cache;
     }
 
     @Override
     public float[] generateEmbeddings(MemoryNote note) {
-        return embeddingModel.embed(note.content());
+        return embed(note.content());
+    }
+
+    @Override
+    public List<float[]> generateEmbeddings(List<MemoryNote> notes) {
+        float[][] embeddings = new float[notes.size()][];
+        Map<String, List<Integer>> missing = new LinkedHashMap<>();
+        for (int i = 0; i < notes.size(); i++) {
+            String content = notes.get(i).content();
+            embeddings[i] = cache.get(content);
+            if (embeddings[i] == null) {
+                missing.computeIfAbsent(content, key -> new ArrayList<>()).add(i);
+            }
+        }
+
+        List<String> texts = new ArrayList<>(missing.keySet());
+        int step = Math.max(1, batchSize);
+        for (int start = 0; start < texts.size(); start += step) {
+            List<String> chunk = texts.subList(start, Math.min(start + step, texts.size()));
+            List<float[]> generated = embeddingModel.embed(chunk);
+            for (int j = 0; j < chunk.size(); j++) {
+                cache.put(chunk.get(j), generated.get(j));
+                for (int index : missing.get(chunk.get(j))) {
+                    embeddings[index] = generated.get(j);
+                }
+            }
+        }
+        return Arrays.asList(embeddings);
     }
 
     @Override
     public float[] embed(String text) {
-        return embeddingModel.embed(text);
+        float[] cached = cache.get(text);
+        if (cached != null) {
+            return cached;
+        }
+        float[] embedding = embeddingModel.embed(text);
+        cache.put(text, embedding);
+        return embedding;
     }
 }
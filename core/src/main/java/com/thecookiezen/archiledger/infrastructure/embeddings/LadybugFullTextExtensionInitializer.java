@@ -0,0 +1,81 @@
+package com.thecookiezen.archiledger.infrastructure.embeddings;
+
+import com.ladybugdb.Connection;
+import com.ladybugdb.Database;
+import com.ladybugdb.QueryResult;
+import com.thecookiezen.archiledger.infrastructure.persistence.ladybugdb.ReadWriteConnectionPools;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Installs the full-text search extension and creates the BM25 index used by lexical and hybrid search.
+ * The FTS extension only indexes STRING properties, so keywords are indexed through the
+ * {@code keywordsText} copy that every write keeps in sync with the {@code keywords} list.
+ */
+@Component
+@Profile("ladybugdb")
+public class LadybugFullTextExtensionInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(LadybugFullTextExtensionInitializer.class);
+
+    private static final String FTS_INDEX_NAME = "note_fts_idx";
+    private static final String TABLE_NAME = "MemoryNote";
+
+    private final Database database;
+    private final ReadWriteConnectionPools connectionPools;
+
+    @Value("${ladybugdb.extension-dir:}")
+    private String extensionDir;
+
+    public LadybugFullTextExtensionInitializer(Database database, ReadWriteConnectionPools connectionPools) {
+        this.database = database;
+        this.connectionPools = connectionPools;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        try (Connection conn = new Connection(database)) {
+            if (extensionDir != null && !extensionDir.isBlank()) {
+                executeQuery(conn, "CALL home_directory='" + extensionDir + "'");
+            }
+            logger.info("Installing and loading LadybugDB fts extension...");
+            executeQuery(conn, "INSTALL fts");
+            executeQuery(conn, "LOAD fts");
+            createFullTextIndex(conn);
+            connectionPools.requireExtension("fts");
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to initialize LadybugDB full-text extension", e);
+        }
+    }
+
+    private void createFullTextIndex(Connection conn) {
+        logger.info("Creating full-text index '{}' on {}...", FTS_INDEX_NAME, TABLE_NAME);
+        try (QueryResult result = conn.query(
+                "CALL CREATE_FTS_INDEX('" + TABLE_NAME + "', '" + FTS_INDEX_NAME
+                        + "', ['content', 'keywordsText', 'context'])")) {
+            if (result.isSuccess()) {
+                logger.info("Full-text index '{}' created successfully", FTS_INDEX_NAME);
+            } else {
+                String error = result.getErrorMessage();
+                if (error != null && error.contains("already exists")) {
+                    logger.info("Full-text index '{}' already exists, skipping creation", FTS_INDEX_NAME);
+                } else {
+                    logger.warn("Failed to create full-text index '{}': {}", FTS_INDEX_NAME, error);
+                }
+            }
+        }
+    }
+
+    private void executeQuery(Connection conn, String cypher) {
+        try (QueryResult result = conn.query(cypher)) {
+            if (!result.isSuccess()) {
+                throw new RuntimeException("Query failed: " + cypher + " — " + result.getErrorMessage());
+            }
+        }
+    }
+}
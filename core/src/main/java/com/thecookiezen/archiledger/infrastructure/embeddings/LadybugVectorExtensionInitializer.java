@@ -3,6 +3,7 @@ package com.thecookiezen.archiledger.infrastructure.embeddings;
 import com.ladybugdb.Connection;
 import com.ladybugdb.Database;
 import com.ladybugdb.QueryResult;
+import com.thecookiezen.archiledger.infrastructure.persistence.ladybugdb.ReadWriteConnectionPools;
 
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
@@ -22,12 +23,14 @@ public class LadybugVectorExtensionInitializer {
     private static final String EMBEDDING_PROPERTY = "embedding";
 
     private final Database database;
+    private final ReadWriteConnectionPools connectionPools;
 
     @Value("${ladybugdb.extension-dir:}")
     private String extensionDir;
 
-    public LadybugVectorExtensionInitializer(Database database) {
+    public LadybugVectorExtensionInitializer(Database database, ReadWriteConnectionPools connectionPools) {
         this.database = database;
+        this.connectionPools = connectionPools;
     }
 
     @PostConstruct
@@ -37,6 +40,7 @@ public class LadybugVectorExtensionInitializer {
             installExtension(conn);
             loadExtension(conn);
             createVectorIndex(conn);
+            connectionPools.requireExtension("vector");
         } catch (Exception e) {
             throw new RuntimeException("Failed to initialize LadybugDB vector extension", e);
         }
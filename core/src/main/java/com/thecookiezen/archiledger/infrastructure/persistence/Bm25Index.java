@@ -0,0 +1,161 @@
+package com.thecookiezen.archiledger.infrastructure.persistence;
+
+import com.thecookiezen.archiledger.domain.model.MemoryNoteId;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index ranking documents with Okapi BM25.
+ * <p>
+ * Identifiers such as {@code ABC-123}, {@code ERR_CONN_RESET} or {@code com.example.Foo} are indexed both whole
+ * and split into their alphanumeric parts, so a query for the exact identifier ranks its notes above notes that
+ * merely share one of the parts.
+ */
+final class Bm25Index {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final Pattern TOKEN = Pattern.compile("[\\p{L}\\p{N}]+(?:[-_.:/#][\\p{L}\\p{N}]+)*");
+    private static final Pattern PART = Pattern.compile("[\\p{L}\\p{N}]+");
+
+    record Match(MemoryNoteId id, double score) {
+    }
+
+    private final Map<String, Map<MemoryNoteId, Integer>> postings = new HashMap<>();
+    private final Map<MemoryNoteId, Map<String, Integer>> documents = new HashMap<>();
+    private final Map<MemoryNoteId, Integer> lengths = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long totalLength;
+
+    /**
+     * Indexes {@code text} for {@code id}, replacing what was indexed for it before.
+     */
+    void add(MemoryNoteId id, String text) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        List<String> tokens = tokenize(text);
+        tokens.forEach(token -> frequencies.merge(token, 1, Integer::sum));
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            frequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, key -> new HashMap<>()).put(id, frequency));
+            documents.put(id, frequencies);
+            lengths.put(id, tokens.size());
+            totalLength += tokens.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(MemoryNoteId id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} documents accepted by {@code filter} that contain at least one query term,
+     * ordered by descending BM25 score.
+     */
+    List<Match> search(String query, int limit, Predicate<MemoryNoteId> filter) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        Map<MemoryNoteId, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            int documentCount = documents.size();
+            if (documentCount == 0 || terms.isEmpty()) {
+                return List.of();
+            }
+            double averageLength = Math.max(1.0, (double) totalLength / documentCount);
+            for (String term : terms) {
+                Map<MemoryNoteId, Integer> posting = postings.get(term);
+                if (posting == null) {
+                    continue;
+                }
+                double idf = Math.log(1.0 + (documentCount - posting.size() + 0.5) / (posting.size() + 0.5));
+                posting.forEach((id, frequency) -> {
+                    double norm = K1 * (1.0 - B + B * lengths.get(id) / averageLength);
+                    scores.merge(id, idf * frequency * (K1 + 1.0) / (frequency + norm), Double::sum);
+                });
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        PriorityQueue<Match> best = new PriorityQueue<>(Comparator.comparingDouble(Match::score));
+        scores.forEach((id, score) -> {
+            if (best.size() < limit) {
+                if (filter.test(id)) {
+                    best.add(new Match(id, score));
+                }
+            } else if (score > best.peek().score() && filter.test(id)) {
+                best.poll();
+                best.add(new Match(id, score));
+            }
+        });
+        List<Match> matches = new ArrayList<>(best);
+        matches.sort(Comparator.comparingDouble(Match::score).reversed());
+        return matches;
+    }
+
+    /**
+     * Lower-cases {@code text} and splits it into terms; compound identifiers yield the whole identifier
+     * followed by its parts.
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        Matcher matcher = TOKEN.matcher(text.toLowerCase(Locale.ROOT));
+        while (matcher.find()) {
+            String token = matcher.group();
+            tokens.add(token);
+            Matcher parts = PART.matcher(token);
+            if (parts.find() && parts.end() < token.length()) {
+                do {
+                    tokens.add(parts.group());
+                } while (parts.find());
+            }
+        }
+        return tokens;
+    }
+
+    private void removeLocked(MemoryNoteId id) {
+        Map<String, Integer> previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        previous.keySet().forEach(term -> postings.computeIfPresent(term, (key, posting) -> {
+            posting.remove(id);
+            return posting.isEmpty() ? null : posting;
+        }));
+        totalLength -= lengths.remove(id);
+    }
+}
@@ -1,35 +1,191 @@
 package com.thecookiezen.archiledger.infrastructure.persistence;
 
+import com.thecookiezen.archiledger.domain.model.DirectedLink;
+import com.thecookiezen.archiledger.domain.model.LinkResult;
 import com.thecookiezen.archiledger.domain.model.MemoryNote;
 import com.thecookiezen.archiledger.domain.model.MemoryNoteId;
+import com.thecookiezen.archiledger.domain.model.Neighborhood;
+import com.thecookiezen.archiledger.domain.model.NeighborhoodNote;
 import com.thecookiezen.archiledger.domain.model.NoteLink;
+import com.thecookiezen.archiledger.domain.model.NoteSkeleton;
+import com.thecookiezen.archiledger.domain.model.ScoredNote;
+import com.thecookiezen.archiledger.domain.model.SearchCriteria;
 import com.thecookiezen.archiledger.domain.repository.MemoryNoteRepository;
+import com.thecookiezen.archiledger.infrastructure.persistence.vector.ExactVectorIndex;
+import com.thecookiezen.archiledger.infrastructure.persistence.vector.VectorIndex;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Repository
 @Profile("default")
 class InMemoryMemoryNoteRepository implements MemoryNoteRepository {
 
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryMemoryNoteRepository.class);
+
     private final Map<MemoryNoteId, MemoryNote> notes = new ConcurrentHashMap<>();
-    private final List<StoredLink> links = new CopyOnWriteArrayList<>();
+    /** Note ids in page order; maintained alongside {@link #notes} so pages need no sorting. */
+    private final NavigableSet<MemoryNoteId> noteIds = new ConcurrentSkipListSet<>(
+            Comparator.comparing(MemoryNoteId::value));
+    private final Map<MemoryNoteId, Set<StoredLink>> outgoing = new ConcurrentHashMap<>();
+    private final Map<MemoryNoteId, Set<StoredLink>> incoming = new ConcurrentHashMap<>();
+    private final Map<String, Set<MemoryNoteId>> tagIndex = new ConcurrentHashMap<>();
+    private final VectorIndex vectorIndex;
+    private final Bm25Index textIndex = new Bm25Index();
+    private final Path persistenceDir;
+    private final Duration fsyncInterval;
+    private final Duration snapshotInterval;
+
+    /**
+     * Set once recovery has finished, so replayed operations are not written to the journal again.
+     * <p>
+     * Records are appended after the map mutation, never inside a {@code compute} lambda, so journal I/O does not
+     * block other writers of the same map bin. Note, link and retrieval count mutations all come from the single
+     * writer thread of the write coordinator, which applies them one after another, so the journal records them in
+     * the order they were applied. A snapshot taken between a mutation and its append already contains it, and
+     * replaying the record again is harmless because retrieval count records carry the new total, not the delta.
+     */
+    private volatile NoteJournal journal;
+
+    InMemoryMemoryNoteRepository() {
+        this(new ExactVectorIndex());
+    }
+
+    InMemoryMemoryNoteRepository(VectorIndex vectorIndex) {
+        this(vectorIndex, "", 50, 300);
+    }
+
+    @Autowired
+    InMemoryMemoryNoteRepository(VectorIndex vectorIndex,
+            @Value("${inmemory.persistence.dir:}") String persistenceDir,
+            @Value("${inmemory.persistence.fsync-interval-ms:50}") long fsyncIntervalMs,
+            @Value("${inmemory.persistence.snapshot-interval-seconds:300}") long snapshotIntervalSeconds) {
+        if (fsyncIntervalMs <= 0) {
+            throw new IllegalArgumentException("inmemory.persistence.fsync-interval-ms must be positive");
+        }
+        this.vectorIndex = vectorIndex;
+        this.persistenceDir = persistenceDir == null || persistenceDir.isBlank() ? null : Path.of(persistenceDir);
+        this.fsyncInterval = Duration.ofMillis(fsyncIntervalMs);
+        this.snapshotInterval = Duration.ofSeconds(snapshotIntervalSeconds);
+    }
+
+    @PostConstruct
+    void recover() {
+        if (persistenceDir != null) {
+            replayJournal();
+        }
+        int stale = vectorIndex.retain(notes::containsKey);
+        if (stale > 0) {
+            logger.info("Removed {} embeddings of unknown notes from the vector index", stale);
+        }
+    }
+
+    private void replayJournal() {
+        NoteJournal opened = new NoteJournal(persistenceDir, fsyncInterval);
+        long replayed = opened.recover(new NoteJournal.Replay() {
+            @Override
+            public void save(MemoryNote note) {
+                InMemoryMemoryNoteRepository.this.save(note);
+            }
+
+            @Override
+            public void delete(MemoryNoteId id) {
+                InMemoryMemoryNoteRepository.this.delete(id);
+            }
+
+            @Override
+            public void addLink(MemoryNoteId from, MemoryNoteId to, String relationType) {
+                InMemoryMemoryNoteRepository.this.addLink(from, to, relationType);
+            }
+
+            @Override
+            public void removeLink(MemoryNoteId from, MemoryNoteId to, String relationType) {
+                InMemoryMemoryNoteRepository.this.removeLink(from, to, relationType);
+            }
+
+            @Override
+            public void retrievalCount(MemoryNoteId id, int count) {
+                notes.computeIfPresent(id, (key, note) -> note.withRetrievalCount(count));
+            }
+        });
+        logger.info("Recovered {} notes from {} ({} journal records replayed)", notes.size(),
+                persistenceDir.toAbsolutePath(), replayed);
+        opened.start(this::snapshot, snapshotInterval);
+        journal = opened;
+        if (replayed > 0) {
+            try {
+                opened.snapshot();
+            } catch (IOException e) {
+                logger.warn("Failed to compact recovered journal in {}", persistenceDir.toAbsolutePath(), e);
+            }
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        NoteJournal current = journal;
+        if (current != null) {
+            journal = null;
+            current.close();
+        }
+    }
 
     @Override
     public MemoryNote save(MemoryNote note) {
-        notes.put(note.id(), note);
+        notes.compute(note.id(), (id, previous) -> {
+            if (previous != null) {
+                previous.tags().stream()
+                        .filter(tag -> !note.tags().contains(tag))
+                        .forEach(tag -> unindex(tagIndex, tag, id));
+            }
+            note.tags().forEach(tag -> index(tagIndex, tag, id));
+            noteIds.add(id);
+            textIndex.add(id, searchableText(note));
+            // The vector index owns the embedding; keeping it on the note as well would store it twice.
+            return note.withEmbedding(null);
+        });
+        // Updated outside the compute lambda: an index insert can be slow and must not hold the map bin.
+        if (note.embedding() != null) {
+            vectorIndex.add(note.id(), note.embedding());
+        } else {
+            vectorIndex.remove(note.id());
+        }
+        journal(log -> log.save(note));
         return note;
     }
 
+    @Override
+    public List<MemoryNote> saveAll(List<MemoryNote> notesToSave) {
+        notesToSave.forEach(this::save);
+        return List.copyOf(notesToSave);
+    }
+
     @Override
     public Optional<MemoryNote> findById(MemoryNoteId id) {
         return Optional.ofNullable(notes.get(id))
@@ -43,54 +199,107 @@ class InMemoryMemoryNoteRepository implements MemoryNoteRepository {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public Stream<MemoryNote> streamAll() {
+        return noteIds.stream()
+                .map(notes::get)
+                .filter(Objects::nonNull)
+                .map(note -> note.withLinks(findLinksFrom(note.id())));
+    }
+
     @Override
     public void delete(MemoryNoteId id) {
-        notes.remove(id);
-        links.removeIf(link -> link.from.equals(id) || link.to.equals(id));
+        notes.compute(id, (key, previous) -> {
+            if (previous != null) {
+                previous.tags().forEach(tag -> unindex(tagIndex, tag, key));
+                noteIds.remove(key);
+                textIndex.remove(key);
+            }
+            return null;
+        });
+        vectorIndex.remove(id);
+        Set<StoredLink> removedOutgoing = outgoing.remove(id);
+        if (removedOutgoing != null) {
+            removedOutgoing.forEach(link -> unindex(incoming, link.to(), link));
+        }
+        Set<StoredLink> removedIncoming = incoming.remove(id);
+        if (removedIncoming != null) {
+            removedIncoming.forEach(link -> unindex(outgoing, link.from(), link));
+        }
+        journal(log -> log.delete(id));
     }
 
     @Override
     public void addLink(MemoryNoteId from, MemoryNoteId to, String relationType) {
-        boolean exists = links.stream()
-                .anyMatch(link -> link.from.equals(from) && link.to.equals(to)
-                        && link.relationType.equals(relationType));
-        if (!exists) {
-            links.add(new StoredLink(from, to, relationType));
+        StoredLink link = new StoredLink(from, to, relationType);
+        outgoing.compute(from, (key, links) -> {
+            Set<StoredLink> target = links != null ? links : ConcurrentHashMap.newKeySet();
+            target.add(link);
+            return target;
+        });
+        index(incoming, to, link);
+        journal(log -> log.addLink(from, to, relationType));
+    }
+
+    @Override
+    public List<LinkResult> addLinks(List<DirectedLink> linksToAdd) {
+        List<LinkResult> results = new ArrayList<>(linksToAdd.size());
+        for (DirectedLink link : linksToAdd) {
+            if (!notes.containsKey(link.from())) {
+                results.add(new LinkResult(link, LinkResult.Status.SOURCE_NOT_FOUND));
+            } else if (!notes.containsKey(link.to())) {
+                results.add(new LinkResult(link, LinkResult.Status.TARGET_NOT_FOUND));
+            } else {
+                addLink(link.from(), link.to(), link.relationType());
+                results.add(new LinkResult(link, LinkResult.Status.LINKED));
+            }
         }
+        return results;
     }
 
     @Override
     public void removeLink(MemoryNoteId from, MemoryNoteId to, String relationType) {
-        links.removeIf(link -> link.from.equals(from) && link.to.equals(to)
-                && link.relationType.equals(relationType));
+        StoredLink link = new StoredLink(from, to, relationType);
+        outgoing.compute(from, (key, links) -> {
+            if (links == null) {
+                return null;
+            }
+            links.remove(link);
+            return links.isEmpty() ? null : links;
+        });
+        unindex(incoming, to, link);
+        journal(log -> log.removeLink(from, to, relationType));
     }
 
     @Override
     public List<NoteLink> findLinksFrom(MemoryNoteId id) {
-        return links.stream()
-                .filter(link -> link.from.equals(id))
-                .map(link -> new NoteLink(link.to, link.relationType))
+        return outgoing.getOrDefault(id, Set.of()).stream()
+                .map(link -> new NoteLink(link.to(), link.relationType()))
                 .collect(Collectors.toList());
     }
 
     @Override
     public List<MemoryNote> findByTag(String tag) {
-        return notes.values().stream()
-                .filter(note -> note.tags().contains(tag))
+        return tagIndex.getOrDefault(tag, Set.of()).stream()
+                .map(notes::get)
+                .filter(note -> note != null)
                 .map(note -> note.withLinks(findLinksFrom(note.id())))
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public Stream<MemoryNote> streamByTag(String tag) {
+        return tagIndex.getOrDefault(tag, Set.of()).stream()
+                .map(notes::get)
+                .filter(Objects::nonNull)
+                .map(note -> note.withLinks(findLinksFrom(note.id())));
+    }
+
     @Override
     public List<MemoryNote> findLinkedNotes(MemoryNoteId noteId) {
         Set<MemoryNoteId> linkedIds = new HashSet<>();
-        for (StoredLink link : links) {
-            if (link.from.equals(noteId)) {
-                linkedIds.add(link.to);
-            } else if (link.to.equals(noteId)) {
-                linkedIds.add(link.from);
-            }
-        }
+        outgoing.getOrDefault(noteId, Set.of()).forEach(link -> linkedIds.add(link.to()));
+        incoming.getOrDefault(noteId, Set.of()).forEach(link -> linkedIds.add(link.from()));
         return linkedIds.stream()
                 .map(notes::get)
                 .filter(note -> note != null)
@@ -98,56 +307,188 @@ class InMemoryMemoryNoteRepository implements MemoryNoteRepository {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Breadth-first over the adjacency sets, so each note is first reached at its shortest distance.
+     */
+    @Override
+    public Neighborhood findNeighborhood(MemoryNoteId start, int depth, List<String> relationTypes, int maxNodes) {
+        if (!notes.containsKey(start)) {
+            return new Neighborhood(List.of(), List.of());
+        }
+        Predicate<StoredLink> followed = relationTypes.isEmpty()
+                ? link -> true
+                : link -> relationTypes.contains(link.relationType());
+        Map<MemoryNoteId, Integer> distances = new LinkedHashMap<>();
+        distances.put(start, 0);
+        ArrayDeque<MemoryNoteId> queue = new ArrayDeque<>(List.of(start));
+        while (!queue.isEmpty() && distances.size() < maxNodes) {
+            MemoryNoteId current = queue.poll();
+            int distance = distances.get(current);
+            if (distance == depth) {
+                continue;
+            }
+            List<MemoryNoteId> neighbors = new ArrayList<>();
+            outgoing.getOrDefault(current, Set.of()).stream().filter(followed).forEach(link -> neighbors.add(link.to()));
+            incoming.getOrDefault(current, Set.of()).stream().filter(followed).forEach(link -> neighbors.add(link.from()));
+            for (MemoryNoteId neighbor : neighbors) {
+                if (distances.size() == maxNodes) {
+                    break;
+                }
+                if (!distances.containsKey(neighbor) && notes.containsKey(neighbor)) {
+                    distances.put(neighbor, distance + 1);
+                    queue.add(neighbor);
+                }
+            }
+        }
+
+        List<NeighborhoodNote> reached = new ArrayList<>(distances.size());
+        List<DirectedLink> links = new ArrayList<>();
+        distances.forEach((id, distance) -> {
+            MemoryNote note = notes.get(id);
+            if (note != null) {
+                reached.add(new NeighborhoodNote(note.withLinks(List.of()), distance));
+            }
+            outgoing.getOrDefault(id, Set.of()).stream()
+                    .filter(followed)
+                    .filter(link -> distances.containsKey(link.to()))
+                    .forEach(link -> links.add(new DirectedLink(link.from(), link.to(), link.relationType())));
+        });
+        return new Neighborhood(reached, links);
+    }
+
     @Override
     public Set<String> findAllTags() {
-        return notes.values().stream()
-                .flatMap(note -> note.tags().stream())
-                .collect(Collectors.toSet());
+        return Set.copyOf(tagIndex.keySet());
     }
 
     @Override
     public Map<String, Object> getGraph() {
         return Map.of(
                 "notes", findAll(),
-                "links", new ArrayList<>(links.stream()
-                        .map(l -> new NoteLink(l.to, l.relationType))
-                        .toList()));
+                "links", outgoing.values().stream()
+                        .flatMap(Set::stream)
+                        .map(l -> new NoteLink(l.to(), l.relationType()))
+                        .collect(Collectors.toList()));
+    }
+
+    @Override
+    public List<MemoryNote> findPage(MemoryNoteId after, int limit) {
+        return pageIds(after).stream()
+                .map(notes::get)
+                .filter(Objects::nonNull)
+                .limit(limit)
+                .map(note -> note.withLinks(findLinksFrom(note.id())))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<NoteSkeleton> findSkeletonPage(MemoryNoteId after, int limit) {
+        return pageIds(after).stream()
+                .map(notes::get)
+                .filter(Objects::nonNull)
+                .limit(limit)
+                .map(note -> new NoteSkeleton(note.id(), note.tags(), findLinksFrom(note.id())))
+                .collect(Collectors.toList());
     }
 
     @Override
-    public void incrementRetrievalCount(MemoryNoteId id) {
-        notes.computeIfPresent(id, (key, note) -> note.withRetrievalCount(note.retrievalCount() + 1));
+    public void addRetrievalCounts(Map<MemoryNoteId, Long> deltas) {
+        deltas.forEach((id, delta) -> {
+            MemoryNote updated = notes.computeIfPresent(id,
+                    (key, note) -> note.withRetrievalCount(Math.toIntExact(note.retrievalCount() + delta)));
+            if (updated != null) {
+                journal(log -> log.retrievalCount(id, updated.retrievalCount()));
+            }
+        });
     }
 
     @Override
-    public List<MemoryNoteId> findSimilar(float[] queryEmbedding, int topK) {
+    public List<ScoredNote> findSimilar(float[] queryEmbedding, SearchCriteria criteria) {
         if (queryEmbedding == null || queryEmbedding.length == 0) {
             return List.of();
         }
 
-        record ScoredNote(MemoryNoteId id, double score) {
+        return vectorIndex.search(queryEmbedding, criteria.limit(), criteria.minScore(), noteFilter(criteria))
+                .stream()
+                .map(match -> {
+                    MemoryNote note = notes.get(match.id());
+                    return note == null ? null : new ScoredNote(note, match.score());
+                })
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Appends to the journal when persistence is enabled. Callers invoke this after the map operation that applies
+     * the change, outside any {@code compute} lambda; the {@code journal} field explains why the order still holds.
+     */
+    private void journal(Consumer<NoteJournal> record) {
+        NoteJournal current = journal;
+        if (current != null) {
+            record.accept(current);
         }
+    }
 
-        return notes.values().stream()
-                .filter(note -> note.embedding() != null && note.embedding().length == queryEmbedding.length)
-                .map(note -> new ScoredNote(note.id(), cosineSimilarity(queryEmbedding, note.embedding())))
-                .sorted((a, b) -> Double.compare(b.score(), a.score()))
-                .limit(topK)
-                .map(ScoredNote::id)
-                .collect(Collectors.toList());
+    private NavigableSet<MemoryNoteId> pageIds(MemoryNoteId after) {
+        return after == null ? noteIds : noteIds.tailSet(after, false);
+    }
+
+    private NoteJournal.Snapshot snapshot() {
+        Iterable<MemoryNote> snapshotNotes = () -> notes.values().stream()
+                .map(note -> note.withEmbedding(vectorIndex.vector(note.id())))
+                .iterator();
+        Iterable<DirectedLink> snapshotLinks = () -> outgoing.values().stream()
+                .flatMap(Set::stream)
+                .map(link -> new DirectedLink(link.from(), link.to(), link.relationType()))
+                .iterator();
+        return new NoteJournal.Snapshot(snapshotNotes, snapshotLinks);
     }
 
-    private static double cosineSimilarity(float[] a, float[] b) {
-        double dotProduct = 0.0;
-        double normA = 0.0;
-        double normB = 0.0;
-        for (int i = 0; i < a.length; i++) {
-            dotProduct += a[i] * b[i];
-            normA += a[i] * a[i];
-            normB += b[i] * b[i];
+    @Override
+    public List<ScoredNote> findByText(String query, SearchCriteria criteria) {
+        if (query == null || query.isBlank()) {
+            return List.of();
         }
-        double denominator = Math.sqrt(normA) * Math.sqrt(normB);
-        return denominator == 0 ? 0.0 : dotProduct / denominator;
+        return textIndex.search(query, criteria.limit(), noteFilter(criteria)).stream()
+                .map(match -> {
+                    MemoryNote note = notes.get(match.id());
+                    return note == null ? null : new ScoredNote(note, match.score());
+                })
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Accepts ids of stored notes passing the criteria filters; a persistent vector index can hold embeddings
+     * of notes this repository no longer knows.
+     */
+    private Predicate<MemoryNoteId> noteFilter(SearchCriteria criteria) {
+        return criteria.hasFilters()
+                ? id -> {
+                    MemoryNote note = notes.get(id);
+                    return note != null && criteria.matches(note);
+                }
+                : notes::containsKey;
+    }
+
+    private static String searchableText(MemoryNote note) {
+        return String.join(" ", note.content(), String.join(" ", note.keywords()),
+                Objects.requireNonNullElse(note.context(), ""));
+    }
+
+    private static <K, V> void index(Map<K, Set<V>> entries, K key, V value) {
+        entries.compute(key, (k, set) -> {
+            Set<V> target = set != null ? set : ConcurrentHashMap.newKeySet();
+            target.add(value);
+            return target;
+        });
+    }
+
+    private static <K, V> void unindex(Map<K, Set<V>> entries, K key, V value) {
+        entries.computeIfPresent(key, (k, set) -> {
+            set.remove(value);
+            return set.isEmpty() ? null : set;
+        });
     }
 
     private record StoredLink(MemoryNoteId from, MemoryNoteId to, String relationType) {
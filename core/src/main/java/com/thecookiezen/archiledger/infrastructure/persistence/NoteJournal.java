@@ -0,0 +1,617 @@
+package com.thecookiezen.archiledger.infrastructure.persistence;
+
+import com.thecookiezen.archiledger.domain.model.DirectedLink;
+import com.thecookiezen.archiledger.domain.model.MemoryNote;
+import com.thecookiezen.archiledger.domain.model.MemoryNoteId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Write-ahead log and snapshots that make the in-memory repository durable.
+ * <p>
+ * Every mutation is appended to the current {@code journal-<sequence>.log} as a length- and CRC-prefixed record
+ * and handed to the operating system immediately; {@code fsync} runs in batches every {@code fsyncInterval}, so
+ * a power failure can lose at most that window while a process crash loses nothing. Records describe resulting
+ * state (a retrieval count is logged as its new value), which keeps them idempotent: a snapshot taken while
+ * writes continue may already contain some records of the journal that follows it, and replaying them again
+ * is harmless.
+ * <p>
+ * A snapshot rotates to a new journal, writes all notes (with embeddings) and links to {@code snapshot.bin} in
+ * independently decodable segments, and then deletes the journals it covers. Recovery decodes the segments in
+ * parallel and replays the journals written after the snapshot, stopping at a torn or corrupt tail.
+ */
+final class NoteJournal implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(NoteJournal.class);
+
+    static final String SNAPSHOT_FILE = "snapshot.bin";
+
+    private static final Pattern JOURNAL_FILE = Pattern.compile("journal-(\\d{16})\\.log");
+    private static final int SNAPSHOT_MAGIC = 0x4152534e;
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final int SEGMENT_BYTES = 4 * 1024 * 1024;
+    private static final int MAX_RECORD_BYTES = 64 * 1024 * 1024;
+
+    private static final byte SAVE = 1;
+    private static final byte DELETE = 2;
+    private static final byte ADD_LINK = 3;
+    private static final byte REMOVE_LINK = 4;
+    private static final byte RETRIEVAL_COUNT = 5;
+
+    private static final byte END_SEGMENT = 0;
+    private static final byte NOTES_SEGMENT = 1;
+    private static final byte LINKS_SEGMENT = 2;
+
+    /**
+     * Receives recovered state; implementations must not write to the journal.
+     */
+    interface Replay {
+
+        void save(MemoryNote note);
+
+        void delete(MemoryNoteId id);
+
+        void addLink(MemoryNoteId from, MemoryNoteId to, String relationType);
+
+        void removeLink(MemoryNoteId from, MemoryNoteId to, String relationType);
+
+        void retrievalCount(MemoryNoteId id, int count);
+    }
+
+    /**
+     * State to snapshot. Both iterables are read once, after the journal has been rotated.
+     */
+    record Snapshot(Iterable<MemoryNote> notes, Iterable<DirectedLink> links) {
+    }
+
+    private final Path directory;
+    private final Duration fsyncInterval;
+    private final Object appendLock = new Object();
+    private final Object snapshotLock = new Object();
+
+    private ScheduledExecutorService scheduler;
+    private Supplier<Snapshot> snapshotSource;
+    private FileChannel channel;
+    private DataOutputStream out;
+    private long sequence;
+    private long recordsSinceSnapshot;
+    private boolean unsynced;
+
+    NoteJournal(Path directory, Duration fsyncInterval) {
+        this.directory = directory;
+        this.fsyncInterval = fsyncInterval;
+    }
+
+    /**
+     * Loads the snapshot, replays the journals written after it and opens a fresh journal for new records.
+     * Returns the number of journal records replayed.
+     */
+    long recover(Replay replay) {
+        try {
+            Files.createDirectories(directory);
+            long firstJournal = readSnapshot(replay);
+            long replayed = 0;
+            long lastJournal = firstJournal - 1;
+            for (Path journal : journals()) {
+                long journalSequence = sequenceOf(journal);
+                lastJournal = Math.max(lastJournal, journalSequence);
+                if (journalSequence >= firstJournal) {
+                    replayed += replayJournal(journal, replay);
+                }
+            }
+            synchronized (appendLock) {
+                openJournal(lastJournal + 1);
+                recordsSinceSnapshot = replayed;
+            }
+            return replayed;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to recover notes from " + directory.toAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Starts the batched fsync and, when {@code snapshotInterval} is positive, periodic snapshots.
+     */
+    void start(Supplier<Snapshot> source, Duration snapshotInterval) {
+        this.snapshotSource = source;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "note-journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long syncMillis = Math.max(1, fsyncInterval.toMillis());
+        scheduler.scheduleWithFixedDelay(this::syncQuietly, syncMillis, syncMillis, TimeUnit.MILLISECONDS);
+        if (!snapshotInterval.isZero() && !snapshotInterval.isNegative()) {
+            long snapshotMillis = snapshotInterval.toMillis();
+            scheduler.scheduleWithFixedDelay(this::snapshotQuietly, snapshotMillis, snapshotMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    void save(MemoryNote note) {
+        append(output -> {
+            output.writeByte(SAVE);
+            writeNote(output, note);
+        });
+    }
+
+    void delete(MemoryNoteId id) {
+        append(output -> {
+            output.writeByte(DELETE);
+            writeString(output, id.value());
+        });
+    }
+
+    void addLink(MemoryNoteId from, MemoryNoteId to, String relationType) {
+        append(output -> {
+            output.writeByte(ADD_LINK);
+            writeLink(output, from, to, relationType);
+        });
+    }
+
+    void removeLink(MemoryNoteId from, MemoryNoteId to, String relationType) {
+        append(output -> {
+            output.writeByte(REMOVE_LINK);
+            writeLink(output, from, to, relationType);
+        });
+    }
+
+    void retrievalCount(MemoryNoteId id, int count) {
+        append(output -> {
+            output.writeByte(RETRIEVAL_COUNT);
+            writeString(output, id.value());
+            output.writeInt(count);
+        });
+    }
+
+    /**
+     * Forces appended records to disk.
+     */
+    void sync() throws IOException {
+        FileChannel target;
+        synchronized (appendLock) {
+            if (!unsynced || channel == null) {
+                return;
+            }
+            out.flush();
+            unsynced = false;
+            target = channel;
+        }
+        try {
+            target.force(false);
+        } catch (ClosedChannelException e) {
+            // Rotated or closed meanwhile; both force the channel before closing it.
+        }
+    }
+
+    /**
+     * Writes a snapshot of the current state and deletes the journals it makes redundant. Does nothing when
+     * no record was appended since the last snapshot.
+     */
+    void snapshot() throws IOException {
+        synchronized (snapshotLock) {
+            long firstJournal;
+            FileChannel previous;
+            synchronized (appendLock) {
+                if (recordsSinceSnapshot == 0 && Files.exists(directory.resolve(SNAPSHOT_FILE))) {
+                    return;
+                }
+                previous = detachJournal();
+                openJournal(sequence + 1);
+                firstJournal = sequence;
+                recordsSinceSnapshot = 0;
+            }
+            // Appends continue into the new journal while the old one is forced.
+            closeDetached(previous);
+
+            long start = System.nanoTime();
+            Snapshot snapshot = snapshotSource.get();
+            Path tmp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+            long notes = 0;
+            long links = 0;
+            try (FileChannel file = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+                    DataOutputStream output = new DataOutputStream(
+                            new BufferedOutputStream(Channels.newOutputStream(file), 1 << 16))) {
+                output.writeInt(SNAPSHOT_MAGIC);
+                output.writeInt(SNAPSHOT_VERSION);
+                output.writeLong(firstJournal);
+                SegmentWriter segments = new SegmentWriter(output);
+                for (MemoryNote note : snapshot.notes()) {
+                    segments.add(NOTES_SEGMENT, data -> writeNote(data, note));
+                    notes++;
+                }
+                for (DirectedLink link : snapshot.links()) {
+                    segments.add(LINKS_SEGMENT, data -> writeLink(data, link.from(), link.to(), link.relationType()));
+                    links++;
+                }
+                segments.finish();
+                output.flush();
+                file.force(true);
+            }
+            Files.move(tmp, directory.resolve(SNAPSHOT_FILE), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            for (Path journal : journals()) {
+                if (sequenceOf(journal) < firstJournal) {
+                    Files.deleteIfExists(journal);
+                }
+            }
+            logger.info("Snapshotted {} notes and {} links to {} in {} ms", notes, links,
+                    directory.toAbsolutePath(), (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            // Let a running fsync or snapshot finish; interrupting it would close the channel under force.
+            scheduler.shutdown();
+            try {
+                if (!scheduler.awaitTermination(30, TimeUnit.SECONDS)) {
+                    logger.warn("Note journal tasks did not finish within 30 s, closing anyway");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        try {
+            if (snapshotSource != null) {
+                snapshot();
+            }
+            FileChannel last;
+            synchronized (appendLock) {
+                last = detachJournal();
+            }
+            closeDetached(last);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close note journal in " + directory.toAbsolutePath(), e);
+        }
+    }
+
+    private void append(RecordWriter writer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try {
+            writer.write(new DataOutputStream(bytes));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] payload = bytes.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        synchronized (appendLock) {
+            try {
+                out.writeInt(payload.length);
+                out.writeInt((int) crc.getValue());
+                out.write(payload);
+                out.flush();
+                unsynced = true;
+                recordsSinceSnapshot++;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to append to note journal in " + directory.toAbsolutePath(), e);
+            }
+        }
+    }
+
+    private void openJournal(long newSequence) throws IOException {
+        sequence = newSequence;
+        channel = FileChannel.open(directory.resolve(String.format("journal-%016d.log", newSequence)),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+    }
+
+    /**
+     * Flushes the current journal and stops appending to it; the caller forces and closes the returned channel
+     * with {@link #closeDetached} after leaving {@code appendLock}. Must hold {@code appendLock}.
+     */
+    private FileChannel detachJournal() throws IOException {
+        if (channel == null) {
+            return null;
+        }
+        out.flush();
+        FileChannel detached = channel;
+        channel = null;
+        unsynced = false;
+        return detached;
+    }
+
+    private static void closeDetached(FileChannel detached) throws IOException {
+        if (detached == null) {
+            return;
+        }
+        try (detached) {
+            detached.force(false);
+        }
+    }
+
+    private List<Path> journals() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> JOURNAL_FILE.matcher(file.getFileName().toString()).matches())
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long sequenceOf(Path journal) {
+        Matcher matcher = JOURNAL_FILE.matcher(journal.getFileName().toString());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Not a journal file: " + journal);
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+
+    /**
+     * Returns the sequence of the first journal not covered by the snapshot.
+     */
+    private long readSnapshot(Replay replay) throws IOException {
+        Path file = directory.resolve(SNAPSHOT_FILE);
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        long firstJournal;
+        List<Segment> noteSegments = new ArrayList<>();
+        List<Segment> linkSegments = new ArrayList<>();
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (input.readInt() != SNAPSHOT_MAGIC || input.readInt() != SNAPSHOT_VERSION) {
+                throw new IOException("Not a version " + SNAPSHOT_VERSION + " snapshot: " + file.toAbsolutePath());
+            }
+            firstJournal = input.readLong();
+            for (byte kind = input.readByte(); kind != END_SEGMENT; kind = input.readByte()) {
+                int count = input.readInt();
+                byte[] data = new byte[input.readInt()];
+                input.readFully(data);
+                (kind == NOTES_SEGMENT ? noteSegments : linkSegments).add(new Segment(count, data));
+            }
+        }
+
+        noteSegments.parallelStream().forEach(segment -> segment.decode(data -> replay.save(readNote(data))));
+        linkSegments.parallelStream().forEach(segment -> segment.decode(data -> replay.addLink(
+                new MemoryNoteId(readString(data)), new MemoryNoteId(readString(data)), readString(data))));
+        logger.info("Loaded snapshot of {} notes and {} links from {} in {} ms",
+                noteSegments.stream().mapToLong(Segment::count).sum(),
+                linkSegments.stream().mapToLong(Segment::count).sum(),
+                file.toAbsolutePath(), (System.nanoTime() - start) / 1_000_000);
+        return firstJournal;
+    }
+
+    private static long replayJournal(Path journal, Replay replay) throws IOException {
+        long records = 0;
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(journal)))) {
+            while (true) {
+                int length;
+                try {
+                    length = input.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                int expectedCrc;
+                byte[] payload;
+                try {
+                    expectedCrc = input.readInt();
+                    if (length < 0 || length > MAX_RECORD_BYTES) {
+                        throw new EOFException();
+                    }
+                    payload = new byte[length];
+                    input.readFully(payload);
+                } catch (EOFException e) {
+                    logger.warn("Ignoring torn record at the end of {}", journal.toAbsolutePath());
+                    break;
+                }
+                CRC32 crc = new CRC32();
+                crc.update(payload);
+                if ((int) crc.getValue() != expectedCrc) {
+                    logger.warn("Ignoring corrupt record and everything after it in {}", journal.toAbsolutePath());
+                    break;
+                }
+                apply(new DataInputStream(new ByteArrayInputStream(payload)), replay);
+                records++;
+            }
+        }
+        return records;
+    }
+
+    private static void apply(DataInputStream data, Replay replay) throws IOException {
+        byte op = data.readByte();
+        switch (op) {
+            case SAVE -> replay.save(readNote(data));
+            case DELETE -> replay.delete(new MemoryNoteId(readString(data)));
+            case ADD_LINK -> replay.addLink(new MemoryNoteId(readString(data)), new MemoryNoteId(readString(data)),
+                    readString(data));
+            case REMOVE_LINK -> replay.removeLink(new MemoryNoteId(readString(data)),
+                    new MemoryNoteId(readString(data)), readString(data));
+            case RETRIEVAL_COUNT -> replay.retrievalCount(new MemoryNoteId(readString(data)), data.readInt());
+            default -> throw new IOException("Unknown journal record type " + op);
+        }
+    }
+
+    private static void writeNote(DataOutput output, MemoryNote note) throws IOException {
+        writeString(output, note.id().value());
+        writeString(output, note.content());
+        writeStrings(output, note.keywords());
+        writeString(output, note.context());
+        writeStrings(output, note.tags());
+        writeString(output, note.timestamp());
+        output.writeInt(note.retrievalCount());
+        float[] embedding = note.embedding();
+        output.writeInt(embedding == null ? -1 : embedding.length);
+        if (embedding != null) {
+            for (float value : embedding) {
+                output.writeFloat(value);
+            }
+        }
+    }
+
+    private static MemoryNote readNote(DataInput input) {
+        try {
+            MemoryNoteId id = new MemoryNoteId(readString(input));
+            String content = readString(input);
+            List<String> keywords = readStrings(input);
+            String context = readString(input);
+            List<String> tags = readStrings(input);
+            String timestamp = readString(input);
+            int retrievalCount = input.readInt();
+            int dimension = input.readInt();
+            float[] embedding = dimension < 0 ? null : new float[dimension];
+            for (int i = 0; i < dimension; i++) {
+                embedding[i] = input.readFloat();
+            }
+            return new MemoryNote(id, content, keywords, context, tags, List.of(), timestamp, retrievalCount,
+                    embedding);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeLink(DataOutput output, MemoryNoteId from, MemoryNoteId to, String relationType)
+            throws IOException {
+        writeString(output, from.value());
+        writeString(output, to.value());
+        writeString(output, relationType);
+    }
+
+    /**
+     * Length-prefixed UTF-8, since {@link DataOutput#writeUTF} is limited to 64 KB; {@code -1} encodes null.
+     */
+    private static void writeString(DataOutput output, String value) throws IOException {
+        if (value == null) {
+            output.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(DataInput input) {
+        try {
+            int length = input.readInt();
+            if (length < 0) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            input.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeStrings(DataOutput output, List<String> values) throws IOException {
+        output.writeInt(values.size());
+        for (String value : values) {
+            writeString(output, value);
+        }
+    }
+
+    private static List<String> readStrings(DataInput input) throws IOException {
+        int size = input.readInt();
+        List<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(readString(input));
+        }
+        return values;
+    }
+
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to sync note journal in {}", directory.toAbsolutePath(), e);
+        }
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to snapshot notes to {}", directory.toAbsolutePath(), e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RecordWriter {
+        void write(DataOutput output) throws IOException;
+    }
+
+    private record Segment(int count, byte[] data) {
+
+        void decode(java.util.function.Consumer<DataInput> entry) {
+            DataInputStream input = new DataInputStream(new ByteArrayInputStream(data));
+            for (int i = 0; i < count; i++) {
+                entry.accept(input);
+            }
+        }
+    }
+
+    /**
+     * Buffers entries of one kind until a segment is full, so recovery can decode segments independently.
+     */
+    private static final class SegmentWriter {
+
+        private final DataOutputStream output;
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(SEGMENT_BYTES);
+        private final DataOutputStream data = new DataOutputStream(buffer);
+        private byte kind = END_SEGMENT;
+        private int count;
+
+        private SegmentWriter(DataOutputStream output) {
+            this.output = output;
+        }
+
+        void add(byte entryKind, RecordWriter entry) throws IOException {
+            if (entryKind != kind || buffer.size() >= SEGMENT_BYTES) {
+                flush();
+                kind = entryKind;
+            }
+            entry.write(data);
+            count++;
+        }
+
+        void finish() throws IOException {
+            flush();
+            output.writeByte(END_SEGMENT);
+        }
+
+        private void flush() throws IOException {
+            if (count > 0) {
+                output.writeByte(kind);
+                output.writeInt(count);
+                output.writeInt(buffer.size());
+                buffer.writeTo(output);
+            }
+            buffer.reset();
+            count = 0;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.thecookiezen.archiledger.infrastructure.persistence.ladybugdb;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of database connections. At most {@code maxTotal} connections are leased at once; further
+ * callers wait on a fair semaphore and the time they wait is recorded. Up to {@code maxIdle} returned
+ * connections are kept open for reuse, and {@code minIdle} are opened up front.
+ * <p>
+ * A thread that asks again while it already holds a connection gets the same one back, and the connection
+ * returns to the pool when the outermost lease is released. Nested repository calls inside a transaction
+ * therefore share the transaction's connection instead of deadlocking on a pool of one.
+ */
+public final class ConnectionPool<C extends AutoCloseable> implements ConnectionPoolMXBean, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPool.class);
+
+    private static final class Lease<C> {
+        private final C connection;
+        private final AtomicInteger depth = new AtomicInteger(1);
+        private volatile boolean released;
+
+        private Lease(C connection) {
+            this.connection = connection;
+        }
+    }
+
+    private final String name;
+    private final Supplier<C> opener;
+    private final int maxTotal;
+    private final int maxIdle;
+    private final Semaphore permits;
+    private final Deque<C> idle = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private final Map<C, Lease<C>> leased = new ConcurrentHashMap<>();
+    private final ThreadLocal<Lease<C>> current = new ThreadLocal<>();
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private volatile boolean closed;
+
+    public ConnectionPool(String name, Supplier<C> opener, int maxTotal, int maxIdle, int minIdle) {
+        if (maxTotal < 1 || maxIdle < 0 || minIdle < 0) {
+            throw new IllegalArgumentException(name + " pool needs maxTotal >= 1 and non-negative idle limits");
+        }
+        this.name = name;
+        this.opener = opener;
+        this.maxTotal = maxTotal;
+        this.maxIdle = Math.min(maxIdle, maxTotal);
+        this.permits = new Semaphore(maxTotal, true);
+        for (int i = 0; i < Math.min(minIdle, this.maxIdle); i++) {
+            idle.push(opener.get());
+            idleCount.incrementAndGet();
+        }
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public C acquire() {
+        Lease<C> own = current.get();
+        if (own != null && !own.released) {
+            own.depth.incrementAndGet();
+            return own.connection;
+        }
+        if (closed) {
+            throw new IllegalStateException("The " + name + " connection pool is closed");
+        }
+        long start = System.nanoTime();
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a " + name + " connection", e);
+        }
+        long waited = System.nanoTime() - start;
+        acquisitions.increment();
+        waitNanos.add(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+
+        C connection = idle.pollFirst();
+        if (connection != null) {
+            idleCount.decrementAndGet();
+        } else {
+            try {
+                connection = opener.get();
+            } catch (RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        }
+        Lease<C> lease = new Lease<>(connection);
+        leased.put(connection, lease);
+        current.set(lease);
+        return connection;
+    }
+
+    /**
+     * Returns a connection leased from this pool; returns false when the connection is not one of its leases.
+     */
+    public boolean release(C connection) {
+        Lease<C> lease = leased.get(connection);
+        if (lease == null) {
+            return false;
+        }
+        if (lease.depth.decrementAndGet() > 0) {
+            return true;
+        }
+        lease.released = true;
+        leased.remove(connection);
+        if (current.get() == lease) {
+            current.remove();
+        }
+        if (!closed && idleCount.incrementAndGet() <= maxIdle) {
+            idle.push(connection);
+        } else {
+            idleCount.decrementAndGet();
+            closeQuietly(connection);
+        }
+        permits.release();
+        return true;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        C connection;
+        while ((connection = idle.pollFirst()) != null) {
+            idleCount.decrementAndGet();
+            closeQuietly(connection);
+        }
+    }
+
+    @Override
+    public int getMaxTotal() {
+        return maxTotal;
+    }
+
+    @Override
+    public int getActive() {
+        return leased.size();
+    }
+
+    @Override
+    public int getIdle() {
+        return idleCount.get();
+    }
+
+    @Override
+    public int getWaiting() {
+        return permits.getQueueLength();
+    }
+
+    @Override
+    public long getAcquisitions() {
+        return acquisitions.sum();
+    }
+
+    @Override
+    public double getAverageWaitMillis() {
+        long count = acquisitions.sum();
+        return count == 0 ? 0.0 : waitNanos.sum() / 1e6 / count;
+    }
+
+    @Override
+    public double getMaxWaitMillis() {
+        return maxWaitNanos.get() / 1e6;
+    }
+
+    private void closeQuietly(C connection) {
+        try {
+            connection.close();
+        } catch (Exception e) {
+            logger.warn("Failed to close a {} connection", name, e);
+        }
+    }
+}
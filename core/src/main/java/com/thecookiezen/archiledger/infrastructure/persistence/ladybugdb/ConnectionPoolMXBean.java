@@ -0,0 +1,23 @@
+package com.thecookiezen.archiledger.infrastructure.persistence.ladybugdb;
+
+/**
+ * JMX view of a {@link ConnectionPool}, registered as
+ * {@code com.thecookiezen.archiledger:type=ConnectionPool,name=<pool>}.
+ */
+public interface ConnectionPoolMXBean {
+
+    int getMaxTotal();
+
+    int getActive();
+
+    int getIdle();
+
+    /** Threads currently waiting for a connection. */
+    int getWaiting();
+
+    long getAcquisitions();
+
+    double getAverageWaitMillis();
+
+    double getMaxWaitMillis();
+}
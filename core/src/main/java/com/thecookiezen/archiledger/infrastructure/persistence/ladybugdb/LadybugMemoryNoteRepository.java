@@ -1,34 +1,73 @@
 package com.thecookiezen.archiledger.infrastructure.persistence.ladybugdb;
 
+import com.thecookiezen.archiledger.domain.model.DirectedLink;
+import com.thecookiezen.archiledger.domain.model.LinkResult;
 import com.thecookiezen.archiledger.domain.model.MemoryNote;
 import com.thecookiezen.archiledger.domain.model.MemoryNoteId;
+import com.thecookiezen.archiledger.domain.model.Neighborhood;
+import com.thecookiezen.archiledger.domain.model.NeighborhoodNote;
 import com.thecookiezen.archiledger.domain.model.NoteLink;
+import com.thecookiezen.archiledger.domain.model.NoteSkeleton;
+import com.thecookiezen.archiledger.domain.model.ScoredNote;
+import com.thecookiezen.archiledger.domain.model.SearchCriteria;
 import com.thecookiezen.archiledger.domain.repository.MemoryNoteRepository;
 import com.thecookiezen.archiledger.infrastructure.persistence.ladybugdb.model.LadybugMemoryNote;
 import com.thecookiezen.archiledger.infrastructure.persistence.ladybugdb.model.LadybugNoteLink;
 import com.thecookiezen.archiledger.infrastructure.persistence.ladybugdb.model.LinkProjection;
+import com.thecookiezen.archiledger.infrastructure.persistence.ladybugdb.model.NeighborProjection;
+import com.thecookiezen.archiledger.infrastructure.persistence.ladybugdb.model.NoteWithLinksProjection;
+import com.thecookiezen.archiledger.infrastructure.persistence.ladybugdb.model.ScoredNoteProjection;
+import com.thecookiezen.archiledger.infrastructure.persistence.ladybugdb.model.TextMatchProjection;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
+import java.util.stream.Stream;
 
 @Repository
 @Profile("ladybugdb")
 public class LadybugMemoryNoteRepository implements MemoryNoteRepository {
 
+    private static final String NO_UPPER_BOUND = "\uffff";
+
     private final MemoryNoteDbRepository dbRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ReadWriteConnectionPools pools;
+
+    @Value("${ladybugdb.stream.page-size:500}")
+    private int streamPageSize = 500;
+
+    @Value("${ladybugdb.search.filter-oversampling:4}")
+    private int filterOversampling = 4;
 
-    public LadybugMemoryNoteRepository(MemoryNoteDbRepository dbRepository) {
+    /**
+     * Every method that modifies the database runs inside {@link ReadWriteConnectionPools#writing}, so it uses
+     * the single writer connection; reads take a connection from the reader pool.
+     */
+    public LadybugMemoryNoteRepository(MemoryNoteDbRepository dbRepository,
+            PlatformTransactionManager transactionManager, ReadWriteConnectionPools pools) {
         this.dbRepository = dbRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pools = pools;
     }
 
     @Override
     public MemoryNote save(MemoryNote note) {
+        return pools.writing(() -> saveNote(note));
+    }
+
+    private MemoryNote saveNote(MemoryNote note) {
         LadybugMemoryNote ladybugNote = dbRepository.findById(note.id().value())
                 .orElse(new LadybugMemoryNote());
 
@@ -53,45 +92,135 @@ public class LadybugMemoryNoteRepository implements MemoryNoteRepository {
         return toDomainNote(saved);
     }
 
+    @Override
+    public List<MemoryNote> saveAll(List<MemoryNote> notes) {
+        if (notes.isEmpty()) {
+            return List.of();
+        }
+        List<Map<String, Object>> noteRows = new ArrayList<>(notes.size());
+        List<Map<String, Object>> embeddingRows = new ArrayList<>();
+        for (MemoryNote note : notes) {
+            noteRows.add(toNoteRow(note));
+            if (note.embedding() != null && note.embedding().length > 0) {
+                embeddingRows.add(Map.of("noteId", note.id().value(), "embedding", note.embedding()));
+            }
+        }
+
+        pools.writing(() -> transactionTemplate.executeWithoutResult(status -> {
+            dbRepository.mergeNotes(noteRows);
+            if (!embeddingRows.isEmpty()) {
+                // The vector index does not allow updating an indexed property, so embeddings are replaced.
+                dbRepository.deleteEmbeddings(embeddingRows.stream()
+                        .map(row -> (String) row.get("noteId"))
+                        .collect(Collectors.toList()));
+                dbRepository.saveEmbeddings(embeddingRows);
+            }
+            List<DirectedLink> links = notes.stream()
+                    .flatMap(note -> note.links().stream()
+                            .map(link -> new DirectedLink(note.id(), link.target(), link.relationType())))
+                    .collect(Collectors.toList());
+            if (!links.isEmpty()) {
+                addLinks(links).stream()
+                        .filter(result -> !result.linked())
+                        .findFirst()
+                        .ifPresent(LadybugMemoryNoteRepository::throwNotFound);
+            }
+        }));
+
+        return notes.stream()
+                .map(note -> note.withLinks(List.of()).withEmbedding(null))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public <T> T inTransaction(Supplier<T> work) {
+        return pools.writing(() -> transactionTemplate.execute(status -> work.get()));
+    }
+
     @Override
     public Optional<MemoryNote> findById(MemoryNoteId id) {
-        return dbRepository.findById(id.value())
-                .map(note -> toDomainNoteWithLinks(note, id.value()));
+        return dbRepository.findByIdWithLinks(id.value()).stream()
+                .findFirst()
+                .map(this::toDomainNoteWithLinks);
     }
 
     @Override
     public List<MemoryNote> findAll() {
-        return StreamSupport.stream(dbRepository.findAll().spliterator(), false)
-                .map(note -> toDomainNoteWithLinks(note, note.getId()))
+        return dbRepository.findAllWithLinks().stream()
+                .map(this::toDomainNoteWithLinks)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Reads one keyset page per query, so memory stays bounded by {@code ladybugdb.stream.page-size} and no
+     * connection stays checked out while the caller processes a page.
+     */
+    @Override
+    public Stream<MemoryNote> streamAll() {
+        return PagedNoteStream.of(streamPageSize, this::findPage);
+    }
+
     @Override
     public void delete(MemoryNoteId id) {
-        dbRepository.deleteById(id.value());
+        pools.writing(() -> dbRepository.deleteById(id.value()));
     }
 
     @Override
     public void addLink(MemoryNoteId from, MemoryNoteId to, String relationType) {
-        LadybugMemoryNote sourceNote = dbRepository.findById(from.value())
-                .orElseThrow(() -> new IllegalArgumentException("Source note not found: " + from.value()));
-        LadybugMemoryNote targetNote = dbRepository.findById(to.value())
-                .orElseThrow(() -> new IllegalArgumentException("Target note not found: " + to.value()));
-
-        boolean exists = dbRepository.findLinksFrom(from.value()).stream()
-                .anyMatch(link -> link.toId().equals(to.value())
-                        && link.relationType().equals(relationType));
-
-        if (!exists) {
-            String linkName = from.value() + "-" + relationType + "-" + to.value();
-            LadybugNoteLink link = new LadybugNoteLink(linkName, sourceNote, targetNote, relationType);
-            dbRepository.createRelation(sourceNote, targetNote, link);
+        LinkResult result = addLinks(List.of(new DirectedLink(from, to, relationType))).get(0);
+        if (!result.linked()) {
+            throwNotFound(result);
+        }
+    }
+
+    @Override
+    public List<LinkResult> addLinks(List<DirectedLink> links) {
+        if (links.isEmpty()) {
+            return List.of();
+        }
+        return pools.writing(() -> mergeLinks(links));
+    }
+
+    private List<LinkResult> mergeLinks(List<DirectedLink> links) {
+        List<Map<String, Object>> rows = links.stream()
+                .map(link -> Map.<String, Object>of(
+                        "fromId", link.from().value(),
+                        "toId", link.to().value(),
+                        "name", link.name(),
+                        "relationType", link.relationType()))
+                .collect(Collectors.toList());
+        Set<String> linkedNames = new HashSet<>(dbRepository.mergeLinks(rows));
+
+        Set<String> existingIds = Set.of();
+        if (linkedNames.size() < links.size()) {
+            List<String> endpointIds = links.stream()
+                    .filter(link -> !linkedNames.contains(link.name()))
+                    .flatMap(link -> Stream.of(link.from().value(), link.to().value()))
+                    .distinct()
+                    .collect(Collectors.toList());
+            existingIds = dbRepository.findExistingIds(endpointIds).stream()
+                    .map(MemoryNoteId::value)
+                    .collect(Collectors.toSet());
+        }
+
+        List<LinkResult> results = new ArrayList<>(links.size());
+        for (DirectedLink link : links) {
+            LinkResult.Status status;
+            if (linkedNames.contains(link.name())) {
+                status = LinkResult.Status.LINKED;
+            } else if (!existingIds.contains(link.from().value())) {
+                status = LinkResult.Status.SOURCE_NOT_FOUND;
+            } else {
+                status = LinkResult.Status.TARGET_NOT_FOUND;
+            }
+            results.add(new LinkResult(link, status));
         }
+        return results;
     }
 
     @Override
     public void removeLink(MemoryNoteId from, MemoryNoteId to, String relationType) {
-        dbRepository.findById(from.value()).ifPresent(sourceNote -> {
+        pools.writing(() -> dbRepository.findById(from.value()).ifPresent(sourceNote -> {
             List<LadybugNoteLink> matching = dbRepository.findRelationsBySource(sourceNote).stream()
                     .filter(link -> link.getTargetNote().getId().equals(to.value())
                             && link.getRelationType().equals(relationType))
@@ -100,7 +229,7 @@ public class LadybugMemoryNoteRepository implements MemoryNoteRepository {
             for (LadybugNoteLink link : matching) {
                 dbRepository.deleteRelation(link);
             }
-        });
+        }));
     }
 
     @Override
@@ -112,16 +241,59 @@ public class LadybugMemoryNoteRepository implements MemoryNoteRepository {
 
     @Override
     public List<MemoryNote> findByTag(String tag) {
-        return dbRepository.findByTag(tag).stream()
-                .map(note -> toDomainNoteWithLinks(note, note.getId()))
+        return dbRepository.findByTagWithLinks(tag).stream()
+                .map(this::toDomainNoteWithLinks)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public Stream<MemoryNote> streamByTag(String tag) {
+        return PagedNoteStream.of(streamPageSize, (after, limit) -> dbRepository
+                .findTagPageWithLinks(tag, after != null ? after.value() : "", limit).stream()
+                .map(this::toDomainNoteWithLinks)
+                .collect(Collectors.toList()));
+    }
+
     @Override
     public List<MemoryNote> findLinkedNotes(MemoryNoteId noteId) {
-        return dbRepository.findLinkedNotes(noteId.value()).stream()
-                .map(note -> toDomainNoteWithLinks(note, note.getId()))
+        return dbRepository.findLinkedNotesWithLinks(noteId.value()).stream()
+                .map(this::toDomainNoteWithLinks)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Runs one shortest-path variable-length match from the start note, which yields every reachable note once
+     * at its hop distance together with its outgoing links; links leaving the neighborhood are dropped here.
+     */
+    @Override
+    public Neighborhood findNeighborhood(MemoryNoteId start, int depth, List<String> relationTypes, int maxNodes) {
+        Optional<MemoryNote> startNote = findById(start);
+        if (startNote.isEmpty()) {
+            return new Neighborhood(List.of(), List.of());
+        }
+        List<NeighborProjection> neighbors = maxNodes <= 1 || depth <= 0
+                ? List.of()
+                : relationTypes.isEmpty()
+                        ? dbRepository.findNeighborhood(start.value(), depth, maxNodes - 1)
+                        : dbRepository.findNeighborhoodByRelationTypes(start.value(), depth, relationTypes,
+                                maxNodes - 1);
+
+        List<NeighborhoodNote> notes = new ArrayList<>(neighbors.size() + 1);
+        List<DirectedLink> candidateLinks = new ArrayList<>();
+        notes.add(new NeighborhoodNote(startNote.get().withLinks(List.of()), 0));
+        startNote.get().links().forEach(link -> candidateLinks.add(
+                new DirectedLink(start, link.target(), link.relationType())));
+        for (NeighborProjection neighbor : neighbors) {
+            notes.add(new NeighborhoodNote(toDomainNote(neighbor.note()), neighbor.distance()));
+            neighbor.links().forEach(link -> candidateLinks.add(
+                    new DirectedLink(link.fromId(), link.toId(), link.relationType())));
+        }
+        Set<MemoryNoteId> ids = notes.stream().map(note -> note.note().id()).collect(Collectors.toSet());
+        List<DirectedLink> links = candidateLinks.stream()
+                .filter(link -> ids.contains(link.to()))
+                .filter(link -> relationTypes.isEmpty() || relationTypes.contains(link.relationType()))
                 .collect(Collectors.toList());
+        return new Neighborhood(notes, links);
     }
 
     @Override
@@ -134,23 +306,105 @@ public class LadybugMemoryNoteRepository implements MemoryNoteRepository {
     @Override
     public Map<String, Object> getGraph() {
         List<MemoryNote> allNotes = findAll();
-        List<LinkProjection> allLinks = dbRepository.findAllLinks();
         return Map.of(
                 "notes", allNotes,
-                "links", allLinks.stream().map(this::toDomainLink).collect(Collectors.toList()));
+                "links", allNotes.stream().flatMap(note -> note.links().stream()).collect(Collectors.toList()));
     }
 
     @Override
-    public void incrementRetrievalCount(MemoryNoteId id) {
-        dbRepository.findById(id.value()).ifPresent(note -> {
-            note.setRetrievalCount(note.getRetrievalCount() + 1);
-            dbRepository.save(note);
-        });
+    public List<MemoryNote> findPage(MemoryNoteId after, int limit) {
+        return dbRepository.findPageWithLinks(after != null ? after.value() : "", limit).stream()
+                .map(this::toDomainNoteWithLinks)
+                .collect(Collectors.toList());
     }
 
     @Override
-    public List<MemoryNoteId> findSimilar(float[] queryEmbedding, int topK) {
-        return dbRepository.findSimilarRaw(queryEmbedding, topK);
+    public List<NoteSkeleton> findSkeletonPage(MemoryNoteId after, int limit) {
+        return dbRepository.findSkeletonPage(after != null ? after.value() : "", limit).stream()
+                .map(skeleton -> new NoteSkeleton(new MemoryNoteId(skeleton.id()), skeleton.tags(),
+                        skeleton.links().stream().map(this::toDomainLink).collect(Collectors.toList())))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void addRetrievalCounts(Map<MemoryNoteId, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Map<String, Object>> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((id, delta) -> rows.add(Map.of("id", id.value(), "delta", delta)));
+        pools.writing(() -> dbRepository.addRetrievalCounts(rows));
+    }
+
+    @Override
+    public List<ScoredNote> findSimilar(float[] queryEmbedding, SearchCriteria criteria) {
+        // The vector index ranks before the WHERE clause filters, so fetch extra candidates when filtering and
+        // keep doubling them while too few pass, until the candidates cover every embedding.
+        long candidates = criteria.hasFilters()
+                ? (long) criteria.limit() * Math.max(1, filterOversampling)
+                : criteria.limit();
+        List<ScoredNoteProjection> hits = findSimilarHits(queryEmbedding, candidates, criteria);
+        if (criteria.hasFilters() && hits.size() < criteria.limit()) {
+            long embeddings = dbRepository.countEmbeddings().stream().findFirst().orElse(0L);
+            while (hits.size() < criteria.limit() && candidates < embeddings) {
+                candidates = Math.min(candidates * 2, embeddings);
+                hits = findSimilarHits(queryEmbedding, candidates, criteria);
+            }
+        }
+        return hits.stream()
+                .map(hit -> new ScoredNote(toDomainNote(hit.note()), 1.0 - hit.distance()))
+                .collect(Collectors.toList());
+    }
+
+    private List<ScoredNoteProjection> findSimilarHits(float[] queryEmbedding, long candidates,
+            SearchCriteria criteria) {
+        double maxDistance = 1.0 - criteria.minScore();
+        String createdAfter = criteria.createdAfter() != null ? criteria.createdAfter() : "";
+        String createdBefore = criteria.createdBefore() != null ? criteria.createdBefore() : NO_UPPER_BOUND;
+        return criteria.tags().isEmpty()
+                ? dbRepository.findSimilarRaw(queryEmbedding, candidates, maxDistance,
+                        createdAfter, createdBefore, criteria.limit())
+                : dbRepository.findSimilarWithTagsRaw(queryEmbedding, candidates, maxDistance,
+                        createdAfter, createdBefore, criteria.tags(), criteria.limit());
+    }
+
+    /**
+     * BM25 ranking from the {@code note_fts_idx} full-text index over content, keywords and context.
+     */
+    @Override
+    public List<ScoredNote> findByText(String query, SearchCriteria criteria) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        String createdAfter = criteria.createdAfter() != null ? criteria.createdAfter() : "";
+        String createdBefore = criteria.createdBefore() != null ? criteria.createdBefore() : NO_UPPER_BOUND;
+        List<TextMatchProjection> hits = criteria.tags().isEmpty()
+                ? dbRepository.findByTextRaw(query, createdAfter, createdBefore, criteria.limit())
+                : dbRepository.findByTextWithTagsRaw(query, createdAfter, createdBefore, criteria.tags(),
+                        criteria.limit());
+        return hits.stream()
+                .map(hit -> new ScoredNote(toDomainNote(hit.note()), hit.score()))
+                .collect(Collectors.toList());
+    }
+
+    private static void throwNotFound(LinkResult result) {
+        if (result.status() == LinkResult.Status.SOURCE_NOT_FOUND) {
+            throw new IllegalArgumentException("Source note not found: " + result.link().from().value());
+        }
+        throw new IllegalArgumentException("Target note not found: " + result.link().to().value());
+    }
+
+    private Map<String, Object> toNoteRow(MemoryNote note) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", note.id().value());
+        row.put("content", note.content());
+        row.put("keywords", note.keywords());
+        row.put("keywordsText", String.join(" ", note.keywords()));
+        row.put("context", note.context());
+        row.put("tags", note.tags());
+        row.put("timestamp", note.timestamp());
+        row.put("retrievalCount", note.retrievalCount());
+        return row;
     }
 
     private MemoryNote toDomainNote(LadybugMemoryNote note) {
@@ -166,8 +420,9 @@ public class LadybugMemoryNoteRepository implements MemoryNoteRepository {
                 null);
     }
 
-    private MemoryNote toDomainNoteWithLinks(LadybugMemoryNote note, String noteId) {
-        List<NoteLink> links = dbRepository.findLinksFrom(noteId).stream()
+    private MemoryNote toDomainNoteWithLinks(NoteWithLinksProjection projection) {
+        LadybugMemoryNote note = projection.note();
+        List<NoteLink> links = projection.links().stream()
                 .map(this::toDomainLink)
                 .collect(Collectors.toList());
         return new MemoryNote(
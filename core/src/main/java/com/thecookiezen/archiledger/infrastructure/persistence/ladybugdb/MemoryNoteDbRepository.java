@@ -1,19 +1,51 @@
 package com.thecookiezen.archiledger.infrastructure.persistence.ladybugdb;
 
 import java.util.List;
+import java.util.Map;
 
 import com.thecookiezen.archiledger.domain.model.MemoryNoteId;
 import com.thecookiezen.archiledger.infrastructure.persistence.ladybugdb.model.LadybugMemoryNote;
 import com.thecookiezen.archiledger.infrastructure.persistence.ladybugdb.model.LadybugNoteLink;
 import com.thecookiezen.archiledger.infrastructure.persistence.ladybugdb.model.LinkProjection;
+import com.thecookiezen.archiledger.infrastructure.persistence.ladybugdb.model.NeighborProjection;
+import com.thecookiezen.archiledger.infrastructure.persistence.ladybugdb.model.NoteSkeletonProjection;
+import com.thecookiezen.archiledger.infrastructure.persistence.ladybugdb.model.NoteWithLinksProjection;
+import com.thecookiezen.archiledger.infrastructure.persistence.ladybugdb.model.ScoredNoteProjection;
+import com.thecookiezen.archiledger.infrastructure.persistence.ladybugdb.model.TextMatchProjection;
 import com.thecookiezen.ladybugdb.spring.annotation.Query;
 import com.thecookiezen.ladybugdb.spring.repository.NodeRepository;
 
 public interface MemoryNoteDbRepository
                 extends NodeRepository<LadybugMemoryNote, String, LadybugNoteLink, LadybugMemoryNote> {
 
-        @Query("MATCH (n:MemoryNote) WHERE list_contains(n.tags, $tag) RETURN n")
-        List<LadybugMemoryNote> findByTag(String tag);
+        @Query("MATCH (n:MemoryNote) WHERE n.id = $noteId OPTIONAL MATCH (n)-[r:LINKED_TO]->(t:MemoryNote) RETURN n, collect(t.id) AS linkTargets, collect(r.relationType) AS linkTypes")
+        List<NoteWithLinksProjection> findByIdWithLinks(String noteId);
+
+        @Query("MATCH (n:MemoryNote) OPTIONAL MATCH (n)-[r:LINKED_TO]->(t:MemoryNote) RETURN n, collect(t.id) AS linkTargets, collect(r.relationType) AS linkTypes")
+        List<NoteWithLinksProjection> findAllWithLinks();
+
+        @Query("MATCH (n:MemoryNote) WHERE n.id > $after WITH n ORDER BY n.id LIMIT $limit OPTIONAL MATCH (n)-[r:LINKED_TO]->(t:MemoryNote) RETURN n, collect(t.id) AS linkTargets, collect(r.relationType) AS linkTypes ORDER BY n.id")
+        List<NoteWithLinksProjection> findPageWithLinks(String after, long limit);
+
+        @Query("MATCH (n:MemoryNote) WHERE n.id > $after WITH n ORDER BY n.id LIMIT $limit OPTIONAL MATCH (n)-[r:LINKED_TO]->(t:MemoryNote) RETURN n.id AS id, n.tags AS tags, collect(t.id) AS linkTargets, collect(r.relationType) AS linkTypes ORDER BY id")
+        List<NoteSkeletonProjection> findSkeletonPage(String after, long limit);
+
+        @Query("MATCH (n:MemoryNote) WHERE list_contains(n.tags, $tag) AND n.id > $after WITH n ORDER BY n.id LIMIT $limit OPTIONAL MATCH (n)-[r:LINKED_TO]->(t:MemoryNote) RETURN n, collect(t.id) AS linkTargets, collect(r.relationType) AS linkTypes ORDER BY n.id")
+        List<NoteWithLinksProjection> findTagPageWithLinks(String tag, String after, long limit);
+
+        @Query("MATCH (n:MemoryNote) WHERE list_contains(n.tags, $tag) OPTIONAL MATCH (n)-[r:LINKED_TO]->(t:MemoryNote) RETURN n, collect(t.id) AS linkTargets, collect(r.relationType) AS linkTypes")
+        List<NoteWithLinksProjection> findByTagWithLinks(String tag);
+
+        @Query("MATCH (m:MemoryNote)-[:LINKED_TO]-(n:MemoryNote) WHERE m.id = $noteId WITH DISTINCT n OPTIONAL MATCH (n)-[r:LINKED_TO]->(t:MemoryNote) RETURN n, collect(t.id) AS linkTargets, collect(r.relationType) AS linkTypes")
+        List<NoteWithLinksProjection> findLinkedNotesWithLinks(String noteId);
+
+        // The upper bound of the recursive match must be a literal; it equals Neighborhood.MAX_DEPTH.
+        @Query("MATCH (s:MemoryNote {id: $noteId})-[r:LINKED_TO* SHORTEST 1..3]-(n:MemoryNote) WHERE n.id <> $noteId AND length(r) <= $depth WITH n, min(length(r)) AS distance ORDER BY distance, n.id LIMIT $limit OPTIONAL MATCH (n)-[l:LINKED_TO]->(t:MemoryNote) RETURN n, distance, collect(t.id) AS linkTargets, collect(l.relationType) AS linkTypes ORDER BY distance, n.id")
+        List<NeighborProjection> findNeighborhood(String noteId, long depth, long limit);
+
+        @Query("MATCH (s:MemoryNote {id: $noteId})-[r:LINKED_TO* SHORTEST 1..3 (e, m | WHERE list_contains($relationTypes, e.relationType))]-(n:MemoryNote) WHERE n.id <> $noteId AND length(r) <= $depth WITH n, min(length(r)) AS distance ORDER BY distance, n.id LIMIT $limit OPTIONAL MATCH (n)-[l:LINKED_TO]->(t:MemoryNote) RETURN n, distance, collect(t.id) AS linkTargets, collect(l.relationType) AS linkTypes ORDER BY distance, n.id")
+        List<NeighborProjection> findNeighborhoodByRelationTypes(String noteId, long depth, List<String> relationTypes,
+                        long limit);
 
         @Query("MATCH (source:MemoryNote)-[r:LINKED_TO]->(target:MemoryNote) WHERE source.id = $noteId OR target.id = $noteId RETURN source.id AS fromId, target.id AS toId, r.relationType AS relationType")
         List<LinkProjection> findLinksForNote(String noteId);
@@ -24,23 +56,48 @@ public interface MemoryNoteDbRepository
         @Query("MATCH (source:MemoryNote)-[r:LINKED_TO]->(target:MemoryNote) WHERE r.relationType = $relationType RETURN source.id AS fromId, target.id AS toId, r.relationType AS relationType")
         List<LinkProjection> findLinksByRelationType(String relationType);
 
-        @Query("MATCH (n:MemoryNote)-[r:LINKED_TO]-(m:MemoryNote) WHERE n.id = $noteId RETURN DISTINCT m AS n")
-        List<LadybugMemoryNote> findLinkedNotes(String noteId);
-
         @Query("MATCH (n:MemoryNote) UNWIND n.tags AS tag RETURN DISTINCT tag")
         List<String> findAllTags();
 
-        @Query("MATCH (source:MemoryNote)-[r:LINKED_TO]->(target:MemoryNote) RETURN source.id AS fromId, target.id AS toId, r.relationType AS relationType")
-        List<LinkProjection> findAllLinks();
+        @Query("CALL QUERY_VECTOR_INDEX('NoteEmbedding', 'note_embedding_idx', $queryVector, $candidates) WITH node, distance MATCH (n:MemoryNote)-[:HAS_EMBEDDING]->(node) WHERE distance <= $maxDistance AND n.timestamp >= $createdAfter AND n.timestamp < $createdBefore RETURN n, distance ORDER BY distance LIMIT $limit")
+        List<ScoredNoteProjection> findSimilarRaw(float[] queryVector, long candidates, double maxDistance,
+                        String createdAfter, String createdBefore, long limit);
 
-        @Query(value = "CALL QUERY_VECTOR_INDEX('NoteEmbedding', 'note_embedding_idx', $queryVector, $limit) RETURN node.noteId AS id, distance ORDER BY distance", loadExtensions = {
-                        "vector" })
-        List<MemoryNoteId> findSimilarRaw(float[] queryVector, long limit);
+        @Query("CALL QUERY_VECTOR_INDEX('NoteEmbedding', 'note_embedding_idx', $queryVector, $candidates) WITH node, distance MATCH (n:MemoryNote)-[:HAS_EMBEDDING]->(node) WHERE distance <= $maxDistance AND n.timestamp >= $createdAfter AND n.timestamp < $createdBefore AND any(tag IN $tags WHERE list_contains(n.tags, tag)) RETURN n, distance ORDER BY distance LIMIT $limit")
+        List<ScoredNoteProjection> findSimilarWithTagsRaw(float[] queryVector, long candidates, double maxDistance,
+                        String createdAfter, String createdBefore, List<String> tags, long limit);
+
+        @Query("MATCH (e:NoteEmbedding) RETURN count(e)")
+        List<Long> countEmbeddings();
+
+        @Query("CALL QUERY_FTS_INDEX('MemoryNote', 'note_fts_idx', $query) WITH node AS n, score WHERE n.timestamp >= $createdAfter AND n.timestamp < $createdBefore RETURN n, score ORDER BY score DESC LIMIT $limit")
+        List<TextMatchProjection> findByTextRaw(String query, String createdAfter, String createdBefore, long limit);
+
+        @Query("CALL QUERY_FTS_INDEX('MemoryNote', 'note_fts_idx', $query) WITH node AS n, score WHERE n.timestamp >= $createdAfter AND n.timestamp < $createdBefore AND any(tag IN $tags WHERE list_contains(n.tags, tag)) RETURN n, score ORDER BY score DESC LIMIT $limit")
+        List<TextMatchProjection> findByTextWithTagsRaw(String query, String createdAfter, String createdBefore,
+                        List<String> tags, long limit);
 
         @Query("MATCH (e:NoteEmbedding {noteId: $noteId}) DETACH DELETE e")
         void deleteEmbedding(String noteId);
 
-        @Query(value = "MATCH (n:MemoryNote {id: $noteId}) CREATE (n)-[:HAS_EMBEDDING]->(e:NoteEmbedding {noteId: $noteId, embedding: $embedding})", loadExtensions = {
-                        "vector" })
+        @Query("MATCH (n:MemoryNote {id: $noteId}) CREATE (n)-[:HAS_EMBEDDING]->(e:NoteEmbedding {noteId: $noteId, embedding: $embedding})")
         void saveEmbedding(String noteId, float[] embedding);
+
+        @Query("UNWIND $rows AS row MERGE (n:MemoryNote {id: row.id}) SET n.content = row.content, n.keywords = row.keywords, n.keywordsText = row.keywordsText, n.context = row.context, n.tags = row.tags, n.timestamp = row.timestamp, n.retrievalCount = row.retrievalCount")
+        void mergeNotes(List<Map<String, Object>> rows);
+
+        @Query("UNWIND $rows AS row MATCH (n:MemoryNote {id: row.id}) SET n.retrievalCount = n.retrievalCount + row.delta")
+        void addRetrievalCounts(List<Map<String, Object>> rows);
+
+        @Query("UNWIND $noteIds AS noteId MATCH (e:NoteEmbedding {noteId: noteId}) DETACH DELETE e")
+        void deleteEmbeddings(List<String> noteIds);
+
+        @Query("UNWIND $rows AS row MATCH (n:MemoryNote {id: row.noteId}) CREATE (n)-[:HAS_EMBEDDING]->(e:NoteEmbedding {noteId: row.noteId, embedding: CAST(row.embedding AS FLOAT[384])})")
+        void saveEmbeddings(List<Map<String, Object>> rows);
+
+        @Query("UNWIND $rows AS row MATCH (s:MemoryNote {id: row.fromId}), (t:MemoryNote {id: row.toId}) MERGE (s)-[r:LINKED_TO {name: row.name}]->(t) ON CREATE SET r.relationType = row.relationType RETURN DISTINCT row.name AS name")
+        List<String> mergeLinks(List<Map<String, Object>> rows);
+
+        @Query("MATCH (n:MemoryNote) WHERE n.id IN $ids RETURN n.id AS id")
+        List<MemoryNoteId> findExistingIds(List<String> ids);
 }
@@ -0,0 +1,68 @@
+package com.thecookiezen.archiledger.infrastructure.persistence.ladybugdb;
+
+import com.thecookiezen.archiledger.domain.model.MemoryNote;
+import com.thecookiezen.archiledger.domain.model.MemoryNoteId;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazily walks notes in id order, fetching the next page with a keyset query only when the previous one is
+ * consumed. No connection is held between pages, so an abandoned stream leaks nothing.
+ */
+final class PagedNoteStream implements Iterator<MemoryNote> {
+
+    private final int pageSize;
+    private final BiFunction<MemoryNoteId, Integer, List<MemoryNote>> finder;
+    private List<MemoryNote> page = List.of();
+    private int index;
+    private MemoryNoteId after;
+    private boolean exhausted;
+
+    private PagedNoteStream(int pageSize, BiFunction<MemoryNoteId, Integer, List<MemoryNote>> finder) {
+        this.pageSize = pageSize;
+        this.finder = finder;
+    }
+
+    /**
+     * @param finder returns up to the given number of notes ordered by id, starting after the given id
+     *               (or at the first note when it is null)
+     */
+    static Stream<MemoryNote> of(int pageSize, BiFunction<MemoryNoteId, Integer, List<MemoryNote>> finder) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Stream page size must be positive");
+        }
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new PagedNoteStream(pageSize, finder),
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL), false);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (index == page.size()) {
+            if (exhausted) {
+                return false;
+            }
+            page = finder.apply(after, pageSize);
+            index = 0;
+            exhausted = page.size() < pageSize;
+            if (!page.isEmpty()) {
+                after = page.get(page.size() - 1).id();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public MemoryNote next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return page.get(index++);
+    }
+}
@@ -0,0 +1,38 @@
+package com.thecookiezen.archiledger.infrastructure.persistence.ladybugdb;
+
+import com.ladybugdb.Connection;
+import com.thecookiezen.ladybugdb.spring.connection.LadybugDBConnectionFactory;
+
+/**
+ * Connection factory for the template and transaction manager backed by {@link ReadWriteConnectionPools}:
+ * connections come from the writer inside {@link ReadWriteConnectionPools#writing} and from the reader pool
+ * everywhere else.
+ */
+final class ReadWriteConnectionFactory implements LadybugDBConnectionFactory {
+
+    private final ReadWriteConnectionPools pools;
+
+    ReadWriteConnectionFactory(ReadWriteConnectionPools pools) {
+        this.pools = pools;
+    }
+
+    @Override
+    public Connection getConnection() {
+        return pools.acquire();
+    }
+
+    @Override
+    public void releaseConnection(Connection connection) {
+        pools.release(connection);
+    }
+
+    @Override
+    public void close() {
+        pools.close();
+    }
+
+    @Override
+    public String toString() {
+        return "ReadWriteConnectionFactory[read=" + pools.readers().getMaxTotal() + ", write=1]";
+    }
+}
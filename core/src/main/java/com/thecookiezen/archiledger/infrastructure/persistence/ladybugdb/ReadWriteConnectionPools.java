@@ -0,0 +1,187 @@
+package com.thecookiezen.archiledger.infrastructure.persistence.ladybugdb;
+
+import com.ladybugdb.Connection;
+import com.ladybugdb.Database;
+import com.ladybugdb.QueryResult;
+import com.thecookiezen.ladybugdb.spring.connection.LadybugDBConnectionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Splits LadybugDB connections into a pool of readers and a single writer connection.
+ * <p>
+ * The database admits one write transaction at a time, so letting every pooled connection write only moves the
+ * queueing into the engine, where a conflicting writer fails instead of waiting. Work wrapped in
+ * {@link #writing(Supplier)} runs on the writer connection and queues for it in the pool; everything else reads
+ * on one of the {@code maxReaders} reader connections without contending with writes. Both pools park callers
+ * on a fair semaphore, so they also act as the database bulkhead when request handlers run on virtual threads.
+ * <p>
+ * Extensions registered with {@link #requireExtension(String)} are loaded once on each physical connection, the
+ * first time it is leased after the registration, so queries never pay for {@code LOAD} themselves.
+ */
+public final class ReadWriteConnectionPools implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadWriteConnectionPools.class);
+
+    private static final String MBEAN_DOMAIN = "com.thecookiezen.archiledger";
+
+    private final ConnectionPool<Connection> readers;
+    private final ConnectionPool<Connection> writer;
+    private final ThreadLocal<Boolean> writeScope = new ThreadLocal<>();
+    private final Set<String> requiredExtensions = new CopyOnWriteArraySet<>();
+    private final Map<Connection, Set<String>> loadedExtensions = Collections.synchronizedMap(new WeakHashMap<>());
+    private final LongAdder extensionLoads = new LongAdder();
+
+    public ReadWriteConnectionPools(Database database, int maxReaders, int maxIdleReaders, int minIdleReaders) {
+        this.readers = new ConnectionPool<>("read", () -> new Connection(database),
+                maxReaders, maxIdleReaders, minIdleReaders);
+        this.writer = new ConnectionPool<>("write", () -> new Connection(database), 1, 1, 1);
+    }
+
+    public ConnectionPool<Connection> readers() {
+        return readers;
+    }
+
+    public ConnectionPool<Connection> writer() {
+        return writer;
+    }
+
+    /**
+     * Loads {@code extension} on every connection from now on. Call it once the extension is installed.
+     */
+    public void requireExtension(String extension) {
+        requiredExtensions.add(extension);
+    }
+
+    /** Number of {@code LOAD} statements run on pooled connections so far. */
+    public long extensionLoads() {
+        return extensionLoads.sum();
+    }
+
+    /**
+     * Runs {@code work} on the writer connection. Nested calls join the outer scope.
+     * <p>
+     * The connection is taken before {@code work} starts rather than on its first query, so a thread queued
+     * for the writer holds nothing else, such as a reader connection, while it waits.
+     */
+    public <T> T writing(Supplier<T> work) {
+        if (Boolean.TRUE.equals(writeScope.get())) {
+            return work.get();
+        }
+        Connection connection = writer.acquire();
+        writeScope.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            writeScope.remove();
+            writer.release(connection);
+        }
+    }
+
+    public void writing(Runnable work) {
+        writing(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public Connection acquire() {
+        ConnectionPool<Connection> pool = Boolean.TRUE.equals(writeScope.get()) ? writer : readers;
+        Connection connection = pool.acquire();
+        if (!requiredExtensions.isEmpty()) {
+            try {
+                loadExtensions(connection);
+            } catch (RuntimeException e) {
+                pool.release(connection);
+                throw e;
+            }
+        }
+        return connection;
+    }
+
+    public void release(Connection connection) {
+        if (!writer.release(connection) && !readers.release(connection)) {
+            throw new IllegalArgumentException("Connection was not leased from these pools");
+        }
+    }
+
+    /**
+     * Exposes the pools through the connection factory interface the template and transaction manager use.
+     */
+    public LadybugDBConnectionFactory connectionFactory() {
+        return new ReadWriteConnectionFactory(this);
+    }
+
+    /**
+     * Registers both pools with the platform MBean server as
+     * {@code com.thecookiezen.archiledger:type=ConnectionPool,name=read|write}.
+     */
+    public void registerMBeans() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (ConnectionPool<Connection> pool : List.of(readers, writer)) {
+            try {
+                ObjectName name = objectName(pool);
+                if (server.isRegistered(name)) {
+                    server.unregisterMBean(name);
+                }
+                server.registerMBean(pool, name);
+            } catch (JMException e) {
+                logger.warn("Could not register JMX metrics for the {} connection pool", pool.name(), e);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (ConnectionPool<Connection> pool : List.of(readers, writer)) {
+            logger.info("{} connection pool: {} acquisitions, average wait {} ms, max wait {} ms", pool.name(),
+                    pool.getAcquisitions(), String.format("%.3f", pool.getAverageWaitMillis()),
+                    String.format("%.3f", pool.getMaxWaitMillis()));
+            pool.close();
+            try {
+                ObjectName name = objectName(pool);
+                if (server.isRegistered(name)) {
+                    server.unregisterMBean(name);
+                }
+            } catch (JMException e) {
+                logger.debug("Could not unregister JMX metrics for the {} connection pool", pool.name(), e);
+            }
+        }
+    }
+
+    private void loadExtensions(Connection connection) {
+        Set<String> loaded = loadedExtensions.computeIfAbsent(connection, key -> ConcurrentHashMap.newKeySet());
+        for (String extension : requiredExtensions) {
+            if (loaded.contains(extension)) {
+                continue;
+            }
+            try (QueryResult result = connection.query("LOAD " + extension)) {
+                if (!result.isSuccess()) {
+                    throw new IllegalStateException("Failed to load the " + extension + " extension: "
+                            + result.getErrorMessage());
+                }
+            }
+            loaded.add(extension);
+            extensionLoads.increment();
+        }
+    }
+
+    private static ObjectName objectName(ConnectionPool<?> pool) throws JMException {
+        return new ObjectName(MBEAN_DOMAIN + ":type=ConnectionPool,name=" + pool.name());
+    }
+}
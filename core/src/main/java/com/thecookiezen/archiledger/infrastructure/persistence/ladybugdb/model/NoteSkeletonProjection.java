@@ -0,0 +1,6 @@
+package com.thecookiezen.archiledger.infrastructure.persistence.ladybugdb.model;
+
+import java.util.List;
+
+public record NoteSkeletonProjection(String id, List<String> tags, List<LinkProjection> links) {
+}
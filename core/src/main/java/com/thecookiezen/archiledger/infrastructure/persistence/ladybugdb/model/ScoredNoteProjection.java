@@ -0,0 +1,4 @@
+package com.thecookiezen.archiledger.infrastructure.persistence.ladybugdb.model;
+
+public record ScoredNoteProjection(LadybugMemoryNote note, double distance) {
+}
@@ -0,0 +1,4 @@
+package com.thecookiezen.archiledger.infrastructure.persistence.ladybugdb.model;
+
+public record TextMatchProjection(LadybugMemoryNote note, double score) {
+}
@@ -0,0 +1,216 @@
+package com.thecookiezen.archiledger.infrastructure.persistence.vector;
+
+import com.thecookiezen.archiledger.domain.model.MemoryNoteId;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Brute-force cosine search over a single row-major {@code float[]} matrix of pre-normalized embeddings.
+ * Rows freed by {@link #remove} are reused by later inserts; large scans are split across the common
+ * fork-join pool, each partition keeping its own bounded top-k heap.
+ */
+public class ExactVectorIndex implements VectorIndex {
+
+    static final int DEFAULT_PARALLEL_THRESHOLD = 16_384;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final VectorOps ops;
+    private final int parallelThreshold;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<MemoryNoteId, Integer> slots = new HashMap<>();
+
+    private int dimension = -1;
+    private float[] matrix = new float[0];
+    private MemoryNoteId[] ids = new MemoryNoteId[0];
+    private int[] freeSlots = new int[0];
+    private int freeCount;
+    private int highWater;
+
+    public ExactVectorIndex() {
+        this(VectorOps.preferred(), DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    public ExactVectorIndex(VectorOps ops, int parallelThreshold) {
+        if (parallelThreshold <= 0) {
+            throw new IllegalArgumentException("Parallel threshold must be positive");
+        }
+        this.ops = ops;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    @Override
+    public void add(MemoryNoteId id, float[] embedding) {
+        lock.writeLock().lock();
+        try {
+            if (dimension < 0 && embedding.length > 0) {
+                dimension = embedding.length;
+            }
+            if (embedding.length != dimension) {
+                removeLocked(id);
+                return;
+            }
+            Integer slot = slots.get(id);
+            if (slot == null) {
+                slot = allocateSlot();
+                slots.put(id, slot);
+                ids[slot] = id;
+            }
+            System.arraycopy(VectorOps.normalize(embedding), 0, matrix, slot * dimension, dimension);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(MemoryNoteId id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<VectorMatch> search(float[] query, int k, double minScore, Predicate<MemoryNoteId> filter) {
+        lock.readLock().lock();
+        try {
+            if (k <= 0 || query.length != dimension || slots.isEmpty()) {
+                return List.of();
+            }
+            int limit = Math.min(k, slots.size());
+            float[] normalizedQuery = VectorOps.normalize(query);
+            TopK topK = highWater >= 2 * parallelThreshold && ForkJoinPool.getCommonPoolParallelism() > 1
+                    ? ForkJoinPool.commonPool().invoke(new ScanTask(normalizedQuery, limit, filter, 0, highWater))
+                    : scan(normalizedQuery, limit, filter, 0, highWater);
+
+            float[] scores = new float[topK.size()];
+            int[] ordered = topK.drainDescending(scores);
+            List<VectorMatch> matches = new ArrayList<>(ordered.length);
+            for (int i = 0; i < ordered.length && scores[i] >= minScore; i++) {
+                matches.add(new VectorMatch(ids[ordered[i]], scores[i]));
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slots.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public float[] vector(MemoryNoteId id) {
+        lock.readLock().lock();
+        try {
+            Integer slot = slots.get(id);
+            return slot == null ? null : Arrays.copyOfRange(matrix, slot * dimension, (slot + 1) * dimension);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Passes a copy of every stored normalized embedding to {@code action}.
+     */
+    void forEach(BiConsumer<MemoryNoteId, float[]> action) {
+        lock.readLock().lock();
+        try {
+            for (int slot = 0; slot < highWater; slot++) {
+                if (ids[slot] != null) {
+                    action.accept(ids[slot], Arrays.copyOfRange(matrix, slot * dimension, (slot + 1) * dimension));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private TopK scan(float[] query, int k, Predicate<MemoryNoteId> filter, int from, int to) {
+        TopK topK = new TopK(k);
+        for (int slot = from; slot < to; slot++) {
+            MemoryNoteId id = ids[slot];
+            if (id == null) {
+                continue;
+            }
+            float score = ops.dot(query, 0, matrix, slot * dimension, dimension);
+            if (score > topK.threshold() && filter.test(id)) {
+                topK.offer(score, slot);
+            }
+        }
+        return topK;
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (highWater == ids.length) {
+            int capacity = Math.max(INITIAL_CAPACITY, ids.length * 2);
+            ids = Arrays.copyOf(ids, capacity);
+            matrix = Arrays.copyOf(matrix, Math.multiplyExact(capacity, dimension));
+        }
+        return highWater++;
+    }
+
+    private void removeLocked(MemoryNoteId id) {
+        Integer slot = slots.remove(id);
+        if (slot == null) {
+            return;
+        }
+        ids[slot] = null;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, Math.max(INITIAL_CAPACITY, freeSlots.length * 2));
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    private final class ScanTask extends RecursiveTask<TopK> {
+
+        private final float[] query;
+        private final int k;
+        private final Predicate<MemoryNoteId> filter;
+        private final int from;
+        private final int to;
+
+        private ScanTask(float[] query, int k, Predicate<MemoryNoteId> filter, int from, int to) {
+            this.query = query;
+            this.k = k;
+            this.filter = filter;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected TopK compute() {
+            if (to - from <= parallelThreshold) {
+                return scan(query, k, filter, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            ScanTask left = new ScanTask(query, k, filter, from, middle);
+            left.fork();
+            TopK right = new ScanTask(query, k, filter, middle, to).compute();
+            TopK merged = left.join();
+            merged.addAll(right);
+            return merged;
+        }
+    }
+}
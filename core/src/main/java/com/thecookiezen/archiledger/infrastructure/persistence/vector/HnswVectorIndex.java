@@ -0,0 +1,457 @@
+package com.thecookiezen.archiledger.infrastructure.persistence.vector;
+
+import com.thecookiezen.archiledger.domain.model.MemoryNoteId;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * Hierarchical navigable small world graph (Malkov and Yashunin) over normalized embeddings.
+ * <p>
+ * Inserts run concurrently: each node guards its own neighbour lists and only promotions of the entry
+ * point are serialized. Removed or replaced notes are tombstoned; they stay in the graph for navigation
+ * but are never returned. Once tombstones outnumber half the live nodes (and at least
+ * {@value #MIN_TOMBSTONES_TO_COMPACT}), the graph is rebuilt from the live nodes; inserts, removals and
+ * searches wait for the rebuild.
+ * <p>
+ * Node levels are drawn from a generator seeded by the constructor and the node's slot, so the same seed and
+ * insertion order always build the same layer structure.
+ */
+public class HnswVectorIndex implements VectorIndex {
+
+    public static final int DEFAULT_M = 16;
+    public static final int DEFAULT_EF_CONSTRUCTION = 200;
+    public static final int DEFAULT_EF_SEARCH = 64;
+    public static final long DEFAULT_SEED = 42L;
+
+    private static final int CHUNK_BITS = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int MAX_CHUNKS = 1 << 16;
+    static final int MIN_TOMBSTONES_TO_COMPACT = 1024;
+
+    private static final Comparator<Candidate> BEST_FIRST = Comparator.comparingDouble(Candidate::score).reversed();
+    private static final Comparator<Candidate> WORST_FIRST = Comparator.comparingDouble(Candidate::score);
+
+    private final VectorOps ops;
+    private final int m;
+    private final int maxConnectionsLayer0;
+    private final int efConstruction;
+    private final int efSearch;
+    private final double levelMultiplier;
+    private final long seed;
+
+    /** Held shared by inserts, removals and searches, exclusively by {@link #compact()}. */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<MemoryNoteId, Node> nodesById = new ConcurrentHashMap<>();
+    private final AtomicInteger nextSlot = new AtomicInteger();
+    private AtomicReferenceArray<Node[]> chunks = new AtomicReferenceArray<>(MAX_CHUNKS);
+    private final Object entryPointLock = new Object();
+    private volatile Node entryPoint;
+    private volatile int dimension = -1;
+
+    public HnswVectorIndex() {
+        this(VectorOps.preferred(), DEFAULT_M, DEFAULT_EF_CONSTRUCTION, DEFAULT_EF_SEARCH, DEFAULT_SEED);
+    }
+
+    public HnswVectorIndex(VectorOps ops, int m, int efConstruction, int efSearch, long seed) {
+        if (m < 2) {
+            throw new IllegalArgumentException("M must be at least 2");
+        }
+        if (efConstruction <= 0 || efSearch <= 0) {
+            throw new IllegalArgumentException("efConstruction and efSearch must be positive");
+        }
+        this.ops = ops;
+        this.m = m;
+        this.maxConnectionsLayer0 = 2 * m;
+        this.efConstruction = efConstruction;
+        this.efSearch = efSearch;
+        this.levelMultiplier = 1.0 / Math.log(m);
+        this.seed = seed;
+    }
+
+    @Override
+    public void add(MemoryNoteId id, float[] embedding) {
+        lock.readLock().lock();
+        try {
+            if (acceptsDimension(embedding.length)) {
+                addLocked(id, VectorOps.normalize(embedding));
+            } else {
+                removeLocked(id);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        compactIfNeeded();
+    }
+
+    @Override
+    public void remove(MemoryNoteId id) {
+        lock.readLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+        compactIfNeeded();
+    }
+
+    @Override
+    public List<VectorMatch> search(float[] query, int k, double minScore, Predicate<MemoryNoteId> filter) {
+        lock.readLock().lock();
+        try {
+            return searchLocked(query, k, minScore, filter);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<VectorMatch> searchLocked(float[] query, int k, double minScore, Predicate<MemoryNoteId> filter) {
+        Node entry = entryPoint;
+        if (k <= 0 || entry == null || query.length != dimension) {
+            return List.of();
+        }
+        int limit = Math.min(k, nodesById.size());
+        float[] normalizedQuery = VectorOps.normalize(query);
+        Node current = entry;
+        for (int level = entry.level; level > 0; level--) {
+            current = greedyClosest(normalizedQuery, current, level);
+        }
+        PriorityQueue<Candidate> found = searchLayer(normalizedQuery, current, Math.max(efSearch, limit), 0,
+                node -> !node.deleted && filter.test(node.id));
+
+        List<Candidate> best = new ArrayList<>(found);
+        best.sort(BEST_FIRST);
+        List<VectorMatch> matches = new ArrayList<>(Math.min(limit, best.size()));
+        for (Candidate candidate : best) {
+            if (matches.size() == limit || candidate.score() < minScore) {
+                break;
+            }
+            matches.add(new VectorMatch(candidate.node().id, candidate.score()));
+        }
+        return matches;
+    }
+
+    @Override
+    public float[] vector(MemoryNoteId id) {
+        lock.readLock().lock();
+        try {
+            Node node = nodesById.get(id);
+            return node == null ? null : node.vector.clone();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nodesById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Number of graph nodes, tombstones included. */
+    int graphSize() {
+        return nextSlot.get();
+    }
+
+    private void addLocked(MemoryNoteId id, float[] normalized) {
+        int slot = nextSlot.getAndIncrement();
+        Node node = new Node(slot, id, normalized, randomLevel(slot));
+        publish(node);
+        insert(node);
+        Node replaced = nodesById.put(id, node);
+        if (replaced != null) {
+            replaced.deleted = true;
+        }
+    }
+
+    private void removeLocked(MemoryNoteId id) {
+        Node removed = nodesById.remove(id);
+        if (removed != null) {
+            removed.deleted = true;
+        }
+    }
+
+    private boolean needsCompaction() {
+        int tombstones = nextSlot.get() - nodesById.size();
+        return tombstones >= MIN_TOMBSTONES_TO_COMPACT && tombstones > nodesById.size() / 2;
+    }
+
+    private void compactIfNeeded() {
+        if (needsCompaction()) {
+            compact();
+        }
+    }
+
+    /**
+     * Rebuilds the graph from the live nodes in their insertion order, so the same seed and operations still
+     * build the same graph.
+     */
+    private void compact() {
+        lock.writeLock().lock();
+        try {
+            if (!needsCompaction()) {
+                return;
+            }
+            List<Node> live = new ArrayList<>(nodesById.values());
+            live.sort(Comparator.comparingInt(node -> node.slot));
+            nodesById.clear();
+            chunks = new AtomicReferenceArray<>(MAX_CHUNKS);
+            nextSlot.set(0);
+            entryPoint = null;
+            for (Node node : live) {
+                addLocked(node.id, node.vector);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean acceptsDimension(int length) {
+        if (length == 0) {
+            return false;
+        }
+        if (dimension < 0) {
+            synchronized (entryPointLock) {
+                if (dimension < 0) {
+                    dimension = length;
+                }
+            }
+        }
+        return length == dimension;
+    }
+
+    private int randomLevel(int slot) {
+        double uniform = 1.0 - new SplittableRandom(seed + slot * 0x9E3779B97F4A7C15L).nextDouble();
+        return (int) (-Math.log(uniform) * levelMultiplier);
+    }
+
+    private void insert(Node node) {
+        Node entry = entryPoint;
+        if (entry == null) {
+            synchronized (entryPointLock) {
+                if (entryPoint == null) {
+                    entryPoint = node;
+                    return;
+                }
+                entry = entryPoint;
+            }
+        }
+
+        Node current = entry;
+        for (int level = entry.level; level > node.level; level--) {
+            current = greedyClosest(node.vector, current, level);
+        }
+        for (int level = Math.min(node.level, entry.level); level >= 0; level--) {
+            PriorityQueue<Candidate> found = searchLayer(node.vector, current, efConstruction, level, other -> true);
+            List<Candidate> candidates = new ArrayList<>(found);
+            candidates.sort(BEST_FIRST);
+            int[] neighbours = selectNeighbours(candidates, m);
+            synchronized (node) {
+                node.setNeighbours(level, neighbours);
+            }
+            for (int neighbourSlot : neighbours) {
+                connect(nodeAt(neighbourSlot), node, level);
+            }
+            current = candidates.get(0).node();
+        }
+
+        if (node.level > entry.level) {
+            synchronized (entryPointLock) {
+                if (node.level > entryPoint.level) {
+                    entryPoint = node;
+                }
+            }
+        }
+    }
+
+    private void connect(Node neighbour, Node node, int level) {
+        int maxConnections = level == 0 ? maxConnectionsLayer0 : m;
+        synchronized (neighbour) {
+            int[] existing = neighbour.neighbours(level);
+            if (existing.length < maxConnections) {
+                int[] extended = Arrays.copyOf(existing, existing.length + 1);
+                extended[existing.length] = node.slot;
+                neighbour.setNeighbours(level, extended);
+                return;
+            }
+            List<Candidate> candidates = new ArrayList<>(existing.length + 1);
+            candidates.add(new Candidate(node, similarity(neighbour.vector, node)));
+            for (int slot : existing) {
+                Node other = nodeAt(slot);
+                candidates.add(new Candidate(other, similarity(neighbour.vector, other)));
+            }
+            candidates.sort(BEST_FIRST);
+            neighbour.setNeighbours(level, selectNeighbours(candidates, maxConnections));
+        }
+    }
+
+    /**
+     * Diversity heuristic: keeps a candidate only if it is closer to the base vector than to every neighbour
+     * already kept, then tops up with the best pruned candidates. {@code candidates} must be sorted best first.
+     */
+    private int[] selectNeighbours(List<Candidate> candidates, int limit) {
+        int[] selected = new int[Math.min(limit, candidates.size())];
+        Node[] selectedNodes = new Node[selected.length];
+        int count = 0;
+        List<Candidate> pruned = new ArrayList<>();
+        for (Candidate candidate : candidates) {
+            if (count == selected.length) {
+                break;
+            }
+            boolean diverse = true;
+            for (int i = 0; i < count && diverse; i++) {
+                diverse = similarity(candidate.node().vector, selectedNodes[i]) < candidate.score();
+            }
+            if (diverse) {
+                selectedNodes[count] = candidate.node();
+                selected[count++] = candidate.node().slot;
+            } else {
+                pruned.add(candidate);
+            }
+        }
+        for (int i = 0; count < selected.length && i < pruned.size(); i++) {
+            selected[count++] = pruned.get(i).node().slot;
+        }
+        return selected;
+    }
+
+    private Node greedyClosest(float[] query, Node start, int level) {
+        Node current = start;
+        float currentScore = similarity(query, current);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            for (int slot : current.neighbours(level)) {
+                Node candidate = nodeAt(slot);
+                float score = similarity(query, candidate);
+                if (score > currentScore) {
+                    current = candidate;
+                    currentScore = score;
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Best-first search of one layer. Every reachable node is traversed, but only nodes passing
+     * {@code accept} are collected, so the returned min-heap holds the {@code ef} best accepted nodes.
+     */
+    private PriorityQueue<Candidate> searchLayer(float[] query, Node start, int ef, int level, Predicate<Node> accept) {
+        BitSet visited = new BitSet(nextSlot.get());
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>(BEST_FIRST);
+        PriorityQueue<Candidate> results = new PriorityQueue<>(WORST_FIRST);
+
+        Candidate first = new Candidate(start, similarity(query, start));
+        visited.set(start.slot);
+        candidates.add(first);
+        if (accept.test(start)) {
+            results.add(first);
+        }
+
+        while (!candidates.isEmpty()) {
+            Candidate closest = candidates.poll();
+            if (results.size() >= ef && closest.score() < results.peek().score()) {
+                break;
+            }
+            for (int slot : closest.node().neighbours(level)) {
+                if (visited.get(slot)) {
+                    continue;
+                }
+                visited.set(slot);
+                Node neighbour = nodeAt(slot);
+                float score = similarity(query, neighbour);
+                if (results.size() < ef || score > results.peek().score()) {
+                    Candidate candidate = new Candidate(neighbour, score);
+                    candidates.add(candidate);
+                    if (accept.test(neighbour)) {
+                        results.add(candidate);
+                        if (results.size() > ef) {
+                            results.poll();
+                        }
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    private float similarity(float[] query, Node node) {
+        return ops.dot(query, 0, node.vector, 0, query.length);
+    }
+
+    private void publish(Node node) {
+        int chunkIndex = node.slot >>> CHUNK_BITS;
+        if (chunkIndex >= MAX_CHUNKS) {
+            throw new IllegalStateException("HNSW index capacity exceeded");
+        }
+        Node[] chunk = chunks.get(chunkIndex);
+        if (chunk == null) {
+            chunks.compareAndSet(chunkIndex, null, new Node[CHUNK_SIZE]);
+            chunk = chunks.get(chunkIndex);
+        }
+        synchronized (chunk) {
+            chunk[node.slot & (CHUNK_SIZE - 1)] = node;
+        }
+    }
+
+    private Node nodeAt(int slot) {
+        Node[] chunk = chunks.get(slot >>> CHUNK_BITS);
+        Node node = chunk[slot & (CHUNK_SIZE - 1)];
+        if (node == null) {
+            synchronized (chunk) {
+                node = chunk[slot & (CHUNK_SIZE - 1)];
+            }
+        }
+        return node;
+    }
+
+    private record Candidate(Node node, float score) {
+    }
+
+    private static final class Node {
+
+        private final int slot;
+        private final MemoryNoteId id;
+        private final float[] vector;
+        private final int level;
+        private final AtomicReferenceArray<int[]> neighbours;
+        private volatile boolean deleted;
+
+        private Node(int slot, MemoryNoteId id, float[] vector, int level) {
+            this.slot = slot;
+            this.id = id;
+            this.vector = vector;
+            this.level = level;
+            this.neighbours = new AtomicReferenceArray<>(level + 1);
+            for (int i = 0; i <= level; i++) {
+                neighbours.set(i, new int[0]);
+            }
+        }
+
+        private int[] neighbours(int level) {
+            return neighbours.get(level);
+        }
+
+        private void setNeighbours(int level, int[] slots) {
+            neighbours.set(level, slots);
+        }
+    }
+}
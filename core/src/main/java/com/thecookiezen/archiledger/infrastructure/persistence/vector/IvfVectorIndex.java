@@ -0,0 +1,366 @@
+package com.thecookiezen.archiledger.infrastructure.persistence.vector;
+
+import com.thecookiezen.archiledger.domain.model.MemoryNoteId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/**
+ * Inverted-file index with flat (uncompressed) lists: embeddings are partitioned by their nearest k-means
+ * centroid and a query only scans the {@code nprobe} lists whose centroids are closest to it.
+ * <p>
+ * Until {@code minTrainingSize} embeddings are stored everything lives in one list and search is exact.
+ * Training, and retraining once the collection has grown by {@code retrainGrowth}, runs on a background
+ * thread; writes made meanwhile are replayed onto the new partitioning before it is swapped in.
+ */
+public class IvfVectorIndex implements VectorIndex, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(IvfVectorIndex.class);
+
+    public static final int DEFAULT_NPROBE = 8;
+    public static final int DEFAULT_MIN_TRAINING_SIZE = 1024;
+    public static final double DEFAULT_RETRAIN_GROWTH = 2.0;
+
+    private static final int KMEANS_ITERATIONS = 10;
+    private static final int MAX_TRAINING_POINTS_PER_LIST = 256;
+
+    private final VectorOps ops;
+    private final int nlist;
+    private final int nprobe;
+    private final int minTrainingSize;
+    private final double retrainGrowth;
+
+    private final ReadWriteLock layoutLock = new ReentrantReadWriteLock();
+    private final Map<MemoryNoteId, ExactVectorIndex> assignments = new ConcurrentHashMap<>();
+    private final Set<MemoryNoteId> changedDuringTraining = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean training = new AtomicBoolean();
+    private final ExecutorService trainer;
+    private volatile Layout layout;
+    private volatile int dimension = -1;
+
+    public IvfVectorIndex() {
+        this(VectorOps.preferred(), 0, DEFAULT_NPROBE, DEFAULT_MIN_TRAINING_SIZE, DEFAULT_RETRAIN_GROWTH);
+    }
+
+    /**
+     * @param nlist number of k-means partitions, or {@code 0} to use the square root of the collection size
+     */
+    public IvfVectorIndex(VectorOps ops, int nlist, int nprobe, int minTrainingSize, double retrainGrowth) {
+        if (nlist < 0) {
+            throw new IllegalArgumentException("nlist must not be negative");
+        }
+        if (nprobe <= 0) {
+            throw new IllegalArgumentException("nprobe must be positive");
+        }
+        if (minTrainingSize <= 0) {
+            throw new IllegalArgumentException("Minimum training size must be positive");
+        }
+        if (retrainGrowth <= 1.0) {
+            throw new IllegalArgumentException("Retrain growth must be greater than 1");
+        }
+        this.ops = ops;
+        this.nlist = nlist;
+        this.nprobe = nprobe;
+        this.minTrainingSize = minTrainingSize;
+        this.retrainGrowth = retrainGrowth;
+        this.layout = new Layout(null, new ExactVectorIndex[] { newList() }, 0);
+        this.trainer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ivf-index-trainer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void add(MemoryNoteId id, float[] embedding) {
+        if (!acceptsDimension(embedding.length)) {
+            remove(id);
+            return;
+        }
+        float[] normalized = VectorOps.normalize(embedding);
+        layoutLock.readLock().lock();
+        try {
+            ExactVectorIndex list = layout.listFor(normalized, ops);
+            ExactVectorIndex previous = assignments.put(id, list);
+            if (previous != null && previous != list) {
+                previous.remove(id);
+            }
+            list.add(id, normalized);
+            if (training.get()) {
+                changedDuringTraining.add(id);
+            }
+        } finally {
+            layoutLock.readLock().unlock();
+        }
+        scheduleTrainingIfDue();
+    }
+
+    @Override
+    public void remove(MemoryNoteId id) {
+        layoutLock.readLock().lock();
+        try {
+            ExactVectorIndex list = assignments.remove(id);
+            if (list != null) {
+                list.remove(id);
+            }
+            if (training.get()) {
+                changedDuringTraining.add(id);
+            }
+        } finally {
+            layoutLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<VectorMatch> search(float[] query, int k, double minScore, Predicate<MemoryNoteId> filter) {
+        if (k <= 0 || query.length != dimension) {
+            return List.of();
+        }
+        int limit = Math.min(k, size());
+        Layout current = layout;
+        if (!current.trained()) {
+            return current.lists[0].search(query, limit, minScore, filter);
+        }
+
+        float[] normalizedQuery = VectorOps.normalize(query);
+        TopK closestLists = new TopK(Math.min(nprobe, current.lists.length));
+        for (int list = 0; list < current.lists.length; list++) {
+            closestLists.offer(ops.dot(normalizedQuery, 0, current.centroids, list * dimension, dimension), list);
+        }
+        List<VectorMatch> matches = new ArrayList<>();
+        for (int list : closestLists.drainDescending(new float[closestLists.size()])) {
+            matches.addAll(current.lists[list].search(normalizedQuery, limit, minScore, filter));
+        }
+        matches.sort(Comparator.comparingDouble(VectorMatch::score).reversed());
+        return matches.size() > limit ? List.copyOf(matches.subList(0, limit)) : matches;
+    }
+
+    @Override
+    public float[] vector(MemoryNoteId id) {
+        layoutLock.readLock().lock();
+        try {
+            ExactVectorIndex list = assignments.get(id);
+            return list == null ? null : list.vector(id);
+        } finally {
+            layoutLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        return assignments.size();
+    }
+
+    @Override
+    public void close() {
+        trainer.shutdownNow();
+    }
+
+    /**
+     * Trains a new partitioning synchronously, regardless of the growth threshold.
+     */
+    void train() {
+        if (training.compareAndSet(false, true)) {
+            retrain();
+        }
+    }
+
+    boolean trained() {
+        return layout.trained();
+    }
+
+    private boolean acceptsDimension(int length) {
+        if (length == 0) {
+            return false;
+        }
+        if (dimension < 0) {
+            synchronized (this) {
+                if (dimension < 0) {
+                    dimension = length;
+                }
+            }
+        }
+        return length == dimension;
+    }
+
+    private void scheduleTrainingIfDue() {
+        Layout current = layout;
+        long threshold = current.trained()
+                ? (long) Math.ceil(current.trainedSize * retrainGrowth)
+                : minTrainingSize;
+        if (assignments.size() < threshold || !training.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            trainer.execute(this::retrain);
+        } catch (RejectedExecutionException e) {
+            training.set(false);
+        }
+    }
+
+    private void retrain() {
+        try {
+            changedDuringTraining.clear();
+            Map<MemoryNoteId, float[]> snapshot = new LinkedHashMap<>();
+            for (ExactVectorIndex list : layout.lists) {
+                list.forEach(snapshot::put);
+            }
+            if (snapshot.isEmpty()) {
+                return;
+            }
+            List<MemoryNoteId> ids = new ArrayList<>(snapshot.keySet());
+            List<float[]> vectors = new ArrayList<>(snapshot.values());
+
+            long start = System.nanoTime();
+            int lists = Math.min(ids.size(), nlist > 0 ? nlist : Math.max(1, (int) Math.sqrt(ids.size())));
+            float[] centroids = kMeans(vectors, lists);
+            ExactVectorIndex[] newLists = new ExactVectorIndex[lists];
+            for (int i = 0; i < lists; i++) {
+                newLists[i] = newList();
+            }
+            Layout trainedLayout = new Layout(centroids, newLists, ids.size());
+            int[] nearest = nearestCentroids(vectors, centroids, lists);
+            Map<MemoryNoteId, ExactVectorIndex> newAssignments = new HashMap<>();
+            for (int i = 0; i < ids.size(); i++) {
+                newLists[nearest[i]].add(ids.get(i), vectors.get(i));
+                newAssignments.put(ids.get(i), newLists[nearest[i]]);
+            }
+
+            layoutLock.writeLock().lock();
+            try {
+                for (MemoryNoteId id : changedDuringTraining) {
+                    ExactVectorIndex stale = newAssignments.remove(id);
+                    if (stale != null) {
+                        stale.remove(id);
+                    }
+                    ExactVectorIndex live = assignments.get(id);
+                    float[] vector = live == null ? null : live.vector(id);
+                    if (vector != null) {
+                        ExactVectorIndex target = trainedLayout.listFor(vector, ops);
+                        target.add(id, vector);
+                        newAssignments.put(id, target);
+                    }
+                }
+                changedDuringTraining.clear();
+                assignments.clear();
+                assignments.putAll(newAssignments);
+                layout = trainedLayout;
+            } finally {
+                layoutLock.writeLock().unlock();
+            }
+            logger.info("Trained IVF index with {} lists over {} embeddings in {} ms",
+                    lists, ids.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            logger.warn("IVF index training failed, keeping previous partitioning", e);
+        } finally {
+            training.set(false);
+        }
+    }
+
+    /**
+     * Spherical k-means over a sample of at most {@value #MAX_TRAINING_POINTS_PER_LIST} points per list.
+     * The assignment step runs as a parallel stream on the common fork-join pool.
+     */
+    private float[] kMeans(List<float[]> vectors, int k) {
+        List<float[]> sample = sample(vectors, k * MAX_TRAINING_POINTS_PER_LIST);
+        int dim = sample.get(0).length;
+        float[] centroids = new float[k * dim];
+        List<float[]> seeds = sample(sample, k);
+        for (int c = 0; c < k; c++) {
+            System.arraycopy(seeds.get(c), 0, centroids, c * dim, dim);
+        }
+
+        int[] previous = null;
+        for (int iteration = 0; iteration < KMEANS_ITERATIONS; iteration++) {
+            int[] assigned = nearestCentroids(sample, centroids, k);
+            if (previous != null && Arrays.equals(previous, assigned)) {
+                break;
+            }
+            previous = assigned;
+
+            float[] sums = new float[k * dim];
+            int[] counts = new int[k];
+            for (int i = 0; i < sample.size(); i++) {
+                float[] point = sample.get(i);
+                int offset = assigned[i] * dim;
+                for (int d = 0; d < dim; d++) {
+                    sums[offset + d] += point[d];
+                }
+                counts[assigned[i]]++;
+            }
+            for (int c = 0; c < k; c++) {
+                float[] centroid = counts[c] == 0
+                        ? sample.get(ThreadLocalRandom.current().nextInt(sample.size()))
+                        : VectorOps.normalize(Arrays.copyOfRange(sums, c * dim, (c + 1) * dim));
+                System.arraycopy(centroid, 0, centroids, c * dim, dim);
+            }
+        }
+        return centroids;
+    }
+
+    private int[] nearestCentroids(List<float[]> vectors, float[] centroids, int k) {
+        return IntStream.range(0, vectors.size())
+                .parallel()
+                .map(i -> nearestCentroid(vectors.get(i), centroids, k, ops))
+                .toArray();
+    }
+
+    private static int nearestCentroid(float[] vector, float[] centroids, int k, VectorOps ops) {
+        int best = 0;
+        float bestScore = Float.NEGATIVE_INFINITY;
+        for (int c = 0; c < k; c++) {
+            float score = ops.dot(vector, 0, centroids, c * vector.length, vector.length);
+            if (score > bestScore) {
+                bestScore = score;
+                best = c;
+            }
+        }
+        return best;
+    }
+
+    private static List<float[]> sample(List<float[]> vectors, int size) {
+        if (vectors.size() <= size) {
+            return vectors;
+        }
+        List<float[]> shuffled = new ArrayList<>(vectors);
+        Collections.shuffle(shuffled, ThreadLocalRandom.current());
+        return shuffled.subList(0, size);
+    }
+
+    private ExactVectorIndex newList() {
+        return new ExactVectorIndex(ops, ExactVectorIndex.DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Centroids are stored row-major in one array and are {@code null} until the first training.
+     */
+    private record Layout(float[] centroids, ExactVectorIndex[] lists, int trainedSize) {
+
+        boolean trained() {
+            return centroids != null;
+        }
+
+        ExactVectorIndex listFor(float[] normalized, VectorOps ops) {
+            return trained() ? lists[nearestCentroid(normalized, centroids, lists.length, ops)] : lists[0];
+        }
+    }
+}
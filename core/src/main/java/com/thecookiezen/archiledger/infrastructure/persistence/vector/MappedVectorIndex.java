@@ -0,0 +1,407 @@
+package com.thecookiezen.archiledger.infrastructure.persistence.vector;
+
+import com.thecookiezen.archiledger.domain.model.MemoryNoteId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/**
+ * Exact cosine search over normalized embeddings kept off-heap in a memory-mapped file, so the heap only holds
+ * the id-to-slot table. Each embedding occupies a fixed row (slot) of {@code vectors.bin}, mapped in chunks of
+ * {@value #CHUNK_ROWS} rows; {@code slots.log} records which id owns which slot. Reopening the directory replays
+ * the slot log and maps the existing file, without reading any vector.
+ * <p>
+ * Vectors are written to the mapping before their slot is logged, and the operating system flushes the mapping
+ * lazily; {@link #close} forces it to disk. The file can outlive the notes it was written for, so the owning
+ * repository calls {@link #retain} after its own recovery to free the slots of notes it no longer has.
+ */
+public class MappedVectorIndex implements VectorIndex, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(MappedVectorIndex.class);
+
+    static final String VECTORS_FILE = "vectors.bin";
+    static final String SLOTS_FILE = "slots.log";
+
+    private static final int MAGIC = 0x41524356;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int CHUNK_ROWS = 16_384;
+    private static final int BLOCK_ROWS = 64;
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 0;
+
+    private final VectorOps ops;
+    private final Path directory;
+    private final FileChannel channel;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<MemoryNoteId, Integer> slots = new HashMap<>();
+    private final List<FloatBuffer> chunks = new ArrayList<>();
+    private final List<MappedByteBuffer> mappings = new ArrayList<>();
+
+    private DataOutputStream slotLog;
+    private int dimension;
+    private MemoryNoteId[] ids = new MemoryNoteId[0];
+    private int[] freeSlots = new int[0];
+    private int freeCount;
+    private int highWater;
+
+    public MappedVectorIndex(Path directory) {
+        this(directory, VectorOps.preferred());
+    }
+
+    public MappedVectorIndex(Path directory, VectorOps ops) {
+        this.ops = ops;
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+            channel = FileChannel.open(directory.resolve(VECTORS_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            readHeader();
+            replaySlotLog();
+            slotLog = openSlotLog();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open mapped vector store in " + directory, e);
+        }
+        logger.info("Opened mapped vector store in {} with {} embeddings", directory.toAbsolutePath(), slots.size());
+    }
+
+    @Override
+    public void add(MemoryNoteId id, float[] embedding) {
+        lock.writeLock().lock();
+        try {
+            if (dimension == 0 && embedding.length > 0) {
+                dimension = embedding.length;
+                writeHeader();
+            }
+            if (embedding.length != dimension) {
+                removeLocked(id);
+                return;
+            }
+            Integer slot = slots.get(id);
+            boolean newSlot = slot == null;
+            if (newSlot) {
+                slot = allocateSlot();
+            }
+            chunks.get(slot / CHUNK_ROWS).put((slot % CHUNK_ROWS) * dimension, VectorOps.normalize(embedding));
+            if (newSlot) {
+                log(PUT, slot, id);
+                slots.put(id, slot);
+                ids[slot] = id;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store embedding of " + id, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(MemoryNoteId id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<VectorMatch> search(float[] query, int k, double minScore, Predicate<MemoryNoteId> filter) {
+        lock.readLock().lock();
+        try {
+            if (k <= 0 || query.length != dimension || slots.isEmpty()) {
+                return List.of();
+            }
+            int limit = Math.min(k, slots.size());
+            float[] normalizedQuery = VectorOps.normalize(query);
+            int chunkCount = (highWater + CHUNK_ROWS - 1) / CHUNK_ROWS;
+            IntStream chunkIndexes = IntStream.range(0, chunkCount);
+            if (chunkCount > 1) {
+                chunkIndexes = chunkIndexes.parallel();
+            }
+            TopK topK = chunkIndexes
+                    .mapToObj(chunk -> scanChunk(normalizedQuery, limit, filter, chunk))
+                    .reduce((left, right) -> {
+                        left.addAll(right);
+                        return left;
+                    })
+                    .orElseGet(() -> new TopK(limit));
+
+            float[] scores = new float[topK.size()];
+            int[] ordered = topK.drainDescending(scores);
+            List<VectorMatch> matches = new ArrayList<>(ordered.length);
+            for (int i = 0; i < ordered.length && scores[i] >= minScore; i++) {
+                matches.add(new VectorMatch(ids[ordered[i]], scores[i]));
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slots.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public float[] vector(MemoryNoteId id) {
+        lock.readLock().lock();
+        try {
+            Integer slot = slots.get(id);
+            if (slot == null) {
+                return null;
+            }
+            float[] vector = new float[dimension];
+            chunks.get(slot / CHUNK_ROWS).get((slot % CHUNK_ROWS) * dimension, vector);
+            return vector;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int retain(Predicate<MemoryNoteId> keep) {
+        lock.writeLock().lock();
+        try {
+            List<MemoryNoteId> stale = slots.keySet().stream().filter(keep.negate()).toList();
+            stale.forEach(this::removeLocked);
+            return stale.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            mappings.forEach(MappedByteBuffer::force);
+            slotLog.close();
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close mapped vector store in " + directory, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rows are copied a block at a time into a scratch array for the dot-product kernel; the copy streams at
+     * memory bandwidth and allocates nothing per note.
+     */
+    private TopK scanChunk(float[] query, int k, Predicate<MemoryNoteId> filter, int chunk) {
+        TopK topK = new TopK(k);
+        FloatBuffer rows = chunks.get(chunk);
+        int first = chunk * CHUNK_ROWS;
+        int end = Math.min(highWater, first + CHUNK_ROWS);
+        float[] block = new float[BLOCK_ROWS * dimension];
+        for (int blockStart = first; blockStart < end; blockStart += BLOCK_ROWS) {
+            int blockRows = Math.min(BLOCK_ROWS, end - blockStart);
+            rows.get((blockStart - first) * dimension, block, 0, blockRows * dimension);
+            for (int row = 0; row < blockRows; row++) {
+                MemoryNoteId id = ids[blockStart + row];
+                if (id == null) {
+                    continue;
+                }
+                float score = ops.dot(query, 0, block, row * dimension, dimension);
+                if (score > topK.threshold() && filter.test(id)) {
+                    topK.offer(score, blockStart + row);
+                }
+            }
+        }
+        return topK;
+    }
+
+    private void readHeader() throws IOException {
+        if (channel.size() < HEADER_BYTES) {
+            dimension = 0;
+            writeHeader();
+            return;
+        }
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+        header.order(ByteOrder.nativeOrder());
+        if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+            throw new IOException("Not a version " + VERSION + " vector store: " + directory.resolve(VECTORS_FILE));
+        }
+        dimension = header.getInt(8);
+        if (dimension > 0) {
+            long rows = (channel.size() - HEADER_BYTES) / Float.BYTES / dimension;
+            for (long mapped = 0; mapped + CHUNK_ROWS <= rows; mapped += CHUNK_ROWS) {
+                mapChunk();
+            }
+        }
+    }
+
+    private void writeHeader() {
+        try {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+            header.order(ByteOrder.nativeOrder());
+            header.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, dimension);
+            header.force();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write vector store header", e);
+        }
+    }
+
+    private void mapChunk() throws IOException {
+        long chunkBytes = (long) CHUNK_ROWS * dimension * Float.BYTES;
+        long position = HEADER_BYTES + chunks.size() * chunkBytes;
+        MappedByteBuffer mapping = channel.map(FileChannel.MapMode.READ_WRITE, position, chunkBytes);
+        mapping.order(ByteOrder.nativeOrder());
+        mappings.add(mapping);
+        chunks.add(mapping.asFloatBuffer());
+    }
+
+    /**
+     * Rebuilds the slot table from the log and rewrites the log once removals dominate it.
+     */
+    private void replaySlotLog() throws IOException {
+        Path logFile = directory.resolve(SLOTS_FILE);
+        if (!Files.exists(logFile)) {
+            return;
+        }
+        long records = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(logFile)))) {
+            while (true) {
+                byte op;
+                try {
+                    op = in.readByte();
+                } catch (EOFException e) {
+                    break;
+                }
+                int slot;
+                MemoryNoteId id;
+                try {
+                    slot = in.readInt();
+                    id = new MemoryNoteId(in.readUTF());
+                } catch (EOFException e) {
+                    logger.warn("Ignoring truncated last record of {}", logFile.toAbsolutePath());
+                    break;
+                }
+                records++;
+                if (slot >= chunks.size() * CHUNK_ROWS) {
+                    continue;
+                }
+                ensureCapacity(slot + 1);
+                highWater = Math.max(highWater, slot + 1);
+                if (op == PUT) {
+                    MemoryNoteId previous = ids[slot];
+                    if (previous != null) {
+                        slots.remove(previous);
+                    }
+                    Integer previousSlot = slots.put(id, slot);
+                    if (previousSlot != null && previousSlot != slot) {
+                        ids[previousSlot] = null;
+                    }
+                    ids[slot] = id;
+                } else if (id.equals(ids[slot])) {
+                    slots.remove(id);
+                    ids[slot] = null;
+                }
+            }
+        }
+        for (int slot = highWater - 1; slot >= 0; slot--) {
+            if (ids[slot] == null) {
+                pushFreeSlot(slot);
+            }
+        }
+        if (records > 2L * slots.size() + 1024) {
+            compactSlotLog(logFile);
+        }
+    }
+
+    private void compactSlotLog(Path logFile) throws IOException {
+        Path compacted = directory.resolve(SLOTS_FILE + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(compacted)))) {
+            for (int slot = 0; slot < highWater; slot++) {
+                if (ids[slot] != null) {
+                    out.writeByte(PUT);
+                    out.writeInt(slot);
+                    out.writeUTF(ids[slot].value());
+                }
+            }
+        }
+        Files.move(compacted, logFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private DataOutputStream openSlotLog() throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(directory.resolve(SLOTS_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+    }
+
+    private void log(byte op, int slot, MemoryNoteId id) throws IOException {
+        slotLog.writeByte(op);
+        slotLog.writeInt(slot);
+        slotLog.writeUTF(id.value());
+        slotLog.flush();
+    }
+
+    private int allocateSlot() throws IOException {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (highWater == chunks.size() * CHUNK_ROWS) {
+            mapChunk();
+        }
+        ensureCapacity(highWater + 1);
+        return highWater++;
+    }
+
+    private void ensureCapacity(int size) {
+        if (size > ids.length) {
+            ids = Arrays.copyOf(ids, Math.max(size, Math.max(64, ids.length * 2)));
+        }
+    }
+
+    private void removeLocked(MemoryNoteId id) {
+        Integer slot = slots.get(id);
+        if (slot == null) {
+            return;
+        }
+        try {
+            log(REMOVE, slot, id);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to remove embedding of " + id, e);
+        }
+        slots.remove(id);
+        ids[slot] = null;
+        pushFreeSlot(slot);
+    }
+
+    private void pushFreeSlot(int slot) {
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, Math.max(64, freeSlots.length * 2));
+        }
+        freeSlots[freeCount++] = slot;
+    }
+}
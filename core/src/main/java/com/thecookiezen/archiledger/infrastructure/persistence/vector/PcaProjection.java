@@ -0,0 +1,176 @@
+package com.thecookiezen.archiledger.infrastructure.persistence.vector;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Linear projection of normalized embeddings onto the leading principal components of their second-moment
+ * matrix. Dot products of projected vectors approximate the cosine similarity of the originals, so the
+ * projection can rank candidates with a fraction of the arithmetic before they are re-scored at full size.
+ * <p>
+ * The basis is stored row-major, one orthonormal row of {@code dimension} floats per component.
+ */
+public final class PcaProjection {
+
+    private static final int SUBSPACE_ITERATIONS = 30;
+
+    private final float[] basis;
+    private final int components;
+    private final int dimension;
+    private final double explainedVariance;
+
+    private PcaProjection(float[] basis, int dimension, double explainedVariance) {
+        this.basis = basis;
+        this.components = basis.length / dimension;
+        this.dimension = dimension;
+        this.explainedVariance = explainedVariance;
+    }
+
+    /**
+     * Fits the leading {@code components} principal directions of {@code vectors} by subspace iteration on
+     * their uncentered covariance. The vectors are expected to be normalized.
+     */
+    public static PcaProjection fit(List<float[]> vectors, int components) {
+        if (vectors.isEmpty()) {
+            throw new IllegalArgumentException("At least one vector is required to fit a projection");
+        }
+        int dim = vectors.get(0).length;
+        int c = Math.min(components, dim);
+        if (c <= 0) {
+            throw new IllegalArgumentException("Number of components must be positive");
+        }
+
+        double[] covariance = new double[dim * dim];
+        for (float[] vector : vectors) {
+            for (int i = 0; i < dim; i++) {
+                double vi = vector[i];
+                int row = i * dim;
+                for (int j = i; j < dim; j++) {
+                    covariance[row + j] += vi * vector[j];
+                }
+            }
+        }
+        double trace = 0.0;
+        for (int i = 0; i < dim; i++) {
+            trace += covariance[i * dim + i];
+            for (int j = i + 1; j < dim; j++) {
+                covariance[j * dim + i] = covariance[i * dim + j];
+            }
+        }
+
+        Random random = new Random(dim * 31L + c);
+        double[][] q = new double[c][dim];
+        for (double[] column : q) {
+            for (int i = 0; i < dim; i++) {
+                column[i] = random.nextGaussian();
+            }
+        }
+        orthonormalize(q, random);
+        for (int iteration = 0; iteration < SUBSPACE_ITERATIONS; iteration++) {
+            double[][] z = new double[c][];
+            for (int col = 0; col < c; col++) {
+                z[col] = multiply(covariance, q[col], dim);
+            }
+            q = z;
+            orthonormalize(q, random);
+        }
+
+        double captured = 0.0;
+        float[] basis = new float[c * dim];
+        for (int col = 0; col < c; col++) {
+            double[] cq = multiply(covariance, q[col], dim);
+            for (int i = 0; i < dim; i++) {
+                captured += q[col][i] * cq[i];
+                basis[col * dim + i] = (float) q[col][i];
+            }
+        }
+        return new PcaProjection(basis, dim, trace == 0.0 ? 0.0 : captured / trace);
+    }
+
+    public float[] project(float[] vector, VectorOps ops) {
+        float[] reduced = new float[components];
+        project(vector, 0, reduced, 0, ops);
+        return reduced;
+    }
+
+    public void project(float[] source, int sourceOffset, float[] target, int targetOffset, VectorOps ops) {
+        for (int component = 0; component < components; component++) {
+            target[targetOffset + component] = ops.dot(basis, component * dimension, source, sourceOffset, dimension);
+        }
+    }
+
+    /**
+     * Returns a copy of the row-major basis.
+     */
+    float[] basis() {
+        return basis.clone();
+    }
+
+    public int components() {
+        return components;
+    }
+
+    public int dimension() {
+        return dimension;
+    }
+
+    /**
+     * Fraction of the fitted vectors' energy kept by the projection.
+     */
+    public double explainedVariance() {
+        return explainedVariance;
+    }
+
+    private static double[] multiply(double[] matrix, double[] vector, int dim) {
+        double[] result = new double[dim];
+        for (int i = 0; i < dim; i++) {
+            double sum = 0.0;
+            int row = i * dim;
+            for (int j = 0; j < dim; j++) {
+                sum += matrix[row + j] * vector[j];
+            }
+            result[i] = sum;
+        }
+        return result;
+    }
+
+    /**
+     * Modified Gram-Schmidt; a column that collapses (rank-deficient data) is replaced by a fresh random one.
+     */
+    private static void orthonormalize(double[][] columns, Random random) {
+        int dim = columns[0].length;
+        for (int col = 0; col < columns.length; col++) {
+            double[] column = columns[col];
+            for (int attempt = 0; ; attempt++) {
+                double initialNorm = norm(column);
+                for (int previous = 0; previous < col; previous++) {
+                    double projection = 0.0;
+                    for (int i = 0; i < dim; i++) {
+                        projection += columns[previous][i] * column[i];
+                    }
+                    for (int i = 0; i < dim; i++) {
+                        column[i] -= projection * columns[previous][i];
+                    }
+                }
+                double norm = norm(column);
+                if (norm > 1e-8 * initialNorm || attempt == 3) {
+                    for (int i = 0; i < dim; i++) {
+                        column[i] = norm == 0.0 ? 0.0 : column[i] / norm;
+                    }
+                    break;
+                }
+                for (int i = 0; i < dim; i++) {
+                    column[i] = random.nextGaussian();
+                }
+            }
+        }
+    }
+
+    private static double norm(double[] vector) {
+        double sum = 0.0;
+        for (double value : vector) {
+            sum += value * value;
+        }
+        return Math.sqrt(sum);
+    }
+}
@@ -0,0 +1,348 @@
+package com.thecookiezen.archiledger.infrastructure.persistence.vector;
+
+import com.thecookiezen.archiledger.domain.model.MemoryNoteId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/**
+ * Two-stage brute-force search: every embedding is also stored as its projection onto the leading
+ * {@code components} principal components, the projections are scanned to pick {@code k * rerankFactor}
+ * candidates, and only those are re-scored on the full normalized vectors.
+ * <p>
+ * Until {@code minTrainingSize} embeddings are stored search is exact. The projection is fitted, and refitted
+ * once the collection has grown by {@code retrainGrowth}, on a background thread; the stored rows are then
+ * re-projected under the write lock.
+ */
+public class PcaVectorIndex implements VectorIndex, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(PcaVectorIndex.class);
+
+    public static final int DEFAULT_COMPONENTS = 64;
+    public static final int DEFAULT_RERANK_FACTOR = 10;
+    public static final int DEFAULT_MIN_TRAINING_SIZE = 1024;
+    public static final double DEFAULT_RETRAIN_GROWTH = 2.0;
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int MAX_TRAINING_SAMPLE = 4096;
+
+    private final VectorOps ops;
+    private final int components;
+    private final int rerankFactor;
+    private final int minTrainingSize;
+    private final double retrainGrowth;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<MemoryNoteId, Integer> slots = new HashMap<>();
+    private final AtomicBoolean training = new AtomicBoolean();
+    private final ExecutorService trainer;
+
+    private int dimension = -1;
+    private MemoryNoteId[] ids = new MemoryNoteId[0];
+    private float[] matrix = new float[0];
+    private float[] reduced = new float[0];
+    private int[] freeSlots = new int[0];
+    private int freeCount;
+    private int highWater;
+    private PcaProjection projection;
+    private int trainedSize;
+
+    public PcaVectorIndex() {
+        this(VectorOps.preferred(), DEFAULT_COMPONENTS, DEFAULT_RERANK_FACTOR, DEFAULT_MIN_TRAINING_SIZE,
+                DEFAULT_RETRAIN_GROWTH);
+    }
+
+    public PcaVectorIndex(VectorOps ops, int components, int rerankFactor, int minTrainingSize,
+            double retrainGrowth) {
+        if (components <= 0) {
+            throw new IllegalArgumentException("Number of components must be positive");
+        }
+        if (rerankFactor < 1) {
+            throw new IllegalArgumentException("Rerank factor must be at least 1");
+        }
+        if (minTrainingSize <= 0) {
+            throw new IllegalArgumentException("Minimum training size must be positive");
+        }
+        if (retrainGrowth <= 1.0) {
+            throw new IllegalArgumentException("Retrain growth must be greater than 1");
+        }
+        this.ops = ops;
+        this.components = components;
+        this.rerankFactor = rerankFactor;
+        this.minTrainingSize = minTrainingSize;
+        this.retrainGrowth = retrainGrowth;
+        this.trainer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pca-index-trainer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void add(MemoryNoteId id, float[] embedding) {
+        lock.writeLock().lock();
+        try {
+            if (dimension < 0 && embedding.length > 0) {
+                dimension = embedding.length;
+            }
+            if (embedding.length != dimension) {
+                removeLocked(id);
+                return;
+            }
+            Integer slot = slots.get(id);
+            if (slot == null) {
+                slot = allocateSlot();
+                slots.put(id, slot);
+                ids[slot] = id;
+            }
+            System.arraycopy(VectorOps.normalize(embedding), 0, matrix, slot * dimension, dimension);
+            if (projection != null) {
+                projection.project(matrix, slot * dimension, reduced, slot * projection.components(), ops);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        scheduleTrainingIfDue();
+    }
+
+    @Override
+    public void remove(MemoryNoteId id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<VectorMatch> search(float[] query, int k, double minScore, Predicate<MemoryNoteId> filter) {
+        lock.readLock().lock();
+        try {
+            if (k <= 0 || query.length != dimension || slots.isEmpty()) {
+                return List.of();
+            }
+            int limit = Math.min(k, slots.size());
+            float[] normalizedQuery = VectorOps.normalize(query);
+            TopK best;
+            if (projection == null) {
+                best = scanFull(normalizedQuery, limit, filter);
+            } else {
+                int candidates = (int) Math.min((long) limit * rerankFactor, slots.size());
+                TopK approximate = scanReduced(projection.project(normalizedQuery, ops), candidates, filter);
+                best = new TopK(limit);
+                for (int slot : approximate.drainDescending(new float[approximate.size()])) {
+                    best.offer(ops.dot(normalizedQuery, 0, matrix, slot * dimension, dimension), slot);
+                }
+            }
+            float[] scores = new float[best.size()];
+            int[] ordered = best.drainDescending(scores);
+            List<VectorMatch> matches = new ArrayList<>(ordered.length);
+            for (int i = 0; i < ordered.length && scores[i] >= minScore; i++) {
+                matches.add(new VectorMatch(ids[ordered[i]], scores[i]));
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public float[] vector(MemoryNoteId id) {
+        lock.readLock().lock();
+        try {
+            Integer slot = slots.get(id);
+            return slot == null ? null : Arrays.copyOfRange(matrix, slot * dimension, (slot + 1) * dimension);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slots.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        trainer.shutdownNow();
+    }
+
+    /**
+     * Fits a new projection synchronously, regardless of the growth threshold, e.g. after a bulk load.
+     */
+    public void train() {
+        if (training.compareAndSet(false, true)) {
+            retrain();
+        }
+    }
+
+    boolean trained() {
+        lock.readLock().lock();
+        try {
+            return projection != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private TopK scanFull(float[] query, int k, Predicate<MemoryNoteId> filter) {
+        TopK topK = new TopK(k);
+        for (int slot = 0; slot < highWater; slot++) {
+            MemoryNoteId id = ids[slot];
+            if (id == null) {
+                continue;
+            }
+            float score = ops.dot(query, 0, matrix, slot * dimension, dimension);
+            if (score > topK.threshold() && filter.test(id)) {
+                topK.offer(score, slot);
+            }
+        }
+        return topK;
+    }
+
+    private TopK scanReduced(float[] reducedQuery, int n, Predicate<MemoryNoteId> filter) {
+        TopK topK = new TopK(n);
+        int width = reducedQuery.length;
+        for (int slot = 0; slot < highWater; slot++) {
+            MemoryNoteId id = ids[slot];
+            if (id == null) {
+                continue;
+            }
+            float score = ops.dot(reducedQuery, 0, reduced, slot * width, width);
+            if (score > topK.threshold() && filter.test(id)) {
+                topK.offer(score, slot);
+            }
+        }
+        return topK;
+    }
+
+    private void scheduleTrainingIfDue() {
+        long threshold;
+        int size;
+        lock.readLock().lock();
+        try {
+            threshold = projection != null ? (long) Math.ceil(trainedSize * retrainGrowth) : minTrainingSize;
+            size = slots.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (size < threshold || !training.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            trainer.execute(this::retrain);
+        } catch (RejectedExecutionException e) {
+            training.set(false);
+        }
+    }
+
+    private void retrain() {
+        try {
+            List<float[]> sample;
+            int fittedDimension;
+            lock.readLock().lock();
+            try {
+                if (slots.isEmpty()) {
+                    return;
+                }
+                fittedDimension = dimension;
+                sample = sampleRows(MAX_TRAINING_SAMPLE);
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            long start = System.nanoTime();
+            PcaProjection fitted = PcaProjection.fit(sample, components);
+            int width = fitted.components();
+            int projectedCount;
+
+            lock.writeLock().lock();
+            try {
+                if (dimension != fittedDimension) {
+                    return;
+                }
+                float[] projected = new float[ids.length * width];
+                IntStream.range(0, highWater)
+                        .parallel()
+                        .filter(slot -> ids[slot] != null)
+                        .forEach(slot -> fitted.project(matrix, slot * dimension, projected, slot * width, ops));
+                reduced = projected;
+                projection = fitted;
+                trainedSize = slots.size();
+                projectedCount = trainedSize;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            logger.info("Fitted {}-component projection over {} of {} embeddings in {} ms, keeping {}% of the variance",
+                    width, sample.size(), projectedCount, (System.nanoTime() - start) / 1_000_000,
+                    Math.round(fitted.explainedVariance() * 100));
+        } catch (RuntimeException e) {
+            logger.warn("PCA index training failed, keeping previous projection", e);
+        } finally {
+            training.set(false);
+        }
+    }
+
+    private List<float[]> sampleRows(int size) {
+        int[] live = IntStream.range(0, highWater).filter(slot -> ids[slot] != null).toArray();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int count = Math.min(size, live.length);
+        for (int i = 0; i < count; i++) {
+            int swap = i + random.nextInt(live.length - i);
+            int slot = live[swap];
+            live[swap] = live[i];
+            live[i] = slot;
+        }
+        List<float[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(Arrays.copyOfRange(matrix, live[i] * dimension, (live[i] + 1) * dimension));
+        }
+        return rows;
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (highWater == ids.length) {
+            int capacity = Math.max(INITIAL_CAPACITY, ids.length * 2);
+            ids = Arrays.copyOf(ids, capacity);
+            matrix = Arrays.copyOf(matrix, Math.multiplyExact(capacity, dimension));
+            if (projection != null) {
+                reduced = Arrays.copyOf(reduced, Math.multiplyExact(capacity, projection.components()));
+            }
+        }
+        return highWater++;
+    }
+
+    private void removeLocked(MemoryNoteId id) {
+        Integer slot = slots.remove(id);
+        if (slot == null) {
+            return;
+        }
+        ids[slot] = null;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, Math.max(INITIAL_CAPACITY, freeSlots.length * 2));
+        }
+        freeSlots[freeCount++] = slot;
+    }
+}
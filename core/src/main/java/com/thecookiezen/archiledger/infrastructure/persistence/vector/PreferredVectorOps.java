@@ -0,0 +1,33 @@
+package com.thecookiezen.archiledger.infrastructure.persistence.vector;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+final class PreferredVectorOps {
+
+    private static final Logger logger = LoggerFactory.getLogger(PreferredVectorOps.class);
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    static final VectorOps INSTANCE = load();
+
+    private PreferredVectorOps() {
+    }
+
+    private static VectorOps load() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            logger.info("Module {} not available, using scalar vector search", VECTOR_MODULE);
+            return VectorOps.scalar();
+        }
+        try {
+            VectorOps ops = (VectorOps) Class.forName(PreferredVectorOps.class.getPackageName() + ".SimdVectorOps")
+                    .getDeclaredConstructor()
+                    .newInstance();
+            logger.info("Using SIMD vector search ({})", VECTOR_MODULE);
+            return ops;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            logger.warn("Failed to initialize SIMD vector search, using scalar fallback", e);
+            return VectorOps.scalar();
+        }
+    }
+}
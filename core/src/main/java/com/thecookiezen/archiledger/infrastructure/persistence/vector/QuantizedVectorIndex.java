@@ -0,0 +1,269 @@
+package com.thecookiezen.archiledger.infrastructure.persistence.vector;
+
+import com.thecookiezen.archiledger.domain.model.MemoryNoteId;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * Brute-force search over quantized embeddings: {@link Quantization#INT8} keeps one signed byte per dimension
+ * plus a per-vector scale (4x smaller than {@code float}), {@link Quantization#BINARY} keeps one sign bit per
+ * dimension (32x smaller). The quantized scan only generates candidates; the best {@code k * rerankFactor}
+ * candidates are re-scored at full precision.
+ * <p>
+ * The full vectors are stored next to the codes, so the index uses more memory than {@link ExactVectorIndex};
+ * what it saves is scan bandwidth, since each query reads only the codes plus the few re-ranked rows.
+ */
+public class QuantizedVectorIndex implements VectorIndex {
+
+    public enum Quantization {
+        INT8(4),
+        BINARY(10);
+
+        private final int defaultRerankFactor;
+
+        Quantization(int defaultRerankFactor) {
+            this.defaultRerankFactor = defaultRerankFactor;
+        }
+
+        /**
+         * Candidates re-ranked per requested result when none is configured; sign bits lose more ordering
+         * information than bytes, so binary codes need a deeper candidate list.
+         */
+        public int defaultRerankFactor() {
+            return defaultRerankFactor;
+        }
+    }
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Quantization quantization;
+    private final VectorOps ops;
+    private final int rerankFactor;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<MemoryNoteId, Integer> slots = new HashMap<>();
+
+    private int dimension = -1;
+    private int words;
+    private MemoryNoteId[] ids = new MemoryNoteId[0];
+    private byte[] codes = new byte[0];
+    private float[] scales = new float[0];
+    private long[] bits = new long[0];
+    private float[] fullVectors = new float[0];
+    private int[] freeSlots = new int[0];
+    private int freeCount;
+    private int highWater;
+
+    public QuantizedVectorIndex(Quantization quantization) {
+        this(quantization, VectorOps.preferred(), quantization.defaultRerankFactor());
+    }
+
+    public QuantizedVectorIndex(Quantization quantization, VectorOps ops, int rerankFactor) {
+        if (rerankFactor < 1) {
+            throw new IllegalArgumentException("Rerank factor must be at least 1");
+        }
+        this.quantization = quantization;
+        this.ops = ops;
+        this.rerankFactor = rerankFactor;
+    }
+
+    @Override
+    public void add(MemoryNoteId id, float[] embedding) {
+        lock.writeLock().lock();
+        try {
+            if (dimension < 0 && embedding.length > 0) {
+                dimension = embedding.length;
+                words = (dimension + Long.SIZE - 1) / Long.SIZE;
+            }
+            if (embedding.length != dimension) {
+                removeLocked(id);
+                return;
+            }
+            Integer slot = slots.get(id);
+            if (slot == null) {
+                slot = allocateSlot();
+                slots.put(id, slot);
+                ids[slot] = id;
+            }
+            float[] normalized = VectorOps.normalize(embedding);
+            if (quantization == Quantization.INT8) {
+                scales[slot] = quantizeInt8(normalized, codes, slot * dimension);
+            } else {
+                quantizeBinary(normalized, bits, slot * words);
+            }
+            System.arraycopy(normalized, 0, fullVectors, slot * dimension, dimension);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(MemoryNoteId id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<VectorMatch> search(float[] query, int k, double minScore, Predicate<MemoryNoteId> filter) {
+        lock.readLock().lock();
+        try {
+            if (k <= 0 || query.length != dimension || slots.isEmpty()) {
+                return List.of();
+            }
+            int limit = Math.min(k, slots.size());
+            float[] normalizedQuery = VectorOps.normalize(query);
+            int candidateCount = (int) Math.min((long) limit * rerankFactor, slots.size());
+            TopK approximate = scan(normalizedQuery, candidateCount, filter);
+            int[] candidates = approximate.drainDescending(new float[approximate.size()]);
+
+            TopK best = new TopK(limit);
+            for (int slot : candidates) {
+                best.offer(ops.dot(normalizedQuery, 0, fullVectors, slot * dimension, dimension), slot);
+            }
+            float[] scores = new float[best.size()];
+            int[] ordered = best.drainDescending(scores);
+            List<VectorMatch> matches = new ArrayList<>(ordered.length);
+            for (int i = 0; i < ordered.length && scores[i] >= minScore; i++) {
+                matches.add(new VectorMatch(ids[ordered[i]], scores[i]));
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public float[] vector(MemoryNoteId id) {
+        lock.readLock().lock();
+        try {
+            Integer slot = slots.get(id);
+            return slot == null ? null : Arrays.copyOfRange(fullVectors, slot * dimension, (slot + 1) * dimension);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slots.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private TopK scan(float[] normalizedQuery, int n, Predicate<MemoryNoteId> filter) {
+        TopK topK = new TopK(n);
+        if (quantization == Quantization.INT8) {
+            byte[] queryCodes = new byte[dimension];
+            float queryScale = quantizeInt8(normalizedQuery, queryCodes, 0);
+            for (int slot = 0; slot < highWater; slot++) {
+                MemoryNoteId id = ids[slot];
+                if (id == null) {
+                    continue;
+                }
+                float score = int8Dot(queryCodes, codes, slot * dimension, dimension) * queryScale * scales[slot];
+                if (score > topK.threshold() && filter.test(id)) {
+                    topK.offer(score, slot);
+                }
+            }
+        } else {
+            long[] queryBits = new long[words];
+            quantizeBinary(normalizedQuery, queryBits, 0);
+            for (int slot = 0; slot < highWater; slot++) {
+                MemoryNoteId id = ids[slot];
+                if (id == null) {
+                    continue;
+                }
+                float score = 1f - 2f * hamming(queryBits, bits, slot * words, words) / dimension;
+                if (score > topK.threshold() && filter.test(id)) {
+                    topK.offer(score, slot);
+                }
+            }
+        }
+        return topK;
+    }
+
+    private static float quantizeInt8(float[] vector, byte[] target, int offset) {
+        float maxAbs = 0f;
+        for (float value : vector) {
+            maxAbs = Math.max(maxAbs, Math.abs(value));
+        }
+        if (maxAbs == 0f) {
+            Arrays.fill(target, offset, offset + vector.length, (byte) 0);
+            return 0f;
+        }
+        float scale = maxAbs / Byte.MAX_VALUE;
+        for (int i = 0; i < vector.length; i++) {
+            target[offset + i] = (byte) Math.round(vector[i] / scale);
+        }
+        return scale;
+    }
+
+    private static void quantizeBinary(float[] vector, long[] target, int offset) {
+        int wordCount = (vector.length + Long.SIZE - 1) / Long.SIZE;
+        Arrays.fill(target, offset, offset + wordCount, 0L);
+        for (int i = 0; i < vector.length; i++) {
+            if (vector[i] > 0f) {
+                target[offset + i / Long.SIZE] |= 1L << (i % Long.SIZE);
+            }
+        }
+    }
+
+    private static int int8Dot(byte[] query, byte[] codes, int offset, int length) {
+        int sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += query[i] * codes[offset + i];
+        }
+        return sum;
+    }
+
+    private static int hamming(long[] query, long[] bits, int offset, int length) {
+        int distance = 0;
+        for (int i = 0; i < length; i++) {
+            distance += Long.bitCount(query[i] ^ bits[offset + i]);
+        }
+        return distance;
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (highWater == ids.length) {
+            int capacity = Math.max(INITIAL_CAPACITY, ids.length * 2);
+            ids = Arrays.copyOf(ids, capacity);
+            if (quantization == Quantization.INT8) {
+                codes = Arrays.copyOf(codes, Math.multiplyExact(capacity, dimension));
+                scales = Arrays.copyOf(scales, capacity);
+            } else {
+                bits = Arrays.copyOf(bits, Math.multiplyExact(capacity, words));
+            }
+            fullVectors = Arrays.copyOf(fullVectors, Math.multiplyExact(capacity, dimension));
+        }
+        return highWater++;
+    }
+
+    private void removeLocked(MemoryNoteId id) {
+        Integer slot = slots.remove(id);
+        if (slot == null) {
+            return;
+        }
+        ids[slot] = null;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, Math.max(INITIAL_CAPACITY, freeSlots.length * 2));
+        }
+        freeSlots[freeCount++] = slot;
+    }
+}
@@ -0,0 +1,18 @@
+package com.thecookiezen.archiledger.infrastructure.persistence.vector;
+
+final class ScalarVectorOps implements VectorOps {
+
+    static final ScalarVectorOps INSTANCE = new ScalarVectorOps();
+
+    private ScalarVectorOps() {
+    }
+
+    @Override
+    public float dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        float sum = 0f;
+        for (int i = 0; i < length; i++) {
+            sum += a[aOffset + i] * b[bOffset + i];
+        }
+        return sum;
+    }
+}
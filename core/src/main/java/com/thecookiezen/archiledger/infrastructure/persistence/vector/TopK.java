@@ -0,0 +1,103 @@
+package com.thecookiezen.archiledger.infrastructure.persistence.vector;
+
+/**
+ * Bounded min-heap of (score, slot) pairs keeping the {@code k} highest scores seen.
+ */
+final class TopK {
+
+    private final int k;
+    private final float[] scores;
+    private final int[] slots;
+    private int size;
+
+    TopK(int k) {
+        this.k = k;
+        this.scores = new float[k];
+        this.slots = new int[k];
+    }
+
+    void offer(float score, int slot) {
+        if (size < k) {
+            scores[size] = score;
+            slots[size] = slot;
+            siftUp(size++);
+        } else if (score > scores[0]) {
+            scores[0] = score;
+            slots[0] = slot;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Lowest score currently retained, or negative infinity while the heap is not yet full.
+     */
+    float threshold() {
+        return size < k ? Float.NEGATIVE_INFINITY : scores[0];
+    }
+
+    void addAll(TopK other) {
+        for (int i = 0; i < other.size; i++) {
+            offer(other.scores[i], other.slots[i]);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Drains the heap, returning slots ordered by descending score; {@code scoresOut} receives the matching scores.
+     */
+    int[] drainDescending(float[] scoresOut) {
+        int count = size;
+        int[] ordered = new int[count];
+        for (int i = count - 1; i >= 0; i--) {
+            scoresOut[i] = scores[0];
+            ordered[i] = slots[0];
+            size--;
+            scores[0] = scores[size];
+            slots[0] = slots[size];
+            siftDown(0);
+        }
+        return ordered;
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (scores[parent] <= scores[index]) {
+                return;
+            }
+            swap(parent, index);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int left = 2 * index + 1;
+            if (left >= size) {
+                return;
+            }
+            int smallest = left;
+            int right = left + 1;
+            if (right < size && scores[right] < scores[left]) {
+                smallest = right;
+            }
+            if (scores[index] <= scores[smallest]) {
+                return;
+            }
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+
+    private void swap(int i, int j) {
+        float score = scores[i];
+        scores[i] = scores[j];
+        scores[j] = score;
+        int slot = slots[i];
+        slots[i] = slots[j];
+        slots[j] = slot;
+    }
+}
@@ -0,0 +1,43 @@
+package com.thecookiezen.archiledger.infrastructure.persistence.vector;
+
+import com.thecookiezen.archiledger.domain.model.MemoryNoteId;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Nearest-neighbour index over note embeddings, scored by cosine similarity.
+ * Implementations must be safe for concurrent use.
+ */
+public interface VectorIndex {
+
+    /**
+     * Adds or replaces the embedding stored for a note.
+     */
+    void add(MemoryNoteId id, float[] embedding);
+
+    void remove(MemoryNoteId id);
+
+    /**
+     * Returns up to {@code k} notes accepted by {@code filter} with a score of at least
+     * {@code minScore}, ordered by descending cosine similarity to {@code query}.
+     */
+    List<VectorMatch> search(float[] query, int k, double minScore, Predicate<MemoryNoteId> filter);
+
+    /**
+     * Returns a copy of the normalized embedding stored for {@code id}, or {@code null} when there is none
+     * or the index does not keep full-precision vectors.
+     */
+    float[] vector(MemoryNoteId id);
+
+    int size();
+
+    /**
+     * Removes the embeddings of notes rejected by {@code keep} and returns how many were removed. Only an index
+     * that outlives the repository's own state, such as {@link MappedVectorIndex}, can hold such embeddings; the
+     * others start empty and need not override this.
+     */
+    default int retain(Predicate<MemoryNoteId> keep) {
+        return 0;
+    }
+}
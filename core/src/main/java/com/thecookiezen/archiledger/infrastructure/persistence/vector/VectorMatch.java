@@ -0,0 +1,6 @@
+package com.thecookiezen.archiledger.infrastructure.persistence.vector;
+
+import com.thecookiezen.archiledger.domain.model.MemoryNoteId;
+
+public record VectorMatch(MemoryNoteId id, double score) {
+}
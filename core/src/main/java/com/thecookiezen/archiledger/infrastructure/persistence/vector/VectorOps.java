@@ -0,0 +1,47 @@
+package com.thecookiezen.archiledger.infrastructure.persistence.vector;
+
+/**
+ * Dense float kernels used by the in-memory vector indexes.
+ */
+public interface VectorOps {
+
+    float dot(float[] a, int aOffset, float[] b, int bOffset, int length);
+
+    default float dot(float[] a, float[] b) {
+        return dot(a, 0, b, 0, a.length);
+    }
+
+    /**
+     * Plain Java loops, always available.
+     */
+    static VectorOps scalar() {
+        return ScalarVectorOps.INSTANCE;
+    }
+
+    /**
+     * The SIMD implementation when the {@code jdk.incubator.vector} module is resolved
+     * (start the JVM with {@code --add-modules jdk.incubator.vector}), the scalar one otherwise.
+     */
+    static VectorOps preferred() {
+        return PreferredVectorOps.INSTANCE;
+    }
+
+    /**
+     * Returns a unit-length copy of {@code vector}, or a zero vector when its norm is zero.
+     */
+    static float[] normalize(float[] vector) {
+        double norm = 0.0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        float[] normalized = new float[vector.length];
+        if (norm == 0.0) {
+            return normalized;
+        }
+        float scale = (float) (1.0 / Math.sqrt(norm));
+        for (int i = 0; i < vector.length; i++) {
+            normalized[i] = vector[i] * scale;
+        }
+        return normalized;
+    }
+}
@@ -1,12 +1,21 @@
 package com.thecookiezen.archiledger.application.service;
 
+import com.thecookiezen.archiledger.domain.model.DirectedLink;
+import com.thecookiezen.archiledger.domain.model.GraphPage;
+import com.thecookiezen.archiledger.domain.model.LinkResult;
 import com.thecookiezen.archiledger.domain.model.MemoryNote;
 import com.thecookiezen.archiledger.domain.model.MemoryNoteId;
+import com.thecookiezen.archiledger.domain.model.Neighborhood;
+import com.thecookiezen.archiledger.domain.model.NoteSkeleton;
+import com.thecookiezen.archiledger.domain.model.ScoredNote;
+import com.thecookiezen.archiledger.domain.model.SearchCriteria;
+import com.thecookiezen.archiledger.domain.model.SearchMode;
 import com.thecookiezen.archiledger.domain.repository.EmbeddingsService;
 import com.thecookiezen.archiledger.domain.repository.MemoryNoteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -14,9 +23,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,9 +39,27 @@ class MemoryNoteServiceImplTest {
     @Mock
     private EmbeddingsService embeddingsService;
 
-    @InjectMocks
+    @Mock
+    private RetrievalCounter retrievalCounter;
+
+    private WriteCoordinator writes;
+
     private MemoryNoteServiceImpl service;
 
+    @BeforeEach
+    void setUp() {
+        lenient().when(repository.inTransaction(any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+        writes = new WriteCoordinator(repository, 128, 0, 64, 1000, 5000);
+        writes.start();
+        service = new MemoryNoteServiceImpl(repository, embeddingsService, retrievalCounter, writes);
+    }
+
+    @AfterEach
+    void tearDown() {
+        writes.close();
+    }
+
     private MemoryNote sampleNote(String id) {
         return new MemoryNote(
                 new MemoryNoteId(id),
@@ -50,38 +79,46 @@ class MemoryNoteServiceImplTest {
         float[] embedding = new float[] { 0.1f, 0.2f, 0.3f };
         MemoryNote noteWithEmbedding = note.withEmbedding(embedding);
         when(embeddingsService.generateEmbeddings(note)).thenReturn(embedding);
-        when(repository.save(noteWithEmbedding)).thenReturn(noteWithEmbedding);
+        when(repository.saveAll(List.of(noteWithEmbedding))).thenReturn(List.of(noteWithEmbedding));
 
         MemoryNote result = service.createNote(note);
 
         assertEquals("note-1", result.id().value());
         verify(embeddingsService).generateEmbeddings(note);
-        verify(repository).save(noteWithEmbedding);
+        verify(repository).saveAll(List.of(noteWithEmbedding));
     }
 
     @Test
     void createNotes_savesMultiple() {
         MemoryNote note1 = sampleNote("note-1");
         MemoryNote note2 = sampleNote("note-2");
-        when(embeddingsService.generateEmbeddings(note1)).thenReturn(new float[] { 0.1f });
-        when(embeddingsService.generateEmbeddings(note2)).thenReturn(new float[] { 0.2f });
-        when(repository.save(any(MemoryNote.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(embeddingsService.generateEmbeddings(List.of(note1, note2)))
+                .thenReturn(List.of(new float[] { 0.1f }, new float[] { 0.2f }));
+        when(repository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
 
         List<MemoryNote> result = service.createNotes(List.of(note1, note2));
 
         assertEquals(2, result.size());
-        verify(repository, times(2)).save(any(MemoryNote.class));
+        assertArrayEquals(new float[] { 0.1f }, result.get(0).embedding());
+        assertArrayEquals(new float[] { 0.2f }, result.get(1).embedding());
+        verify(embeddingsService).generateEmbeddings(List.of(note1, note2));
+        verify(embeddingsService, never()).generateEmbeddings(any(MemoryNote.class));
+        verify(repository).saveAll(anyList());
+        verify(repository, never()).save(any(MemoryNote.class));
     }
 
     @Test
-    void getNote_incrementsRetrievalCount() {
-        MemoryNote note = sampleNote("note-1");
+    void getNote_buffersRetrievalAndAddsPendingCount() {
+        MemoryNote note = sampleNote("note-1").withRetrievalCount(4);
         when(repository.findById(new MemoryNoteId("note-1"))).thenReturn(Optional.of(note));
+        when(retrievalCounter.increment(new MemoryNoteId("note-1"))).thenReturn(3L);
 
         Optional<MemoryNote> result = service.getNote(new MemoryNoteId("note-1"));
 
         assertTrue(result.isPresent());
-        verify(repository).incrementRetrievalCount(new MemoryNoteId("note-1"));
+        assertEquals(7, result.get().retrievalCount());
+        verify(retrievalCounter).increment(new MemoryNoteId("note-1"));
+        verify(repository, never()).addRetrievalCounts(any());
     }
 
     @Test
@@ -91,17 +128,60 @@ class MemoryNoteServiceImplTest {
         Optional<MemoryNote> result = service.getNote(new MemoryNoteId("missing"));
 
         assertTrue(result.isEmpty());
-        verify(repository, never()).incrementRetrievalCount(any());
+        verifyNoInteractions(retrievalCounter);
     }
 
     @Test
-    void addLink_delegatesToRepository() {
+    void addLink_writesThroughBatchedAddLinks() {
         MemoryNoteId from = new MemoryNoteId("A");
         MemoryNoteId to = new MemoryNoteId("B");
+        DirectedLink link = new DirectedLink(from, to, "DEPENDS_ON");
+        when(repository.addLinks(List.of(link))).thenReturn(List.of(new LinkResult(link, LinkResult.Status.LINKED)));
 
         service.addLink(from, to, "DEPENDS_ON");
 
-        verify(repository).addLink(from, to, "DEPENDS_ON");
+        verify(repository).addLinks(List.of(link));
+    }
+
+    @Test
+    void addLink_whenTargetMissing_throws() {
+        DirectedLink link = new DirectedLink(new MemoryNoteId("A"), new MemoryNoteId("missing"), "DEPENDS_ON");
+        when(repository.addLinks(List.of(link)))
+                .thenReturn(List.of(new LinkResult(link, LinkResult.Status.TARGET_NOT_FOUND)));
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> service.addLink(link.from(), link.to(), "DEPENDS_ON"));
+
+        assertEquals("Target note not found: missing", error.getMessage());
+    }
+
+    @Test
+    void addLinks_delegatesToRepositoryInOneCall() {
+        List<DirectedLink> links = List.of(
+                new DirectedLink("A", "B", "DEPENDS_ON"),
+                new DirectedLink("A", "C", "RELATED_TO"));
+        List<LinkResult> expected = List.of(
+                new LinkResult(links.get(0), LinkResult.Status.LINKED),
+                new LinkResult(links.get(1), LinkResult.Status.TARGET_NOT_FOUND));
+        when(repository.addLinks(links)).thenReturn(expected);
+
+        List<LinkResult> results = service.addLinks(links);
+
+        assertEquals(expected, results);
+        verify(repository).addLinks(links);
+        verify(repository, never()).addLink(any(), any(), any());
+    }
+
+    @Test
+    void deleteNotes_commitsTogetherAndForgetsPendingRetrievals() {
+        List<MemoryNoteId> ids = List.of(new MemoryNoteId("A"), new MemoryNoteId("B"));
+
+        service.deleteNotes(ids);
+
+        verify(repository).delete(ids.get(0));
+        verify(repository).delete(ids.get(1));
+        verify(retrievalCounter).forget(ids.get(0));
+        verify(retrievalCounter).forget(ids.get(1));
     }
 
     @Test
@@ -157,20 +237,104 @@ class MemoryNoteServiceImplTest {
         verify(repository).getGraph();
     }
 
+    @Test
+    void readGraphPage_returnsCursorThatContinuesAfterLastNote() {
+        when(repository.findPage(null, 3)).thenReturn(List.of(sampleNote("a"), sampleNote("b"), sampleNote("c")));
+        when(repository.findPage(new MemoryNoteId("b"), 3)).thenReturn(List.of(sampleNote("c")));
+
+        GraphPage<MemoryNote> first = service.readGraphPage(null, 2);
+        GraphPage<MemoryNote> second = service.readGraphPage(first.nextCursor(), 2);
+
+        assertEquals(List.of("a", "b"), first.notes().stream().map(note -> note.id().value()).toList());
+        assertNotNull(first.nextCursor());
+        assertEquals(List.of("c"), second.notes().stream().map(note -> note.id().value()).toList());
+        assertNull(second.nextCursor());
+    }
+
+    @Test
+    void readGraphSkeleton_delegatesToSkeletonPage() {
+        NoteSkeleton skeleton = new NoteSkeleton(new MemoryNoteId("a"), List.of("tag1"), List.of());
+        when(repository.findSkeletonPage(null, 11)).thenReturn(List.of(skeleton));
+
+        GraphPage<NoteSkeleton> page = service.readGraphSkeleton(null, 10);
+
+        assertEquals(List.of(skeleton), page.notes());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void readGraphPage_rejectsInvalidPageSizeAndCursor() {
+        assertThrows(IllegalArgumentException.class, () -> service.readGraphPage(null, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.readGraphPage(null, GraphPage.MAX_PAGE_SIZE + 1));
+        assertThrows(IllegalArgumentException.class, () -> service.readGraphPage("not base64!", 10));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void getNeighborhood_delegatesWithAllRelationTypesByDefault() {
+        Neighborhood neighborhood = new Neighborhood(List.of(), List.of());
+        when(repository.findNeighborhood(new MemoryNoteId("a"), 2, List.of(), 50)).thenReturn(neighborhood);
+
+        assertSame(neighborhood, service.getNeighborhood(new MemoryNoteId("a"), 2, null, 50));
+    }
+
+    @Test
+    void getNeighborhood_rejectsOutOfRangeLimits() {
+        MemoryNoteId id = new MemoryNoteId("a");
+        assertThrows(IllegalArgumentException.class, () -> service.getNeighborhood(id, 0, List.of(), 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getNeighborhood(id, Neighborhood.MAX_DEPTH + 1, List.of(), 10));
+        assertThrows(IllegalArgumentException.class, () -> service.getNeighborhood(id, 1, List.of(), 0));
+        verifyNoInteractions(repository);
+    }
+
     @Test
     void similaritySearch_embedsQueryAndDelegatesToRepository() {
         float[] queryEmbedding = new float[] { 0.1f, 0.2f, 0.3f };
-        MemoryNoteId matchId = new MemoryNoteId("match-1");
         MemoryNote matchedNote = sampleNote("match-1");
         when(embeddingsService.embed("architecture")).thenReturn(queryEmbedding);
-        when(repository.findSimilar(queryEmbedding, 10)).thenReturn(List.of(matchId));
-        when(repository.findById(matchId)).thenReturn(Optional.of(matchedNote));
+        SearchCriteria criteria = SearchCriteria.topK(10);
+        when(repository.findSimilar(queryEmbedding, criteria)).thenReturn(List.of(new ScoredNote(matchedNote, 0.87)));
 
-        List<String> results = service.similaritySearch("architecture");
+        List<ScoredNote> results = service.similaritySearch("architecture", criteria);
 
         assertEquals(1, results.size());
-        assertEquals("Sample content for match-1", results.get(0));
+        assertEquals("match-1", results.get(0).note().id().value());
+        assertEquals("Sample content for match-1", results.get(0).note().content());
+        assertEquals(0.87, results.get(0).score());
         verify(embeddingsService).embed("architecture");
-        verify(repository).findSimilar(queryEmbedding, 10);
+        verify(repository).findSimilar(queryEmbedding, criteria);
+        verify(repository, never()).findById(any());
+    }
+
+    @Test
+    void search_lexicalDelegatesToTextSearchWithoutEmbedding() {
+        SearchCriteria criteria = SearchCriteria.topK(5);
+        when(repository.findByText("ABC-123", criteria))
+                .thenReturn(List.of(new ScoredNote(sampleNote("ticket"), 7.5)));
+
+        List<ScoredNote> results = service.search("ABC-123", criteria, SearchMode.LEXICAL);
+
+        assertEquals(List.of("ticket"), results.stream().map(hit -> hit.note().id().value()).toList());
+        verifyNoInteractions(embeddingsService);
+    }
+
+    @Test
+    void search_hybridFusesBothRankingsByRank() {
+        float[] queryEmbedding = new float[] { 0.1f, 0.2f };
+        when(embeddingsService.embed("ABC-123 timeouts")).thenReturn(queryEmbedding);
+        SearchCriteria candidates = SearchCriteria.topK(2 * MemoryNoteServiceImpl.HYBRID_CANDIDATE_FACTOR);
+        when(repository.findSimilar(queryEmbedding, candidates)).thenReturn(List.of(
+                new ScoredNote(sampleNote("semantic"), 0.9),
+                new ScoredNote(sampleNote("both"), 0.8)));
+        when(repository.findByText("ABC-123 timeouts", candidates)).thenReturn(List.of(
+                new ScoredNote(sampleNote("both"), 12.0),
+                new ScoredNote(sampleNote("lexical"), 3.0)));
+
+        List<ScoredNote> results = service.search("ABC-123 timeouts", SearchCriteria.topK(2), SearchMode.HYBRID);
+
+        assertEquals(List.of("both", "semantic"), results.stream().map(hit -> hit.note().id().value()).toList());
+        assertEquals(1.0 / 62 + 1.0 / 61, results.get(0).score(), 1e-12);
     }
 }
@@ -0,0 +1,140 @@
+package com.thecookiezen.archiledger.application.service;
+
+import com.thecookiezen.archiledger.domain.model.MemoryNoteId;
+import com.thecookiezen.archiledger.domain.repository.MemoryNoteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RetrievalCounterTest {
+
+    private final MemoryNoteRepository repository = mock(MemoryNoteRepository.class);
+    private final WriteCoordinator writes = new WriteCoordinator(repository, 128, 0, 64, 1000, 5000);
+    private final RetrievalCounter counter = new RetrievalCounter(writes, 0);
+
+    @BeforeEach
+    void setUp() {
+        when(repository.inTransaction(any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+        writes.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        writes.close();
+    }
+
+    @Test
+    void flush_writesAccumulatedDeltasInOneBatchAndResets() {
+        MemoryNoteId a = new MemoryNoteId("a");
+        MemoryNoteId b = new MemoryNoteId("b");
+        counter.increment(a);
+        counter.increment(a);
+        assertEquals(3, counter.increment(a));
+        counter.increment(b);
+
+        counter.flush();
+        counter.flush();
+
+        verify(repository, times(1)).addRetrievalCounts(Map.of(a, 3L, b, 1L));
+        assertEquals(0, counter.pending(a));
+    }
+
+    @Test
+    void flush_restoresDeltasWhenRepositoryFails() {
+        MemoryNoteId a = new MemoryNoteId("a");
+        counter.increment(a);
+        doThrow(new IllegalStateException("down")).doNothing().when(repository).addRetrievalCounts(any());
+
+        assertThrows(IllegalStateException.class, counter::flush);
+        assertEquals(1, counter.pending(a));
+        counter.flush();
+
+        verify(repository, times(2)).addRetrievalCounts(Map.of(a, 1L));
+    }
+
+    @Test
+    void flush_concurrentWithIncrements_losesNothing() throws InterruptedException {
+        MemoryNoteId a = new MemoryNoteId("a");
+        AtomicLong flushed = new AtomicLong();
+        doAnswer(invocation -> {
+            Map<MemoryNoteId, Long> deltas = invocation.getArgument(0);
+            flushed.addAndGet(deltas.get(a));
+            return null;
+        }).when(repository).addRetrievalCounts(any());
+
+        ExecutorService readers = Executors.newFixedThreadPool(4);
+        IntStream.range(0, 40_000).forEach(i -> readers.execute(() -> counter.increment(a)));
+        readers.shutdown();
+        while (!readers.awaitTermination(1, TimeUnit.MILLISECONDS)) {
+            counter.flush();
+        }
+        counter.close();
+
+        assertEquals(40_000, flushed.get());
+    }
+
+    @Test
+    void flush_removesAddersOfNotesWithoutNewRetrievals() {
+        MemoryNoteId a = new MemoryNoteId("a");
+        MemoryNoteId b = new MemoryNoteId("b");
+        counter.increment(a);
+        counter.increment(b);
+        counter.flush();
+        counter.increment(a);
+
+        counter.flush();
+
+        assertEquals(1, counter.trackedNotes());
+        counter.flush();
+        assertEquals(0, counter.trackedNotes());
+        verify(repository, times(1)).addRetrievalCounts(Map.of(a, 1L));
+    }
+
+    @Test
+    void flush_concurrentWithIncrementsOfManyNotes_losesNothing() throws InterruptedException {
+        AtomicLong flushed = new AtomicLong();
+        doAnswer(invocation -> {
+            Map<MemoryNoteId, Long> deltas = invocation.getArgument(0);
+            deltas.values().forEach(flushed::addAndGet);
+            return null;
+        }).when(repository).addRetrievalCounts(any());
+
+        ExecutorService readers = Executors.newFixedThreadPool(4);
+        IntStream.range(0, 40_000)
+                .forEach(i -> readers.execute(() -> counter.increment(new MemoryNoteId("note-" + i % 64))));
+        readers.shutdown();
+        while (!readers.awaitTermination(1, TimeUnit.MILLISECONDS)) {
+            counter.flush();
+        }
+        counter.close();
+        counter.flush();
+
+        assertEquals(40_000, flushed.get());
+        assertEquals(0, counter.trackedNotes());
+    }
+
+    @Test
+    void forget_dropsPendingRetrievalsOfDeletedNote() {
+        MemoryNoteId a = new MemoryNoteId("a");
+        counter.increment(a);
+
+        counter.forget(a);
+        counter.flush();
+
+        assertEquals(0, counter.pending(a));
+        verifyNoInteractions(repository);
+    }
+}
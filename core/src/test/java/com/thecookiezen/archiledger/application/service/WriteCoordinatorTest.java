@@ -0,0 +1,220 @@
+package com.thecookiezen.archiledger.application.service;
+
+import com.thecookiezen.archiledger.domain.model.DirectedLink;
+import com.thecookiezen.archiledger.domain.model.LinkResult;
+import com.thecookiezen.archiledger.domain.model.MemoryNote;
+import com.thecookiezen.archiledger.domain.model.MemoryNoteId;
+import com.thecookiezen.archiledger.domain.model.MemoryNoteId;
+import com.thecookiezen.archiledger.domain.repository.MemoryNoteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class WriteCoordinatorTest {
+
+    private final MemoryNoteRepository repository = mock(MemoryNoteRepository.class);
+    private final CountDownLatch writerBlocked = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private WriteCoordinator writes;
+
+    @BeforeEach
+    void setUp() {
+        when(repository.inTransaction(any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<MemoryNote> notes = invocation.getArgument(0);
+            if (notes.contains(note("blocker"))) {
+                writerBlocked.countDown();
+                release.await();
+            }
+            if (notes.contains(note("bad"))) {
+                throw new IllegalArgumentException("bad note");
+            }
+            if (notes.contains(note("fatal"))) {
+                throw new Error("writer crashed");
+            }
+            return notes;
+        });
+        when(repository.addLinks(anyList())).thenAnswer(invocation -> invocation.<List<DirectedLink>>getArgument(0)
+                .stream()
+                .map(link -> new LinkResult(link, LinkResult.Status.LINKED))
+                .toList());
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        writes.close();
+    }
+
+    @Test
+    void queuedWrites_commitAsOneGroupWithMergedCalls() throws InterruptedException {
+        open(16);
+        blockWriter();
+
+        CompletableFuture<List<MemoryNote>> first = writes.saveAll(List.of(note("a"), note("b")));
+        CompletableFuture<List<LinkResult>> links = writes.addLinks(List.of(link("a", "b")));
+        CompletableFuture<List<MemoryNote>> second = writes.saveAll(List.of(note("c")));
+        CompletableFuture<List<MemoryNote>> third = writes.saveAll(List.of(note("d")));
+        assertFalse(first.isDone());
+        release.countDown();
+
+        assertEquals(List.of(note("a"), note("b")), writes.await(first));
+        assertEquals(List.of(new LinkResult(link("a", "b"), LinkResult.Status.LINKED)), writes.await(links));
+        assertEquals(List.of(note("c")), writes.await(second));
+        assertEquals(List.of(note("d")), writes.await(third));
+        InOrder order = inOrder(repository);
+        order.verify(repository).saveAll(List.of(note("a"), note("b")));
+        order.verify(repository).addLinks(List.of(link("a", "b")));
+        order.verify(repository).saveAll(List.of(note("c"), note("d")));
+        verify(repository, times(2)).inTransaction(any());
+    }
+
+    @Test
+    void deletesAndLinkRemovals_commitInQueueOrderWithTheGroup() throws InterruptedException {
+        open(16);
+        blockWriter();
+
+        CompletableFuture<List<MemoryNote>> save = writes.saveAll(List.of(note("a")));
+        CompletableFuture<Void> delete = writes.delete(new MemoryNoteId("a"));
+        CompletableFuture<Void> unlink = writes.removeLink(link("b", "c"));
+        CompletableFuture<List<MemoryNote>> resave = writes.saveAll(List.of(note("a")));
+        release.countDown();
+
+        writes.await(save);
+        writes.await(delete);
+        writes.await(unlink);
+        writes.await(resave);
+        InOrder order = inOrder(repository);
+        order.verify(repository).saveAll(List.of(note("a")));
+        order.verify(repository).delete(new MemoryNoteId("a"));
+        order.verify(repository).removeLink(new MemoryNoteId("b"), new MemoryNoteId("c"), "RELATES_TO");
+        order.verify(repository).saveAll(List.of(note("a")));
+        verify(repository, times(2)).inTransaction(any());
+    }
+
+    @Test
+    void retrievalCounts_commitAloneBetweenTheGroupsAroundThem() throws InterruptedException {
+        open(16);
+        blockWriter();
+
+        CompletableFuture<List<MemoryNote>> save = writes.saveAll(List.of(note("a")));
+        CompletableFuture<Void> counts = writes.addRetrievalCounts(Map.of(new MemoryNoteId("a"), 2L));
+        CompletableFuture<List<MemoryNote>> resave = writes.saveAll(List.of(note("a")));
+        release.countDown();
+
+        writes.await(save);
+        writes.await(counts);
+        writes.await(resave);
+        InOrder order = inOrder(repository);
+        order.verify(repository).saveAll(List.of(note("a")));
+        order.verify(repository).addRetrievalCounts(Map.of(new MemoryNoteId("a"), 2L));
+        order.verify(repository).saveAll(List.of(note("a")));
+        verify(repository, times(4)).inTransaction(any());
+    }
+
+    @Test
+    void failedRetrievalCounts_failTheFlushWithoutBeingRetried() {
+        open(16);
+        doThrow(new IllegalStateException("down")).when(repository).addRetrievalCounts(any());
+
+        CompletableFuture<Void> counts = writes.addRetrievalCounts(Map.of(new MemoryNoteId("a"), 2L));
+
+        assertThrows(IllegalStateException.class, () -> writes.await(counts));
+        verify(repository, times(1)).addRetrievalCounts(any());
+    }
+
+    @Test
+    void failedGroup_failsOnlyTheBadWrite() throws InterruptedException {
+        open(16);
+        blockWriter();
+
+        CompletableFuture<List<MemoryNote>> good = writes.saveAll(List.of(note("a")));
+        CompletableFuture<List<MemoryNote>> bad = writes.saveAll(List.of(note("bad")));
+        CompletableFuture<List<MemoryNote>> alsoGood = writes.saveAll(List.of(note("b")));
+        release.countDown();
+
+        assertEquals(List.of(note("a")), writes.await(good));
+        assertEquals(List.of(note("b")), writes.await(alsoGood));
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> writes.await(bad));
+        assertEquals("bad note", error.getMessage());
+    }
+
+    @Test
+    void fullQueue_rejectsWritesAfterTimeout() throws InterruptedException {
+        open(1);
+        blockWriter();
+        CompletableFuture<List<MemoryNote>> queued = writes.saveAll(List.of(note("a")));
+
+        assertThrows(IllegalStateException.class, () -> writes.saveAll(List.of(note("b"))));
+
+        release.countDown();
+        assertEquals(List.of(note("a")), writes.await(queued));
+    }
+
+    @Test
+    void writerExit_failsQueuedAndNewWritesInsteadOfHanging() throws InterruptedException {
+        open(16);
+        blockWriter();
+        CompletableFuture<List<MemoryNote>> fatal = writes.saveAll(List.of(note("fatal")));
+        CompletableFuture<Void> queued = writes.delete(new MemoryNoteId("a"));
+        release.countDown();
+
+        assertThrows(IllegalStateException.class, () -> writes.await(fatal));
+        assertThrows(IllegalStateException.class, () -> writes.await(queued));
+        assertThrows(IllegalStateException.class, () -> writes.saveAll(List.of(note("b"))));
+    }
+
+    @Test
+    void await_failsWhenTheWriteDoesNotCommitInTime() {
+        open(16);
+
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> new WriteCoordinator(repository, 128, 0, 16, 50, 10).await(new CompletableFuture<>()));
+
+        assertTrue(error.getMessage().contains("10 ms"));
+    }
+
+    @Test
+    void close_rejectsNewWrites() {
+        open(16);
+        writes.close();
+
+        assertThrows(IllegalStateException.class, () -> writes.addLinks(List.of(link("a", "b"))));
+    }
+
+    private void open(int queueCapacity) {
+        writes = new WriteCoordinator(repository, 128, 0, queueCapacity, 50, 5000);
+        writes.start();
+    }
+
+    /**
+     * Parks the writer inside a commit so that the following writes pile up in the queue.
+     */
+    private void blockWriter() throws InterruptedException {
+        writes.saveAll(List.of(note("blocker")));
+        writerBlocked.await();
+    }
+
+    private static MemoryNote note(String id) {
+        return new MemoryNote(new MemoryNoteId(id), "Content for " + id, List.of(), null, List.of(), List.of(),
+                "2026-03-04T16:00:00Z", 0, null);
+    }
+
+    private static DirectedLink link(String from, String to) {
+        return new DirectedLink(new MemoryNoteId(from), new MemoryNoteId(to), "RELATES_TO");
+    }
+}
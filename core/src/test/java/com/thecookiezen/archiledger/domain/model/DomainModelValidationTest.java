@@ -56,6 +56,25 @@ class DomainModelValidationTest {
         }
     }
 
+    @Nested
+    @DisplayName("DirectedLink Validation")
+    class DirectedLinkTest {
+        @Test
+        void nameShouldBeDeterministic() {
+            DirectedLink link = new DirectedLink("A", "B", "DEPENDS_ON");
+            assertEquals("A-DEPENDS_ON-B", link.name());
+            assertEquals(link.name(), new DirectedLink("A", "B", "DEPENDS_ON").name());
+        }
+
+        @ParameterizedTest
+        @NullAndEmptySource
+        @ValueSource(strings = { " ", "\t" })
+        void shouldThrowExceptionForInvalidRelationType(String invalidValue) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> new DirectedLink("A", "B", invalidValue));
+        }
+    }
+
     @Nested
     @DisplayName("MemoryNote Validation")
     class MemoryNoteTest {
@@ -175,4 +194,43 @@ class DomainModelValidationTest {
             assertEquals("note-2", updated.links().get(0).target().value());
         }
     }
+
+    @Nested
+    @DisplayName("SearchCriteria Validation")
+    class SearchCriteriaTest {
+        @ParameterizedTest
+        @ValueSource(ints = { 0, -1, SearchCriteria.MAX_LIMIT + 1, Integer.MAX_VALUE })
+        void shouldThrowExceptionForLimitOutOfRange(int limit) {
+            assertThrows(IllegalArgumentException.class, () -> SearchCriteria.topK(limit));
+        }
+
+        @ParameterizedTest
+        @ValueSource(doubles = { -1.5, 1.01 })
+        void shouldThrowExceptionForMinScoreOutOfRange(double minScore) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> new SearchCriteria(10, minScore, List.of(), null, null));
+        }
+
+        @Test
+        void shouldTreatBlankTimeBoundsAsAbsent() {
+            SearchCriteria criteria = new SearchCriteria(10, 0.0, null, " ", "");
+
+            assertNull(criteria.createdAfter());
+            assertNull(criteria.createdBefore());
+            assertTrue(criteria.tags().isEmpty());
+            assertFalse(criteria.hasFilters());
+        }
+
+        @Test
+        void matchesShouldApplyTagAndTimeFilters() {
+            MemoryNote note = new MemoryNote(
+                    new MemoryNoteId("note-1"), "content", List.of(), null, List.of("design", "backend"), List.of(),
+                    "2026-03-04T16:00:00Z", 0, null);
+
+            assertTrue(new SearchCriteria(10, 0.0, List.of("backend", "frontend"), "2026-03-04", null).matches(note));
+            assertFalse(new SearchCriteria(10, 0.0, List.of("frontend"), null, null).matches(note));
+            assertFalse(new SearchCriteria(10, 0.0, List.of(), "2026-03-05", null).matches(note));
+            assertFalse(new SearchCriteria(10, 0.0, List.of(), null, "2026-03-04T16:00:00Z").matches(note));
+        }
+    }
 }
@@ -0,0 +1,63 @@
+package com.thecookiezen.archiledger.infrastructure.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadTest {
+
+    @Test
+    void guard_capsConcurrentCallsAcrossVirtualThreads() throws InterruptedException {
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        Bulkhead bulkhead = new Bulkhead("test", 3);
+        IntUnaryOperator guarded = bulkhead.guard(IntUnaryOperator.class, value -> {
+            peak.accumulateAndGet(inside.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            inside.decrementAndGet();
+            return value;
+        });
+
+        try (ExecutorService sessions = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 500; i++) {
+                int value = i;
+                sessions.execute(() -> guarded.applyAsInt(value));
+            }
+        }
+
+        assertEquals(3, peak.get());
+        assertEquals(3, bulkhead.available());
+    }
+
+    @Test
+    void guard_nestedCallsOnSameThreadReuseThePermit() {
+        Bulkhead bulkhead = new Bulkhead("test", 1);
+        IntUnaryOperator[] self = new IntUnaryOperator[1];
+        self[0] = bulkhead.guard(IntUnaryOperator.class, value -> value == 0 ? 0 : self[0].applyAsInt(value - 1));
+
+        assertEquals(0, self[0].applyAsInt(5));
+        assertEquals(1, bulkhead.available());
+    }
+
+    @Test
+    void guard_rethrowsTargetExceptionAndReleasesPermit() {
+        Bulkhead bulkhead = new Bulkhead("test", 1);
+        IntUnaryOperator guarded = bulkhead.guard(IntUnaryOperator.class, value -> {
+            throw new IllegalArgumentException("bad value " + value);
+        });
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () -> guarded.applyAsInt(7));
+
+        assertEquals("bad value 7", error.getMessage());
+        assertEquals(1, bulkhead.available());
+    }
+}
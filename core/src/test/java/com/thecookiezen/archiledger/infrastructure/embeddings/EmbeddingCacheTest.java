@@ -0,0 +1,79 @@
+package com.thecookiezen.archiledger.infrastructure.embeddings;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmbeddingCacheTest {
+
+    @Test
+    void get_countsHitsAndMisses() {
+        EmbeddingCache cache = new EmbeddingCache(10, true, false, null);
+        cache.put("domain events", new float[] { 1f, 2f });
+
+        assertNull(cache.get("aggregates"));
+        assertArrayEquals(new float[] { 1f, 2f }, cache.get("Domain   Events"));
+        assertEquals(1, cache.hits());
+        assertEquals(1, cache.misses());
+    }
+
+    @Test
+    void get_whenCaseSensitive_distinguishesCase() {
+        EmbeddingCache cache = new EmbeddingCache(10, false, false, null);
+        cache.put("Kafka", new float[] { 1f });
+
+        assertNull(cache.get("kafka"));
+        assertNotNull(cache.get(" Kafka "));
+    }
+
+    @Test
+    void put_evictsLeastRecentlyUsedEntry() {
+        EmbeddingCache cache = new EmbeddingCache(2, true, false, null);
+        cache.put("a", new float[] { 1f });
+        cache.put("b", new float[] { 2f });
+        cache.get("a");
+        cache.put("c", new float[] { 3f });
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("c"));
+    }
+
+    @Test
+    void get_returnsDefensiveCopy() {
+        EmbeddingCache cache = new EmbeddingCache(10, true, false, null);
+        cache.put("text", new float[] { 1f });
+
+        cache.get("text")[0] = 42f;
+
+        assertArrayEquals(new float[] { 1f }, cache.get("text"));
+    }
+
+    @Test
+    void persist_andLoad_survivesRestart(@TempDir Path dataDir) {
+        EmbeddingCache cache = new EmbeddingCache(10, true, true, dataDir.toString());
+        cache.put("persistent note", new float[] { 0.25f, 0.75f });
+        cache.persist();
+
+        assertTrue(Files.exists(dataDir.resolve(EmbeddingCache.CACHE_FILE_NAME)));
+
+        EmbeddingCache reloaded = new EmbeddingCache(10, true, true, dataDir.toString());
+        reloaded.load();
+
+        assertArrayEquals(new float[] { 0.25f, 0.75f }, reloaded.get("persistent note"));
+    }
+
+    @Test
+    void cacheDisabled_whenMaxEntriesIsZero() {
+        EmbeddingCache cache = new EmbeddingCache(0, true, false, null);
+        cache.put("text", new float[] { 1f });
+
+        assertNull(cache.get("text"));
+        assertEquals(0, cache.size());
+    }
+}
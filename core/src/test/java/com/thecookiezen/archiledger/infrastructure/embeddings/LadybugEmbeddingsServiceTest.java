@@ -0,0 +1,98 @@
+package com.thecookiezen.archiledger.infrastructure.embeddings;
+
+import com.thecookiezen.archiledger.domain.model.MemoryNote;
+import com.thecookiezen.archiledger.domain.model.MemoryNoteId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LadybugEmbeddingsServiceTest {
+
+    @Mock
+    private EmbeddingModel embeddingModel;
+
+    private LadybugEmbeddingsService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new LadybugEmbeddingsService(embeddingModel, new EmbeddingCache(100, true, false, null));
+    }
+
+    private MemoryNote sampleNote(String id) {
+        return new MemoryNote(
+                new MemoryNoteId(id),
+                "Content for " + id,
+                List.of(),
+                null,
+                List.of(),
+                List.of(),
+                "2026-03-04T16:00:00Z",
+                0,
+                null);
+    }
+
+    @Test
+    void generateEmbeddings_splitsNotesIntoConfiguredBatches() {
+        ReflectionTestUtils.setField(service, "batchSize", 2);
+        List<MemoryNote> notes = IntStream.range(0, 5).mapToObj(i -> sampleNote("note-" + i)).toList();
+        when(embeddingModel.embed(anyList())).thenAnswer(inv -> {
+            List<String> texts = inv.getArgument(0);
+            return texts.stream().map(text -> new float[] { text.length() }).toList();
+        });
+
+        List<float[]> embeddings = service.generateEmbeddings(notes);
+
+        assertEquals(5, embeddings.size());
+        verify(embeddingModel).embed(List.of("Content for note-0", "Content for note-1"));
+        verify(embeddingModel).embed(List.of("Content for note-2", "Content for note-3"));
+        verify(embeddingModel).embed(List.of("Content for note-4"));
+    }
+
+    @Test
+    void generateEmbeddings_embedsOnlyUncachedAndDistinctContents() {
+        when(embeddingModel.embed("Content for note-0")).thenReturn(new float[] { 1f });
+        service.embed("Content for note-0");
+        when(embeddingModel.embed(anyList())).thenAnswer(inv -> {
+            List<String> texts = inv.getArgument(0);
+            return texts.stream().map(text -> new float[] { text.length() }).toList();
+        });
+
+        List<float[]> embeddings = service.generateEmbeddings(
+                List.of(sampleNote("note-0"), sampleNote("note-1"), sampleNote("note-1")));
+
+        assertEquals(3, embeddings.size());
+        assertNotNull(embeddings.get(0));
+        assertArrayEquals(embeddings.get(1), embeddings.get(2));
+        verify(embeddingModel).embed(List.of("Content for note-1"));
+    }
+
+    @Test
+    void embed_reusesCachedEmbeddingForNormalizedText() {
+        when(embeddingModel.embed("Event  sourcing ")).thenReturn(new float[] { 0.5f, 0.5f });
+
+        float[] first = service.embed("Event  sourcing ");
+        float[] second = service.embed("event sourcing");
+
+        assertArrayEquals(first, second);
+        verify(embeddingModel, times(1)).embed(anyString());
+    }
+
+    @Test
+    void generateEmbeddings_whenEmpty_doesNotCallModel() {
+        assertTrue(service.generateEmbeddings(List.of()).isEmpty());
+        verifyNoInteractions(embeddingModel);
+    }
+}
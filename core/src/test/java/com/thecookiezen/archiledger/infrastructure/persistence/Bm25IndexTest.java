@@ -0,0 +1,59 @@
+package com.thecookiezen.archiledger.infrastructure.persistence;
+
+import com.thecookiezen.archiledger.domain.model.MemoryNoteId;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Bm25IndexTest {
+
+    @Test
+    void tokenize_keepsIdentifiersWholeAndSplit() {
+        assertEquals(List.of("fix", "err_conn_reset", "err", "conn", "reset", "in", "abc-123", "abc", "123"),
+                Bm25Index.tokenize("Fix ERR_CONN_RESET in ABC-123."));
+    }
+
+    @Test
+    void search_ranksExactIdentifierAboveSharedParts() {
+        Bm25Index index = new Bm25Index();
+        index.add(new MemoryNoteId("exact"), "Retry on ERR_CONN_RESET from the gateway");
+        index.add(new MemoryNoteId("parts"), "Connection reset errors are logged as ERR_TIMEOUT");
+        index.add(new MemoryNoteId("unrelated"), "Use hexagonal architecture for the core module");
+
+        List<Bm25Index.Match> matches = index.search("ERR_CONN_RESET", 10, id -> true);
+
+        assertEquals("exact", matches.get(0).id().value());
+        assertTrue(matches.stream().noneMatch(match -> match.id().value().equals("unrelated")));
+    }
+
+    @Test
+    void search_prefersRareTermsAndAppliesFilterAndLimit() {
+        Bm25Index index = new Bm25Index();
+        index.add(new MemoryNoteId("a"), "cache invalidation strategy");
+        index.add(new MemoryNoteId("b"), "cache warmup");
+        index.add(new MemoryNoteId("c"), "cache eviction");
+
+        assertEquals(List.of("a"), ids(index.search("cache invalidation", 1, id -> true)));
+        assertEquals(List.of("b", "c"), ids(index.search("cache invalidation", 10,
+                id -> !id.value().equals("a"))).stream().sorted().toList());
+    }
+
+    @Test
+    void addAndRemove_replaceIndexedText() {
+        Bm25Index index = new Bm25Index();
+        index.add(new MemoryNoteId("a"), "kafka consumer lag");
+        index.add(new MemoryNoteId("a"), "postgres vacuum");
+        index.add(new MemoryNoteId("b"), "postgres replication");
+        index.remove(new MemoryNoteId("b"));
+
+        assertTrue(index.search("kafka", 10, id -> true).isEmpty());
+        assertEquals(List.of("a"), ids(index.search("postgres", 10, id -> true)));
+        assertEquals(1, index.size());
+    }
+
+    private static List<String> ids(List<Bm25Index.Match> matches) {
+        return matches.stream().map(match -> match.id().value()).toList();
+    }
+}
@@ -1,15 +1,28 @@
 package com.thecookiezen.archiledger.infrastructure.persistence;
 
+import com.thecookiezen.archiledger.domain.model.DirectedLink;
+import com.thecookiezen.archiledger.domain.model.LinkResult;
 import com.thecookiezen.archiledger.domain.model.MemoryNote;
 import com.thecookiezen.archiledger.domain.model.MemoryNoteId;
+import com.thecookiezen.archiledger.domain.model.Neighborhood;
+import com.thecookiezen.archiledger.domain.model.NeighborhoodNote;
 import com.thecookiezen.archiledger.domain.model.NoteLink;
+import com.thecookiezen.archiledger.domain.model.NoteSkeleton;
+import com.thecookiezen.archiledger.domain.model.ScoredNote;
+import com.thecookiezen.archiledger.domain.model.SearchCriteria;
+import com.thecookiezen.archiledger.infrastructure.persistence.vector.ExactVectorIndex;
+import com.thecookiezen.archiledger.infrastructure.persistence.vector.MappedVectorIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -45,6 +58,17 @@ class InMemoryMemoryNoteRepositoryTest {
         assertEquals("note-1", notes.get(0).id().value());
     }
 
+    @Test
+    void saveAll_savesEveryNote() {
+        List<MemoryNote> saved = repository.saveAll(List.of(
+                sampleNote("note-1", List.of("a")),
+                sampleNote("note-2", List.of("b"))));
+
+        assertEquals(2, saved.size());
+        assertEquals(2, repository.findAll().size());
+        assertTrue(repository.findById(new MemoryNoteId("note-2")).isPresent());
+    }
+
     @Test
     void findById_whenExists_returnsNote() {
         repository.save(sampleNote("note-1", List.of("architecture")));
@@ -71,6 +95,21 @@ class InMemoryMemoryNoteRepositoryTest {
         assertTrue(repository.findAll().isEmpty());
     }
 
+    @Test
+    void deleteNote_removesIncomingAndOutgoingLinks() {
+        repository.save(sampleNote("A", List.of()));
+        repository.save(sampleNote("B", List.of()));
+        repository.save(sampleNote("C", List.of()));
+        repository.addLink(new MemoryNoteId("A"), new MemoryNoteId("B"), "CALLS");
+        repository.addLink(new MemoryNoteId("C"), new MemoryNoteId("A"), "USES");
+
+        repository.delete(new MemoryNoteId("A"));
+
+        assertTrue(repository.findLinksFrom(new MemoryNoteId("C")).isEmpty());
+        assertTrue(repository.findLinkedNotes(new MemoryNoteId("B")).isEmpty());
+        assertTrue(((List<?>) repository.getGraph().get("links")).isEmpty());
+    }
+
     @Test
     void addAndFindLink() {
         repository.save(sampleNote("A", List.of()));
@@ -96,6 +135,23 @@ class InMemoryMemoryNoteRepositoryTest {
         assertEquals(1, links.size());
     }
 
+    @Test
+    void addLinks_reportsMissingEndpointsAndSkipsDuplicates() {
+        repository.save(sampleNote("A", List.of()));
+        repository.save(sampleNote("B", List.of()));
+
+        List<LinkResult> results = repository.addLinks(List.of(
+                new DirectedLink("A", "B", "DEPENDS_ON"),
+                new DirectedLink("A", "B", "DEPENDS_ON"),
+                new DirectedLink("missing", "B", "DEPENDS_ON"),
+                new DirectedLink("A", "missing", "DEPENDS_ON")));
+
+        assertEquals(List.of(LinkResult.Status.LINKED, LinkResult.Status.LINKED,
+                LinkResult.Status.SOURCE_NOT_FOUND, LinkResult.Status.TARGET_NOT_FOUND),
+                results.stream().map(LinkResult::status).toList());
+        assertEquals(1, repository.findLinksFrom(new MemoryNoteId("A")).size());
+    }
+
     @Test
     void removeLink() {
         repository.save(sampleNote("A", List.of()));
@@ -164,20 +220,45 @@ class InMemoryMemoryNoteRepositoryTest {
         assertTrue(tags.containsAll(Set.of("architecture", "backend", "frontend", "decision")));
     }
 
+    @Test
+    void save_whenTagsChange_updatesTagIndex() {
+        repository.save(sampleNote("n1", List.of("draft", "backend")));
+
+        repository.save(sampleNote("n1", List.of("final", "backend")));
+
+        assertTrue(repository.findByTag("draft").isEmpty());
+        assertEquals(1, repository.findByTag("final").size());
+        assertEquals(Set.of("final", "backend"), repository.findAllTags());
+    }
+
+    @Test
+    void delete_removesNoteFromTagIndex() {
+        repository.save(sampleNote("n1", List.of("architecture")));
+        repository.save(sampleNote("n2", List.of("architecture", "decision")));
+
+        repository.delete(new MemoryNoteId("n2"));
+
+        assertEquals(1, repository.findByTag("architecture").size());
+        assertTrue(repository.findByTag("decision").isEmpty());
+        assertEquals(Set.of("architecture"), repository.findAllTags());
+    }
+
     @Test
     void findAllTags_whenEmpty_returnsEmptySet() {
         assertTrue(repository.findAllTags().isEmpty());
     }
 
     @Test
-    void incrementRetrievalCount() {
+    void addRetrievalCounts() {
         repository.save(sampleNote("note-1", List.of()));
+        repository.save(sampleNote("note-2", List.of()));
 
-        repository.incrementRetrievalCount(new MemoryNoteId("note-1"));
-        repository.incrementRetrievalCount(new MemoryNoteId("note-1"));
+        repository.addRetrievalCounts(Map.of(new MemoryNoteId("note-1"), 2L, new MemoryNoteId("missing"), 1L));
+        repository.addRetrievalCounts(Map.of(new MemoryNoteId("note-1"), 3L, new MemoryNoteId("note-2"), 1L));
 
-        MemoryNote note = repository.findById(new MemoryNoteId("note-1")).orElseThrow();
-        assertEquals(2, note.retrievalCount());
+        assertEquals(5, repository.findById(new MemoryNoteId("note-1")).orElseThrow().retrievalCount());
+        assertEquals(1, repository.findById(new MemoryNoteId("note-2")).orElseThrow().retrievalCount());
+        assertTrue(repository.findById(new MemoryNoteId("missing")).isEmpty());
     }
 
     @Test
@@ -194,4 +275,189 @@ class InMemoryMemoryNoteRepositoryTest {
         assertEquals(2, notes.size());
         assertEquals(1, links.size());
     }
+
+    @Test
+    void findPage_walksNotesInIdOrderWithLinks() {
+        repository.save(sampleNote("c", List.of()));
+        repository.save(sampleNote("a", List.of()));
+        repository.save(sampleNote("b", List.of()));
+        repository.save(sampleNote("deleted", List.of()));
+        repository.delete(new MemoryNoteId("deleted"));
+        repository.addLink(new MemoryNoteId("a"), new MemoryNoteId("c"), "CALLS");
+
+        List<MemoryNote> first = repository.findPage(null, 2);
+        List<MemoryNote> second = repository.findPage(first.get(1).id(), 2);
+
+        assertEquals(List.of("a", "b"), first.stream().map(note -> note.id().value()).toList());
+        assertEquals(List.of(new NoteLink(new MemoryNoteId("c"), "CALLS")), first.get(0).links());
+        assertEquals(List.of("c"), second.stream().map(note -> note.id().value()).toList());
+    }
+
+    @Test
+    void streamAll_andStreamByTag_returnNotesWithLinks() {
+        repository.save(sampleNote("b", List.of("late")));
+        repository.save(sampleNote("a", List.of("early")));
+        repository.save(sampleNote("c", List.of("late")));
+        repository.addLink(new MemoryNoteId("c"), new MemoryNoteId("a"), "CALLS");
+
+        List<MemoryNote> all;
+        try (Stream<MemoryNote> notes = repository.streamAll()) {
+            all = notes.toList();
+        }
+        Set<String> late;
+        try (Stream<MemoryNote> notes = repository.streamByTag("late")) {
+            late = notes.map(note -> note.id().value()).collect(Collectors.toSet());
+        }
+
+        assertEquals(List.of("a", "b", "c"), all.stream().map(note -> note.id().value()).toList());
+        assertEquals(List.of(new NoteLink(new MemoryNoteId("a"), "CALLS")), all.get(2).links());
+        assertEquals(Set.of("b", "c"), late);
+    }
+
+    @Test
+    void findSkeletonPage_returnsIdsTagsAndLinks() {
+        repository.save(sampleNote("a", List.of("architecture")));
+        repository.save(sampleNote("b", List.of()));
+        repository.addLink(new MemoryNoteId("a"), new MemoryNoteId("b"), "CALLS");
+
+        List<NoteSkeleton> page = repository.findSkeletonPage(new MemoryNoteId("0"), 10);
+
+        assertEquals(List.of(
+                new NoteSkeleton(new MemoryNoteId("a"), List.of("architecture"),
+                        List.of(new NoteLink(new MemoryNoteId("b"), "CALLS"))),
+                new NoteSkeleton(new MemoryNoteId("b"), List.of(), List.of())), page);
+    }
+
+    @Test
+    void findNeighborhood_returnsNotesWithHopDistanceAndInternalLinks() {
+        for (String id : List.of("a", "b", "c", "d", "x")) {
+            repository.save(sampleNote(id, List.of()));
+        }
+        repository.addLink(new MemoryNoteId("a"), new MemoryNoteId("b"), "CALLS");
+        repository.addLink(new MemoryNoteId("c"), new MemoryNoteId("b"), "CALLS");
+        repository.addLink(new MemoryNoteId("a"), new MemoryNoteId("c"), "CALLS");
+        repository.addLink(new MemoryNoteId("c"), new MemoryNoteId("d"), "CALLS");
+        repository.addLink(new MemoryNoteId("a"), new MemoryNoteId("x"), "MENTIONS");
+
+        Neighborhood neighborhood = repository.findNeighborhood(new MemoryNoteId("b"), 2, List.of("CALLS"), 100);
+
+        Map<String, Integer> distances = neighborhood.notes().stream()
+                .collect(Collectors.toMap(note -> note.note().id().value(), NeighborhoodNote::distance));
+        assertEquals(Map.of("b", 0, "a", 1, "c", 1, "d", 2), distances);
+        assertEquals("b", neighborhood.notes().get(0).note().id().value());
+        assertEquals(Set.of(new DirectedLink("a", "b", "CALLS"), new DirectedLink("c", "b", "CALLS"),
+                new DirectedLink("a", "c", "CALLS"), new DirectedLink("c", "d", "CALLS")),
+                Set.copyOf(neighborhood.links()));
+    }
+
+    @Test
+    void findNeighborhood_respectsDepthAndMaxNodes() {
+        for (String id : List.of("a", "b", "c", "d")) {
+            repository.save(sampleNote(id, List.of()));
+        }
+        repository.addLink(new MemoryNoteId("a"), new MemoryNoteId("b"), "NEXT");
+        repository.addLink(new MemoryNoteId("b"), new MemoryNoteId("c"), "NEXT");
+        repository.addLink(new MemoryNoteId("c"), new MemoryNoteId("d"), "NEXT");
+
+        Neighborhood shallow = repository.findNeighborhood(new MemoryNoteId("a"), 1, List.of(), 100);
+        Neighborhood capped = repository.findNeighborhood(new MemoryNoteId("a"), 3, List.of(), 3);
+
+        assertEquals(List.of("a", "b"), shallow.notes().stream().map(note -> note.note().id().value()).toList());
+        assertEquals(List.of(new DirectedLink("a", "b", "NEXT")), shallow.links());
+        assertEquals(List.of(0, 1, 2), capped.notes().stream().map(NeighborhoodNote::distance).toList());
+        assertTrue(repository.findNeighborhood(new MemoryNoteId("missing"), 2, List.of(), 100).notes().isEmpty());
+    }
+
+    @Test
+    void findSimilar_returnsNotesOrderedByScore() {
+        repository.save(sampleNote("close", List.of()).withEmbedding(new float[] { 1f, 0.1f }));
+        repository.save(sampleNote("far", List.of()).withEmbedding(new float[] { 0f, 1f }));
+        repository.save(sampleNote("exact", List.of()).withEmbedding(new float[] { 2f, 0f }));
+        repository.save(sampleNote("no-embedding", List.of()));
+
+        List<ScoredNote> results = repository.findSimilar(new float[] { 1f, 0f }, SearchCriteria.topK(2));
+
+        assertEquals(2, results.size());
+        assertEquals("exact", results.get(0).note().id().value());
+        assertEquals(1.0, results.get(0).score(), 1e-6);
+        assertEquals("close", results.get(1).note().id().value());
+        assertEquals("Content for close", results.get(1).note().content());
+        assertTrue(results.get(0).score() > results.get(1).score());
+    }
+
+    @Test
+    void findSimilar_appliesMinScoreAndFilters() {
+        repository.save(new MemoryNote(new MemoryNoteId("old-arch"), "old", List.of(), null, List.of("architecture"),
+                List.of(), "2025-01-01T00:00:00Z", 0, new float[] { 1f, 0f }));
+        repository.save(new MemoryNote(new MemoryNoteId("new-arch"), "new", List.of(), null, List.of("architecture"),
+                List.of(), "2026-03-04T16:00:00Z", 0, new float[] { 1f, 0.2f }));
+        repository.save(new MemoryNote(new MemoryNoteId("new-bug"), "bug", List.of(), null, List.of("bug"),
+                List.of(), "2026-03-04T16:00:00Z", 0, new float[] { 1f, 0f }));
+        repository.save(new MemoryNote(new MemoryNoteId("orthogonal"), "other", List.of(), null, List.of("architecture"),
+                List.of(), "2026-03-04T16:00:00Z", 0, new float[] { 0f, 1f }));
+
+        List<ScoredNote> results = repository.findSimilar(new float[] { 1f, 0f },
+                new SearchCriteria(10, 0.5, List.of("architecture"), "2026-01-01", null));
+
+        assertEquals(1, results.size());
+        assertEquals("new-arch", results.get(0).note().id().value());
+    }
+
+    @Test
+    void findSimilar_reflectsDeletesAndEmbeddingUpdates() {
+        repository.save(sampleNote("deleted", List.of()).withEmbedding(new float[] { 1f, 0f }));
+        repository.save(sampleNote("moved", List.of()).withEmbedding(new float[] { 1f, 0f }));
+        repository.save(sampleNote("other", List.of()).withEmbedding(new float[] { 1f, 1f }));
+
+        repository.delete(new MemoryNoteId("deleted"));
+        repository.save(sampleNote("moved", List.of()).withEmbedding(new float[] { 0f, 1f }));
+
+        List<ScoredNote> results = repository.findSimilar(new float[] { 1f, 0f }, SearchCriteria.topK(10));
+
+        assertEquals(List.of("other", "moved"), results.stream().map(hit -> hit.note().id().value()).toList());
+    }
+
+    @Test
+    void findSimilar_skipsEmbeddingsOfUnknownNotes() {
+        ExactVectorIndex vectorIndex = new ExactVectorIndex();
+        vectorIndex.add(new MemoryNoteId("orphan"), new float[] { 1f, 0f });
+        repository = new InMemoryMemoryNoteRepository(vectorIndex);
+        repository.save(sampleNote("known", List.of()).withEmbedding(new float[] { 1f, 1f }));
+
+        List<ScoredNote> results = repository.findSimilar(new float[] { 1f, 0f }, SearchCriteria.topK(1));
+
+        assertEquals(List.of("known"), results.stream().map(hit -> hit.note().id().value()).toList());
+    }
+
+    @Test
+    void recover_removesEmbeddingsOfUnknownNotesFromPersistentIndex(@TempDir Path directory) {
+        try (MappedVectorIndex vectorIndex = new MappedVectorIndex(directory)) {
+            vectorIndex.add(new MemoryNoteId("orphan"), new float[] { 1f, 0f });
+            repository = new InMemoryMemoryNoteRepository(vectorIndex);
+            repository.recover();
+
+            assertEquals(0, vectorIndex.size());
+        }
+    }
+
+    @Test
+    void findByText_ranksByTermsAndAppliesFilters() {
+        repository.save(new MemoryNote(new MemoryNoteId("ticket"), "Timeouts traced to ABC-123", List.of("gateway"),
+                null, List.of("bug"), List.of(), "2026-03-04T16:00:00Z", 0, null));
+        repository.save(new MemoryNote(new MemoryNoteId("keyword"), "Gateway notes", List.of("abc-123"),
+                null, List.of("architecture"), List.of(), "2026-03-04T16:00:00Z", 0, null));
+        repository.save(new MemoryNote(new MemoryNoteId("old"), "ABC-123 reopened", List.of(),
+                null, List.of("bug"), List.of(), "2025-01-01T00:00:00Z", 0, null));
+        repository.save(new MemoryNote(new MemoryNoteId("unrelated"), "Hexagonal architecture", List.of(),
+                null, List.of("bug"), List.of(), "2026-03-04T16:00:00Z", 0, null));
+
+        assertEquals(Set.of("ticket", "keyword", "old"), repository.findByText("abc-123", SearchCriteria.topK(10))
+                .stream().map(hit -> hit.note().id().value()).collect(Collectors.toSet()));
+        assertEquals(List.of("ticket"), repository.findByText("ABC-123",
+                new SearchCriteria(10, SearchCriteria.NO_MIN_SCORE, List.of("bug"), "2026-01-01", null))
+                .stream().map(hit -> hit.note().id().value()).toList());
+
+        repository.delete(new MemoryNoteId("ticket"));
+        assertTrue(repository.findByText("timeouts", SearchCriteria.topK(10)).isEmpty());
+    }
 }
@@ -0,0 +1,160 @@
+package com.thecookiezen.archiledger.infrastructure.persistence;
+
+import com.thecookiezen.archiledger.domain.model.MemoryNote;
+import com.thecookiezen.archiledger.domain.model.MemoryNoteId;
+import com.thecookiezen.archiledger.domain.model.NoteLink;
+import com.thecookiezen.archiledger.domain.model.ScoredNote;
+import com.thecookiezen.archiledger.domain.model.SearchCriteria;
+import com.thecookiezen.archiledger.infrastructure.persistence.vector.ExactVectorIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NoteJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void restart_restoresNotesLinksCountsAndEmbeddingsFromSnapshot() {
+        InMemoryMemoryNoteRepository repository = open();
+        repository.save(note("a", List.of("x"), new float[] { 1f, 0f }));
+        repository.save(note("b", List.of("y"), new float[] { 0f, 1f }));
+        repository.save(note("removed", List.of("x"), null));
+        repository.addLink(new MemoryNoteId("a"), new MemoryNoteId("b"), "RELATES_TO");
+        repository.addLink(new MemoryNoteId("b"), new MemoryNoteId("a"), "REMOVED");
+        repository.removeLink(new MemoryNoteId("b"), new MemoryNoteId("a"), "REMOVED");
+        repository.addRetrievalCounts(Map.of(new MemoryNoteId("a"), 1L));
+        repository.addRetrievalCounts(Map.of(new MemoryNoteId("a"), 1L));
+        repository.delete(new MemoryNoteId("removed"));
+        repository.close();
+
+        assertTrue(Files.exists(directory.resolve(NoteJournal.SNAPSHOT_FILE)));
+        assertRestored(open());
+    }
+
+    @Test
+    void restart_replaysJournalWithoutSnapshot() {
+        InMemoryMemoryNoteRepository repository = open();
+        repository.save(note("a", List.of("x"), new float[] { 1f, 0f }));
+        repository.save(note("b", List.of("y"), new float[] { 0f, 1f }));
+        repository.save(note("removed", List.of("x"), null));
+        repository.addLink(new MemoryNoteId("a"), new MemoryNoteId("b"), "RELATES_TO");
+        repository.addRetrievalCounts(Map.of(new MemoryNoteId("a"), 1L));
+        repository.addRetrievalCounts(Map.of(new MemoryNoteId("a"), 1L));
+        repository.delete(new MemoryNoteId("removed"));
+        // No close: the process dies and only the journal is left.
+
+        assertFalse(Files.exists(directory.resolve(NoteJournal.SNAPSHOT_FILE)));
+        assertRestored(open());
+    }
+
+    @Test
+    void restart_ignoresTornJournalTail() throws IOException {
+        InMemoryMemoryNoteRepository repository = open();
+        repository.save(note("a", List.of("x"), new float[] { 1f, 0f }));
+        try (Stream<Path> files = Files.list(directory)) {
+            Path journal = files.filter(file -> file.getFileName().toString().startsWith("journal-"))
+                    .findFirst()
+                    .orElseThrow();
+            Files.write(journal, new byte[] { 0, 0, 1, 0, 42, 42 }, StandardOpenOption.APPEND);
+        }
+
+        InMemoryMemoryNoteRepository reopened = open();
+
+        assertEquals(List.of("a"), reopened.findAll().stream().map(note -> note.id().value()).toList());
+        reopened.save(note("b", List.of("y"), null));
+        reopened.close();
+        assertEquals(2, open().findAll().size());
+    }
+
+    @Test
+    void snapshot_whileRecordsAreAppendedLosesNothing() throws Exception {
+        Map<MemoryNoteId, MemoryNote> state = new ConcurrentHashMap<>();
+        NoteJournal journal = new NoteJournal(directory, Duration.ofMillis(1));
+        journal.recover(collectingInto(new ConcurrentHashMap<>()));
+        journal.start(() -> new NoteJournal.Snapshot(state.values(), List.of()), Duration.ZERO);
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 2_000; i++) {
+                MemoryNote note = note("note-" + i, List.of(), null);
+                state.put(note.id(), note);
+                journal.save(note);
+            }
+        });
+        writer.start();
+        while (writer.isAlive()) {
+            journal.snapshot();
+        }
+        writer.join();
+        journal.close();
+
+        Map<MemoryNoteId, MemoryNote> recovered = new ConcurrentHashMap<>();
+        NoteJournal reopened = new NoteJournal(directory, Duration.ofMillis(1));
+        reopened.recover(collectingInto(recovered));
+        reopened.close();
+        assertEquals(2_000, recovered.size());
+    }
+
+    private void assertRestored(InMemoryMemoryNoteRepository restored) {
+        assertEquals(2, restored.findAll().size());
+        assertTrue(restored.findById(new MemoryNoteId("removed")).isEmpty());
+        assertEquals(List.of(new MemoryNoteId("a")), restored.findByTag("x").stream().map(MemoryNote::id).toList());
+        MemoryNote a = restored.findById(new MemoryNoteId("a")).orElseThrow();
+        assertEquals(2, a.retrievalCount());
+        assertEquals(List.of(new NoteLink(new MemoryNoteId("b"), "RELATES_TO")), a.links());
+        assertTrue(restored.findLinksFrom(new MemoryNoteId("b")).isEmpty());
+
+        List<ScoredNote> similar = restored.findSimilar(new float[] { 0f, 1f }, SearchCriteria.topK(1));
+        assertEquals("b", similar.get(0).note().id().value());
+        assertEquals(1.0, similar.get(0).score(), 1e-6);
+    }
+
+    private static NoteJournal.Replay collectingInto(Map<MemoryNoteId, MemoryNote> notes) {
+        return new NoteJournal.Replay() {
+            @Override
+            public void save(MemoryNote note) {
+                notes.put(note.id(), note);
+            }
+
+            @Override
+            public void delete(MemoryNoteId id) {
+                notes.remove(id);
+            }
+
+            @Override
+            public void addLink(MemoryNoteId from, MemoryNoteId to, String relationType) {
+            }
+
+            @Override
+            public void removeLink(MemoryNoteId from, MemoryNoteId to, String relationType) {
+            }
+
+            @Override
+            public void retrievalCount(MemoryNoteId id, int count) {
+            }
+        };
+    }
+
+    private InMemoryMemoryNoteRepository open() {
+        InMemoryMemoryNoteRepository repository = new InMemoryMemoryNoteRepository(new ExactVectorIndex(),
+                directory.toString(), 10, 0);
+        repository.recover();
+        return repository;
+    }
+
+    private static MemoryNote note(String id, List<String> tags, float[] embedding) {
+        return new MemoryNote(new MemoryNoteId(id), "Content for " + id, List.of("keyword"), "context", tags,
+                List.of(), "2026-03-04T16:00:00Z", 0, embedding);
+    }
+}
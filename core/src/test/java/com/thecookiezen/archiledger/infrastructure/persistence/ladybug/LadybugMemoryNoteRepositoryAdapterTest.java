@@ -1,8 +1,13 @@
 package com.thecookiezen.archiledger.infrastructure.persistence.ladybug;
 
+import com.thecookiezen.archiledger.domain.model.DirectedLink;
+import com.thecookiezen.archiledger.domain.model.LinkResult;
 import com.thecookiezen.archiledger.domain.model.MemoryNote;
 import com.thecookiezen.archiledger.domain.model.MemoryNoteId;
+import com.thecookiezen.archiledger.domain.model.Neighborhood;
+import com.thecookiezen.archiledger.domain.model.NeighborhoodNote;
 import com.thecookiezen.archiledger.domain.model.NoteLink;
+import com.thecookiezen.archiledger.domain.model.NoteSkeleton;
 import com.thecookiezen.archiledger.infrastructure.config.LadybugDBConfig;
 import com.thecookiezen.archiledger.infrastructure.persistence.ladybugdb.LadybugMemoryNoteRepository;
 import com.thecookiezen.archiledger.infrastructure.persistence.ladybugdb.MemoryNoteDbRepository;
@@ -13,18 +18,23 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @ExtendWith(SpringExtension.class)
 @ContextConfiguration(classes = LadybugMemoryNoteRepositoryAdapterTest.TestConfig.class)
 @ActiveProfiles("ladybugdb")
+@TestPropertySource(properties = "ladybugdb.stream.page-size=2")
 class LadybugMemoryNoteRepositoryAdapterTest {
 
     @org.springframework.context.annotation.Configuration
@@ -70,6 +80,31 @@ class LadybugMemoryNoteRepositoryAdapterTest {
         assertTrue(found);
     }
 
+    @Test
+    void saveAll_persistsNotesAndTheirLinks() {
+        MemoryNote a = sampleNote("A", List.of("bulk"));
+        MemoryNote b = sampleNote("B", List.of("bulk")).withLinks(List.of(new NoteLink("A", "DEPENDS_ON")));
+
+        List<MemoryNote> saved = repository.saveAll(List.of(a, b));
+
+        assertEquals(2, saved.size());
+        assertEquals(2, repository.findByTag("bulk").size());
+        List<NoteLink> links = repository.findLinksFrom(new MemoryNoteId("B"));
+        assertEquals(1, links.size());
+        assertEquals("A", links.get(0).target().value());
+    }
+
+    @Test
+    void saveAll_updatesExistingNote() {
+        repository.save(sampleNote("A", List.of("old")));
+
+        repository.saveAll(List.of(sampleNote("A", List.of("new"))));
+
+        MemoryNote note = repository.findById(new MemoryNoteId("A")).orElseThrow();
+        assertEquals(List.of("new"), note.tags());
+        assertEquals(1, repository.findAll().size());
+    }
+
     @Test
     void findById_whenExists_returnsNote() {
         repository.save(sampleNote("my-note", List.of("design")));
@@ -101,6 +136,33 @@ class LadybugMemoryNoteRepositoryAdapterTest {
         assertEquals("DEPENDS_ON", links.get(0).relationType());
     }
 
+    @Test
+    void addLinks_mergesLinksAndReportsMissingEndpoints() {
+        repository.save(sampleNote("A", List.of()));
+        repository.save(sampleNote("B", List.of()));
+        repository.save(sampleNote("C", List.of()));
+        repository.addLink(new MemoryNoteId("A"), new MemoryNoteId("B"), "CALLS");
+
+        List<LinkResult> results = repository.addLinks(List.of(
+                new DirectedLink("A", "B", "CALLS"),
+                new DirectedLink("A", "C", "CALLS"),
+                new DirectedLink("missing", "C", "CALLS"),
+                new DirectedLink("A", "missing", "CALLS")));
+
+        assertEquals(List.of(LinkResult.Status.LINKED, LinkResult.Status.LINKED,
+                LinkResult.Status.SOURCE_NOT_FOUND, LinkResult.Status.TARGET_NOT_FOUND),
+                results.stream().map(LinkResult::status).toList());
+        assertEquals(2, repository.findLinksFrom(new MemoryNoteId("A")).size());
+    }
+
+    @Test
+    void addLink_whenTargetMissing_throws() {
+        repository.save(sampleNote("A", List.of()));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> repository.addLink(new MemoryNoteId("A"), new MemoryNoteId("missing"), "CALLS"));
+    }
+
     @Test
     void findById_hydratesLinks() {
         repository.save(sampleNote("A", List.of()));
@@ -114,6 +176,24 @@ class LadybugMemoryNoteRepositoryAdapterTest {
         assertEquals("B", result.get().links().get(0).target().value());
     }
 
+    @Test
+    void findAll_hydratesLinksInSameQuery() {
+        repository.save(sampleNote("A", List.of("graph")));
+        repository.save(sampleNote("B", List.of("graph")));
+        repository.save(sampleNote("C", List.of("graph")));
+        repository.addLink(new MemoryNoteId("A"), new MemoryNoteId("B"), "CALLS");
+        repository.addLink(new MemoryNoteId("A"), new MemoryNoteId("C"), "USES");
+
+        Map<String, List<NoteLink>> linksById = new HashMap<>();
+        repository.findByTag("graph").forEach(note -> linksById.put(note.id().value(), note.links()));
+
+        assertEquals(3, linksById.size());
+        assertEquals(2, linksById.get("A").size());
+        assertTrue(linksById.get("B").isEmpty());
+        assertTrue(linksById.get("C").isEmpty());
+        assertEquals(3, repository.findAll().size());
+    }
+
     @Test
     void findByTag_returnsOnlyMatchingTags() {
         repository.save(sampleNote("n1", List.of("architecture", "backend")));
@@ -185,15 +265,18 @@ class LadybugMemoryNoteRepositoryAdapterTest {
     }
 
     @Test
-    void incrementRetrievalCount() {
+    void addRetrievalCounts() {
         repository.save(sampleNote("note-1", List.of()));
+        repository.save(sampleNote("note-2", List.of()));
 
-        repository.incrementRetrievalCount(new MemoryNoteId("note-1"));
-        repository.incrementRetrievalCount(new MemoryNoteId("note-1"));
+        repository.addRetrievalCounts(Map.of(new MemoryNoteId("note-1"), 2L, new MemoryNoteId("missing"), 1L));
+        repository.addRetrievalCounts(Map.of(new MemoryNoteId("note-1"), 3L, new MemoryNoteId("note-2"), 1L));
 
         Optional<MemoryNote> note = repository.findById(new MemoryNoteId("note-1"));
         assertTrue(note.isPresent());
-        assertEquals(2, note.get().retrievalCount());
+        assertEquals(5, note.get().retrievalCount());
+        assertEquals(1, repository.findById(new MemoryNoteId("note-2")).orElseThrow().retrievalCount());
+        assertTrue(repository.findById(new MemoryNoteId("missing")).isEmpty());
     }
 
     @Test
@@ -210,4 +293,94 @@ class LadybugMemoryNoteRepositoryAdapterTest {
         assertEquals(2, notes.size());
         assertEquals(1, links.size());
     }
+
+    @Test
+    void findPage_walksNotesInIdOrderWithLinks() {
+        repository.save(sampleNote("C", List.of()));
+        repository.save(sampleNote("A", List.of()));
+        repository.save(sampleNote("B", List.of()));
+        repository.addLink(new MemoryNoteId("A"), new MemoryNoteId("C"), "CALLS");
+
+        List<MemoryNote> first = repository.findPage(null, 2);
+        List<MemoryNote> second = repository.findPage(first.get(1).id(), 2);
+
+        assertEquals(List.of("A", "B"), first.stream().map(note -> note.id().value()).toList());
+        assertEquals(List.of(new NoteLink(new MemoryNoteId("C"), "CALLS")), first.get(0).links());
+        assertEquals(List.of("C"), second.stream().map(note -> note.id().value()).toList());
+    }
+
+    @Test
+    void findNeighborhood_returnsNotesWithHopDistanceAndInternalLinks() {
+        for (String id : List.of("A", "B", "C", "D", "X")) {
+            repository.save(sampleNote(id, List.of()));
+        }
+        repository.addLink(new MemoryNoteId("A"), new MemoryNoteId("B"), "CALLS");
+        repository.addLink(new MemoryNoteId("C"), new MemoryNoteId("B"), "CALLS");
+        repository.addLink(new MemoryNoteId("A"), new MemoryNoteId("C"), "CALLS");
+        repository.addLink(new MemoryNoteId("C"), new MemoryNoteId("D"), "CALLS");
+        repository.addLink(new MemoryNoteId("A"), new MemoryNoteId("X"), "MENTIONS");
+
+        Neighborhood neighborhood = repository.findNeighborhood(new MemoryNoteId("B"), 2, List.of("CALLS"), 100);
+
+        Map<String, Integer> distances = neighborhood.notes().stream()
+                .collect(Collectors.toMap(note -> note.note().id().value(), NeighborhoodNote::distance));
+        assertEquals(Map.of("B", 0, "A", 1, "C", 1, "D", 2), distances);
+        assertEquals("B", neighborhood.notes().get(0).note().id().value());
+        assertEquals(Set.of(new DirectedLink("A", "B", "CALLS"), new DirectedLink("C", "B", "CALLS"),
+                new DirectedLink("A", "C", "CALLS"), new DirectedLink("C", "D", "CALLS")),
+                Set.copyOf(neighborhood.links()));
+    }
+
+    @Test
+    void findNeighborhood_respectsDepthAndMaxNodes() {
+        for (String id : List.of("A", "B", "C", "D")) {
+            repository.save(sampleNote(id, List.of()));
+        }
+        repository.addLink(new MemoryNoteId("A"), new MemoryNoteId("B"), "NEXT");
+        repository.addLink(new MemoryNoteId("B"), new MemoryNoteId("C"), "NEXT");
+        repository.addLink(new MemoryNoteId("C"), new MemoryNoteId("D"), "NEXT");
+
+        Neighborhood shallow = repository.findNeighborhood(new MemoryNoteId("A"), 1, List.of(), 100);
+        Neighborhood capped = repository.findNeighborhood(new MemoryNoteId("A"), 3, List.of(), 3);
+
+        assertEquals(List.of("A", "B"), shallow.notes().stream().map(note -> note.note().id().value()).toList());
+        assertEquals(List.of(new DirectedLink("A", "B", "NEXT")), shallow.links());
+        assertEquals(List.of(0, 1, 2), capped.notes().stream().map(NeighborhoodNote::distance).toList());
+        assertTrue(repository.findNeighborhood(new MemoryNoteId("MISSING"), 2, List.of(), 100).notes().isEmpty());
+    }
+
+    @Test
+    void streamAll_walksEveryNoteAcrossPages() {
+        for (String id : List.of("E", "A", "D", "B", "C")) {
+            repository.save(sampleNote(id, List.of(id.compareTo("C") < 0 ? "early" : "late")));
+        }
+        repository.addLink(new MemoryNoteId("E"), new MemoryNoteId("A"), "CALLS");
+
+        List<MemoryNote> all;
+        try (Stream<MemoryNote> notes = repository.streamAll()) {
+            all = notes.toList();
+        }
+        List<String> late;
+        try (Stream<MemoryNote> notes = repository.streamByTag("late")) {
+            late = notes.map(note -> note.id().value()).toList();
+        }
+
+        assertEquals(List.of("A", "B", "C", "D", "E"), all.stream().map(note -> note.id().value()).toList());
+        assertEquals(List.of(new NoteLink(new MemoryNoteId("A"), "CALLS")), all.get(4).links());
+        assertEquals(List.of("C", "D", "E"), late);
+    }
+
+    @Test
+    void findSkeletonPage_returnsIdsTagsAndLinks() {
+        repository.save(sampleNote("A", List.of("architecture")));
+        repository.save(sampleNote("B", List.of()));
+        repository.addLink(new MemoryNoteId("A"), new MemoryNoteId("B"), "CALLS");
+
+        List<NoteSkeleton> page = repository.findSkeletonPage(null, 10);
+
+        assertEquals(List.of(
+                new NoteSkeleton(new MemoryNoteId("A"), List.of("architecture"),
+                        List.of(new NoteLink(new MemoryNoteId("B"), "CALLS"))),
+                new NoteSkeleton(new MemoryNoteId("B"), List.of(), List.of())), page);
+    }
 }
@@ -0,0 +1,151 @@
+package com.thecookiezen.archiledger.infrastructure.persistence.ladybug;
+
+import com.thecookiezen.archiledger.domain.model.MemoryNote;
+import com.thecookiezen.archiledger.domain.model.MemoryNoteId;
+import com.thecookiezen.archiledger.domain.model.ScoredNote;
+import com.thecookiezen.archiledger.domain.model.SearchCriteria;
+import com.thecookiezen.archiledger.infrastructure.config.LadybugDBConfig;
+import com.thecookiezen.archiledger.infrastructure.embeddings.LadybugFullTextExtensionInitializer;
+import com.thecookiezen.archiledger.infrastructure.embeddings.LadybugVectorExtensionInitializer;
+import com.thecookiezen.archiledger.infrastructure.persistence.ladybugdb.LadybugMemoryNoteRepository;
+import com.thecookiezen.archiledger.infrastructure.persistence.ladybugdb.MemoryNoteDbRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Vector and full-text search against the LadybugDB indexes. Filter oversampling is 1, so a selective filter
+ * only finds its notes if the candidate set is widened.
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = LadybugMemoryNoteRepositorySearchTest.TestConfig.class)
+@ActiveProfiles("ladybugdb")
+@TestPropertySource(properties = "ladybugdb.search.filter-oversampling=1")
+class LadybugMemoryNoteRepositorySearchTest {
+
+    private static final int DIMENSION = 384;
+    private static final String MARCH = "2026-03-04T16:00:00Z";
+    private static final String MAY = "2026-05-01T00:00:00Z";
+
+    @org.springframework.context.annotation.Configuration
+    @org.springframework.context.annotation.Import({
+            LadybugDBConfig.class,
+            LadybugVectorExtensionInitializer.class,
+            LadybugFullTextExtensionInitializer.class
+    })
+    @org.springframework.context.annotation.ComponentScan(basePackages = {
+            "com.thecookiezen.archiledger.infrastructure.persistence.ladybugdb"
+    })
+    static class TestConfig {
+    }
+
+    @Autowired
+    private LadybugMemoryNoteRepository repository;
+
+    @Autowired
+    private MemoryNoteDbRepository dbRepository;
+
+    @BeforeEach
+    void cleanDatabase() {
+        dbRepository.deleteAll();
+    }
+
+    @Test
+    void findSimilar_ranksNotesByCosineSimilarity() {
+        saveNearAndFarNotes();
+
+        List<ScoredNote> hits = repository.findSimilar(embedding(0.0), SearchCriteria.topK(2));
+
+        assertEquals(List.of("near-0", "near-1"), ids(hits));
+        assertEquals(1.0, hits.get(0).score(), 1e-4);
+        assertTrue(hits.get(0).score() > hits.get(1).score());
+    }
+
+    @Test
+    void findSimilar_widensCandidatesUntilSelectiveTagFilterIsSatisfied() {
+        saveNearAndFarNotes();
+
+        List<ScoredNote> hits = repository.findSimilar(embedding(0.0),
+                new SearchCriteria(2, SearchCriteria.NO_MIN_SCORE, List.of("rare"), null, null));
+
+        assertEquals(List.of("far-0", "far-1"), ids(hits));
+    }
+
+    @Test
+    void findSimilar_widensCandidatesUntilSelectiveTimeFilterIsSatisfied() {
+        saveNearAndFarNotes();
+
+        List<ScoredNote> hits = repository.findSimilar(embedding(0.0),
+                new SearchCriteria(5, SearchCriteria.NO_MIN_SCORE, List.of(), "2026-04", null));
+
+        assertEquals(List.of("far-0", "far-1"), ids(hits));
+    }
+
+    @Test
+    void findSimilar_withMinScore_dropsDistantNotes() {
+        saveNearAndFarNotes();
+
+        List<ScoredNote> hits = repository.findSimilar(embedding(0.0),
+                new SearchCriteria(10, 0.9, List.of(), null, null));
+
+        assertFalse(hits.isEmpty());
+        assertTrue(hits.stream().allMatch(hit -> hit.score() >= 0.9));
+        assertTrue(ids(hits).stream().allMatch(id -> id.startsWith("near-")));
+    }
+
+    @Test
+    void findByText_ranksNotesContainingTheQueryTermsAndAppliesFilters() {
+        repository.save(note("kafka", "Kafka consumer lag alert ERR-4711", List.of("ops"), MARCH, null));
+        repository.save(note("postgres", "Postgres vacuum schedule", List.of("ops"), MARCH, null));
+        repository.save(note("kafka-old", "Kafka partition rebalance notes", List.of("archive"), MARCH, null));
+
+        assertEquals(List.of("kafka"), ids(repository.findByText("ERR-4711", SearchCriteria.topK(10))));
+        assertEquals(List.of("kafka"), ids(repository.findByText("kafka",
+                new SearchCriteria(10, SearchCriteria.NO_MIN_SCORE, List.of("ops"), null, null))));
+        assertEquals(2, repository.findByText("kafka", SearchCriteria.topK(10)).size());
+        assertTrue(repository.findByText(" ", SearchCriteria.topK(10)).isEmpty());
+    }
+
+    /**
+     * Eight untagged March notes close to the query direction and two May notes tagged {@code rare} further away,
+     * so the filtered notes are never among the first candidates of the index.
+     */
+    private void saveNearAndFarNotes() {
+        for (int i = 0; i < 8; i++) {
+            repository.save(note("near-" + i, "Near note " + i, List.of(), MARCH, embedding(i * 0.05)));
+        }
+        for (int i = 0; i < 2; i++) {
+            repository.save(note("far-" + i, "Far note " + i, List.of("rare"), MAY, embedding(1.0 + i * 0.2)));
+        }
+    }
+
+    private static MemoryNote note(String id, String content, List<String> tags, String timestamp,
+            float[] embedding) {
+        return new MemoryNote(new MemoryNoteId(id), content, List.of(), "test-context", tags, List.of(), timestamp,
+                0, embedding);
+    }
+
+    /**
+     * Unit vector at {@code angle} radians from the first axis, in the plane of the first two axes.
+     */
+    private static float[] embedding(double angle) {
+        float[] vector = new float[DIMENSION];
+        vector[0] = (float) Math.cos(angle);
+        vector[1] = (float) Math.sin(angle);
+        return vector;
+    }
+
+    private static List<String> ids(List<ScoredNote> hits) {
+        return hits.stream().map(hit -> hit.note().id().value()).toList();
+    }
+}
@@ -0,0 +1,154 @@
+package com.thecookiezen.archiledger.infrastructure.persistence.ladybugdb;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionPoolTest {
+
+    private static final class FakeConnection implements AutoCloseable {
+        private boolean closed;
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    private final List<FakeConnection> opened = new ArrayList<>();
+
+    private synchronized FakeConnection open() {
+        FakeConnection connection = new FakeConnection();
+        opened.add(connection);
+        return connection;
+    }
+
+    @Test
+    void constructor_opensMinIdleConnectionsUpFront() {
+        ConnectionPool<FakeConnection> pool = new ConnectionPool<>("read", this::open, 10, 5, 2);
+
+        assertEquals(2, opened.size());
+        assertEquals(2, pool.getIdle());
+        assertEquals(0, pool.getActive());
+    }
+
+    @Test
+    void constructor_rejectsEmptyPool() {
+        assertThrows(IllegalArgumentException.class, () -> new ConnectionPool<>("read", this::open, 0, 0, 0));
+    }
+
+    @Test
+    void acquire_reusesIdleConnection() {
+        ConnectionPool<FakeConnection> pool = new ConnectionPool<>("read", this::open, 2, 2, 1);
+
+        FakeConnection first = pool.acquire();
+        assertEquals(1, pool.getActive());
+        assertEquals(0, pool.getIdle());
+        assertTrue(pool.release(first));
+
+        assertSame(first, pool.acquire());
+        assertEquals(1, opened.size());
+    }
+
+    @Test
+    void acquire_sameThreadGetsItsConnectionBackUntilOutermostRelease() {
+        ConnectionPool<FakeConnection> pool = new ConnectionPool<>("write", this::open, 1, 1, 0);
+
+        FakeConnection outer = pool.acquire();
+        FakeConnection nested = pool.acquire();
+        assertSame(outer, nested);
+
+        assertTrue(pool.release(nested));
+        assertEquals(1, pool.getActive());
+        assertTrue(pool.release(outer));
+        assertEquals(0, pool.getActive());
+        assertEquals(1, pool.getIdle());
+    }
+
+    @Test
+    void release_closesConnectionsBeyondMaxIdle() {
+        ConnectionPool<FakeConnection> pool = new ConnectionPool<>("read", this::open, 3, 1, 0);
+        List<FakeConnection> leased = new ArrayList<>();
+        CountDownLatch held = new CountDownLatch(3);
+        CountDownLatch done = new CountDownLatch(1);
+
+        try (ExecutorService threads = Executors.newFixedThreadPool(3)) {
+            for (int i = 0; i < 3; i++) {
+                threads.execute(() -> {
+                    FakeConnection connection = pool.acquire();
+                    synchronized (leased) {
+                        leased.add(connection);
+                    }
+                    held.countDown();
+                    try {
+                        done.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    pool.release(connection);
+                });
+            }
+            assertDoesNotThrow(() -> held.await());
+            assertEquals(3, pool.getActive());
+            done.countDown();
+        }
+
+        assertEquals(1, pool.getIdle());
+        assertEquals(2, leased.stream().filter(connection -> connection.closed).count());
+    }
+
+    @Test
+    void release_ignoresConnectionsFromOtherPools() {
+        ConnectionPool<FakeConnection> pool = new ConnectionPool<>("read", this::open, 1, 1, 0);
+
+        assertFalse(pool.release(new FakeConnection()));
+    }
+
+    @Test
+    void acquire_capsConcurrentLeasesAndRecordsWaits() {
+        ConnectionPool<FakeConnection> pool = new ConnectionPool<>("write", this::open, 1, 1, 1);
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+
+        try (ExecutorService threads = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 40; i++) {
+                threads.execute(() -> {
+                    FakeConnection connection = pool.acquire();
+                    peak.accumulateAndGet(inside.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(1);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    inside.decrementAndGet();
+                    pool.release(connection);
+                });
+            }
+        }
+
+        assertEquals(1, peak.get());
+        assertEquals(1, opened.size());
+        assertEquals(40, pool.getAcquisitions());
+        assertEquals(0, pool.getWaiting());
+        assertTrue(pool.getMaxWaitMillis() > 0);
+        assertTrue(pool.getAverageWaitMillis() <= pool.getMaxWaitMillis());
+    }
+
+    @Test
+    void close_closesIdleConnectionsAndRejectsNewLeases() {
+        ConnectionPool<FakeConnection> pool = new ConnectionPool<>("read", this::open, 2, 2, 2);
+
+        pool.close();
+
+        assertTrue(opened.stream().allMatch(connection -> connection.closed));
+        assertEquals(0, pool.getIdle());
+        assertThrows(IllegalStateException.class, pool::acquire);
+    }
+}
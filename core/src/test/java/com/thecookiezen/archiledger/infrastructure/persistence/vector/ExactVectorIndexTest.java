@@ -0,0 +1,136 @@
+package com.thecookiezen.archiledger.infrastructure.persistence.vector;
+
+import com.thecookiezen.archiledger.domain.model.MemoryNoteId;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static com.thecookiezen.archiledger.infrastructure.persistence.vector.VectorFixtures.id;
+import static com.thecookiezen.archiledger.infrastructure.persistence.vector.VectorFixtures.randomVector;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExactVectorIndexTest {
+
+    private static final int DIMENSION = 24;
+
+    @Test
+    void search_matchesBruteForceCosineRanking() {
+        Map<MemoryNoteId, float[]> vectors = randomVectors(500, 42);
+        float[] query = randomVector(DIMENSION, 1.0, new Random(7));
+
+        for (VectorOps ops : List.of(VectorOps.scalar(), VectorOps.preferred())) {
+            ExactVectorIndex index = new ExactVectorIndex(ops, ExactVectorIndex.DEFAULT_PARALLEL_THRESHOLD);
+            vectors.forEach(index::add);
+
+            List<VectorMatch> matches = index.search(query, 10, -1.0, id -> true);
+
+            assertEquals(bruteForce(vectors, query, 10), matches.stream().map(VectorMatch::id).toList());
+        }
+    }
+
+    @Test
+    void search_parallelScanReturnsSameResultsAsSequential() {
+        Map<MemoryNoteId, float[]> vectors = randomVectors(2_000, 11);
+        float[] query = randomVector(DIMENSION, 1.0, new Random(3));
+        ExactVectorIndex sequential = new ExactVectorIndex(VectorOps.scalar(), Integer.MAX_VALUE);
+        ExactVectorIndex parallel = new ExactVectorIndex(VectorOps.scalar(), 16);
+        vectors.forEach(sequential::add);
+        vectors.forEach(parallel::add);
+
+        assertEquals(sequential.search(query, 25, -1.0, id -> true), parallel.search(query, 25, -1.0, id -> true));
+    }
+
+    @Test
+    void search_clampsHugeLimitToIndexSize() {
+        Map<MemoryNoteId, float[]> vectors = randomVectors(50, 5);
+        float[] query = randomVector(DIMENSION, 1.0, new Random(6));
+        for (VectorIndex index : List.of(new ExactVectorIndex(), new HnswVectorIndex())) {
+            vectors.forEach(index::add);
+
+            assertEquals(vectors.size(), index.search(query, Integer.MAX_VALUE, -1.0, id -> true).size());
+        }
+    }
+
+    @Test
+    void search_appliesFilterAndMinScore() {
+        ExactVectorIndex index = new ExactVectorIndex();
+        index.add(new MemoryNoteId("same"), new float[] { 2f, 0f });
+        index.add(new MemoryNoteId("close"), new float[] { 1f, 0.2f });
+        index.add(new MemoryNoteId("orthogonal"), new float[] { 0f, 1f });
+
+        List<VectorMatch> matches = index.search(new float[] { 1f, 0f }, 10, 0.5,
+                id -> !id.value().equals("same"));
+
+        assertEquals(1, matches.size());
+        assertEquals("close", matches.get(0).id().value());
+    }
+
+    @Test
+    void add_replacesExistingEmbedding() {
+        ExactVectorIndex index = new ExactVectorIndex();
+        MemoryNoteId id = new MemoryNoteId("note");
+        index.add(id, new float[] { 0f, 1f });
+        index.add(id, new float[] { 1f, 0f });
+
+        List<VectorMatch> matches = index.search(new float[] { 1f, 0f }, 10, -1.0, n -> true);
+
+        assertEquals(1, index.size());
+        assertEquals(1.0, matches.get(0).score(), 1e-6);
+    }
+
+    @Test
+    void remove_excludesNoteAndReusesItsRow() {
+        ExactVectorIndex index = new ExactVectorIndex();
+        index.add(new MemoryNoteId("a"), new float[] { 1f, 0f });
+        index.add(new MemoryNoteId("b"), new float[] { 0f, 1f });
+
+        index.remove(new MemoryNoteId("a"));
+        index.add(new MemoryNoteId("c"), new float[] { 1f, 1f });
+
+        List<VectorMatch> matches = index.search(new float[] { 1f, 0f }, 10, -1.0, id -> true);
+        assertEquals(2, index.size());
+        assertEquals(List.of("c", "b"), matches.stream().map(match -> match.id().value()).toList());
+    }
+
+    @Test
+    void add_withDifferentDimensionIsNotIndexed() {
+        ExactVectorIndex index = new ExactVectorIndex();
+        index.add(new MemoryNoteId("a"), new float[] { 1f, 0f });
+        index.add(new MemoryNoteId("b"), new float[] { 1f, 0f, 0f });
+
+        assertEquals(1, index.size());
+        assertTrue(index.search(new float[] { 1f, 0f, 0f }, 10, -1.0, id -> true).isEmpty());
+    }
+
+    private static List<MemoryNoteId> bruteForce(Map<MemoryNoteId, float[]> vectors, float[] query, int k) {
+        return vectors.entrySet().stream()
+                .sorted(Comparator.comparingDouble(
+                        (Map.Entry<MemoryNoteId, float[]> e) -> cosine(query, e.getValue())).reversed())
+                .limit(k)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private static double cosine(float[] a, float[] b) {
+        double dot = 0, normA = 0, normB = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            normA += a[i] * a[i];
+            normB += b[i] * b[i];
+        }
+        return dot / (Math.sqrt(normA) * Math.sqrt(normB));
+    }
+
+    private static Map<MemoryNoteId, float[]> randomVectors(int count, long seed) {
+        Random random = new Random(seed);
+        Map<MemoryNoteId, float[]> vectors = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            vectors.put(id(i), randomVector(DIMENSION, 1.0, random));
+        }
+        return vectors;
+    }
+}
@@ -0,0 +1,173 @@
+package com.thecookiezen.archiledger.infrastructure.persistence.vector;
+
+import com.thecookiezen.archiledger.domain.model.MemoryNoteId;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.thecookiezen.archiledger.infrastructure.persistence.vector.VectorFixtures.clusteredVectors;
+import static com.thecookiezen.archiledger.infrastructure.persistence.vector.VectorFixtures.id;
+import static com.thecookiezen.archiledger.infrastructure.persistence.vector.VectorFixtures.randomVector;
+import static org.junit.jupiter.api.Assertions.*;
+
+class HnswVectorIndexTest {
+
+    private static final int DIMENSION = 32;
+    private static final long SEED = 1L;
+    /** Wide enough that the seeded graphs below clear 0.95 recall with a margin (about 0.985 measured). */
+    private static final int EF_SEARCH = 128;
+
+    @Test
+    void search_recallAgainstExactScanIsHigh() {
+        Random random = new Random(42);
+        float[][] vectors = clusteredVectors(3_000, DIMENSION, random);
+        ExactVectorIndex exact = new ExactVectorIndex();
+        HnswVectorIndex hnsw = seededIndex();
+        for (int i = 0; i < vectors.length; i++) {
+            exact.add(id(i), vectors[i]);
+            hnsw.add(id(i), vectors[i]);
+        }
+
+        assertTrue(recallAt10(exact, hnsw, random) >= 0.95);
+    }
+
+    @Test
+    void add_sameSeedAndOrderBuildSameGraph() {
+        float[][] vectors = clusteredVectors(1_000, DIMENSION, new Random(11));
+        HnswVectorIndex first = seededIndex();
+        HnswVectorIndex second = seededIndex();
+        for (int i = 0; i < vectors.length; i++) {
+            first.add(id(i), vectors[i]);
+            second.add(id(i), vectors[i]);
+        }
+
+        Random queries = new Random(12);
+        for (int q = 0; q < 20; q++) {
+            float[] query = randomVector(DIMENSION, 1.0, queries);
+            assertEquals(first.search(query, 10, -1.0, id -> true), second.search(query, 10, -1.0, id -> true));
+        }
+    }
+
+    @Test
+    void add_concurrentInsertsBuildSearchableGraph() throws Exception {
+        Random random = new Random(7);
+        float[][] vectors = clusteredVectors(2_000, DIMENSION, random);
+        ExactVectorIndex exact = new ExactVectorIndex();
+        HnswVectorIndex hnsw = seededIndex();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> inserts = new ArrayList<>();
+            for (int i = 0; i < vectors.length; i++) {
+                int index = i;
+                exact.add(id(index), vectors[index]);
+                inserts.add(executor.submit(() -> hnsw.add(id(index), vectors[index])));
+            }
+            for (Future<?> insert : inserts) {
+                insert.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(vectors.length, hnsw.size());
+        assertTrue(recallAt10(exact, hnsw, random) >= 0.95);
+    }
+
+    @Test
+    void remove_tombstonesNoteSoItIsNeverReturned() {
+        HnswVectorIndex hnsw = new HnswVectorIndex();
+        Random random = new Random(3);
+        float[][] vectors = clusteredVectors(500, DIMENSION, random);
+        for (int i = 0; i < vectors.length; i++) {
+            hnsw.add(id(i), vectors[i]);
+        }
+
+        hnsw.remove(id(0));
+
+        List<VectorMatch> matches = hnsw.search(vectors[0], 10, -1.0, id -> true);
+        assertEquals(10, matches.size());
+        assertTrue(matches.stream().noneMatch(match -> match.id().equals(id(0))));
+        assertEquals(vectors.length - 1, hnsw.size());
+    }
+
+    @Test
+    void add_replacingEmbeddingReturnsOnlyLatestVersion() {
+        HnswVectorIndex hnsw = new HnswVectorIndex();
+        hnsw.add(new MemoryNoteId("a"), new float[] { 1f, 0f });
+        hnsw.add(new MemoryNoteId("b"), new float[] { 1f, 1f });
+        hnsw.add(new MemoryNoteId("a"), new float[] { 0f, 1f });
+
+        List<VectorMatch> matches = hnsw.search(new float[] { 0f, 1f }, 10, -1.0, id -> true);
+
+        assertEquals(List.of("a", "b"), matches.stream().map(match -> match.id().value()).toList());
+        assertEquals(1.0, matches.get(0).score(), 1e-6);
+        assertEquals(2, hnsw.size());
+    }
+
+    @Test
+    void add_resavingNotesCompactsTombstonesAndKeepsRecall() {
+        Random random = new Random(5);
+        int notes = 200;
+        ExactVectorIndex exact = new ExactVectorIndex();
+        HnswVectorIndex hnsw = seededIndex();
+        for (int round = 0; round < 7; round++) {
+            float[][] vectors = clusteredVectors(notes, DIMENSION, random);
+            for (int i = 0; i < notes; i++) {
+                exact.add(id(i), vectors[i]);
+                hnsw.add(id(i), vectors[i]);
+            }
+        }
+
+        assertEquals(notes, hnsw.size());
+        assertTrue(hnsw.graphSize() < notes + HnswVectorIndex.MIN_TOMBSTONES_TO_COMPACT);
+        assertTrue(recallAt10(exact, hnsw, random) >= 0.95);
+    }
+
+    @Test
+    void search_appliesFilterAndMinScore() {
+        HnswVectorIndex hnsw = new HnswVectorIndex();
+        hnsw.add(new MemoryNoteId("same"), new float[] { 2f, 0f });
+        hnsw.add(new MemoryNoteId("close"), new float[] { 1f, 0.2f });
+        hnsw.add(new MemoryNoteId("orthogonal"), new float[] { 0f, 1f });
+
+        List<VectorMatch> matches = hnsw.search(new float[] { 1f, 0f }, 10, 0.5,
+                id -> !id.value().equals("same"));
+
+        assertEquals(1, matches.size());
+        assertEquals("close", matches.get(0).id().value());
+    }
+
+    @Test
+    void constructor_rejectsInvalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> new HnswVectorIndex(VectorOps.scalar(), 1, 100, 10, SEED));
+        assertThrows(IllegalArgumentException.class, () -> new HnswVectorIndex(VectorOps.scalar(), 16, 0, 10, SEED));
+    }
+
+    private static HnswVectorIndex seededIndex() {
+        return new HnswVectorIndex(VectorOps.scalar(), HnswVectorIndex.DEFAULT_M,
+                HnswVectorIndex.DEFAULT_EF_CONSTRUCTION, EF_SEARCH, SEED);
+    }
+
+    private static double recallAt10(VectorIndex exact, VectorIndex approximate, Random random) {
+        int queries = 100;
+        int hits = 0;
+        for (int q = 0; q < queries; q++) {
+            float[] query = randomVector(DIMENSION, 1.0, random);
+            Set<MemoryNoteId> expected = new HashSet<>();
+            exact.search(query, 10, -1.0, id -> true).forEach(match -> expected.add(match.id()));
+            for (VectorMatch match : approximate.search(query, 10, -1.0, id -> true)) {
+                if (expected.contains(match.id())) {
+                    hits++;
+                }
+            }
+        }
+        return hits / (queries * 10.0);
+    }
+}
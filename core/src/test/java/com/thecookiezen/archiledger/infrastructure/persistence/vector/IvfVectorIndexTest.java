@@ -0,0 +1,123 @@
+package com.thecookiezen.archiledger.infrastructure.persistence.vector;
+
+import com.thecookiezen.archiledger.domain.model.MemoryNoteId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static com.thecookiezen.archiledger.infrastructure.persistence.vector.VectorFixtures.clusteredVectors;
+import static com.thecookiezen.archiledger.infrastructure.persistence.vector.VectorFixtures.id;
+import static com.thecookiezen.archiledger.infrastructure.persistence.vector.VectorFixtures.ids;
+import static com.thecookiezen.archiledger.infrastructure.persistence.vector.VectorFixtures.randomVector;
+import static org.junit.jupiter.api.Assertions.*;
+
+class IvfVectorIndexTest {
+
+    private static final int DIMENSION = 32;
+
+    private IvfVectorIndex index;
+
+    @AfterEach
+    void tearDown() {
+        if (index != null) {
+            index.close();
+        }
+    }
+
+    @Test
+    void search_isExactBeforeTraining() {
+        index = new IvfVectorIndex(VectorOps.scalar(), 4, 1, 1_000, 2.0);
+        index.add(new MemoryNoteId("same"), new float[] { 2f, 0f });
+        index.add(new MemoryNoteId("close"), new float[] { 1f, 0.2f });
+        index.add(new MemoryNoteId("orthogonal"), new float[] { 0f, 1f });
+
+        List<VectorMatch> matches = index.search(new float[] { 1f, 0f }, 10, 0.5, id -> true);
+
+        assertFalse(index.trained());
+        assertEquals(List.of("same", "close"), matches.stream().map(match -> match.id().value()).toList());
+    }
+
+    @Test
+    void search_probingAllListsMatchesExactScan() {
+        Random random = new Random(5);
+        float[][] vectors = clusteredVectors(2_000, DIMENSION, random);
+        index = new IvfVectorIndex(VectorOps.scalar(), 16, 16, 1_000_000, 2.0);
+        ExactVectorIndex exact = new ExactVectorIndex();
+        for (int i = 0; i < vectors.length; i++) {
+            index.add(id(i), vectors[i]);
+            exact.add(id(i), vectors[i]);
+        }
+
+        index.train();
+
+        assertTrue(index.trained());
+        float[] query = randomVector(DIMENSION, 1.0, random);
+        assertEquals(ids(exact.search(query, 10, -1.0, id -> true)), ids(index.search(query, 10, -1.0, id -> true)));
+    }
+
+    @Test
+    void search_recallWithFewProbesIsHigh() {
+        Random random = new Random(42);
+        float[][] vectors = clusteredVectors(4_000, DIMENSION, random);
+        index = new IvfVectorIndex(VectorOps.preferred(), 32, 6, 1_000_000, 2.0);
+        ExactVectorIndex exact = new ExactVectorIndex();
+        for (int i = 0; i < vectors.length; i++) {
+            index.add(id(i), vectors[i]);
+            exact.add(id(i), vectors[i]);
+        }
+        index.train();
+
+        int hits = 0;
+        for (int q = 0; q < 100; q++) {
+            float[] query = vectors[random.nextInt(vectors.length)];
+            Set<MemoryNoteId> expected = new HashSet<>(ids(exact.search(query, 10, -1.0, id -> true)));
+            hits += (int) index.search(query, 10, -1.0, id -> true).stream()
+                    .filter(match -> expected.contains(match.id()))
+                    .count();
+        }
+        assertTrue(hits / 1000.0 >= 0.9);
+    }
+
+    @Test
+    void add_trainsInBackgroundOnceMinimumSizeIsReached() throws InterruptedException {
+        Random random = new Random(9);
+        index = new IvfVectorIndex(VectorOps.scalar(), 8, 2, 500, 2.0);
+        float[][] vectors = clusteredVectors(500, DIMENSION, random);
+        for (int i = 0; i < vectors.length; i++) {
+            index.add(id(i), vectors[i]);
+        }
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!index.trained() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertTrue(index.trained());
+        assertEquals(vectors.length, index.size());
+        assertEquals(id(7), index.search(vectors[7], 1, -1.0, id -> true).get(0).id());
+    }
+
+    @Test
+    void writesAfterTrainingAreRoutedToLists() {
+        Random random = new Random(13);
+        float[][] vectors = clusteredVectors(1_000, DIMENSION, random);
+        index = new IvfVectorIndex(VectorOps.scalar(), 8, 8, 1_000_000, 2.0);
+        for (int i = 0; i < vectors.length; i++) {
+            index.add(id(i), vectors[i]);
+        }
+        index.train();
+
+        index.remove(id(0));
+        index.add(id(1), vectors[2]);
+        index.add(new MemoryNoteId("new"), vectors[3]);
+
+        assertEquals(vectors.length, index.size());
+        assertTrue(index.search(vectors[0], 50, 0.999, id -> true).stream().noneMatch(m -> m.id().equals(id(0))));
+        assertTrue(ids(index.search(vectors[2], 10, 0.999, id -> true)).containsAll(List.of(id(1), id(2))));
+        assertTrue(ids(index.search(vectors[3], 10, 0.999, id -> true)).contains(new MemoryNoteId("new")));
+    }
+}
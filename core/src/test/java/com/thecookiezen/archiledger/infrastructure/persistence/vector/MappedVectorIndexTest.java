@@ -0,0 +1,101 @@
+package com.thecookiezen.archiledger.infrastructure.persistence.vector;
+
+import com.thecookiezen.archiledger.domain.model.MemoryNoteId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static com.thecookiezen.archiledger.infrastructure.persistence.vector.VectorFixtures.id;
+import static com.thecookiezen.archiledger.infrastructure.persistence.vector.VectorFixtures.ids;
+import static com.thecookiezen.archiledger.infrastructure.persistence.vector.VectorFixtures.randomVector;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedVectorIndexTest {
+
+    private static final int DIMENSION = 16;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void search_matchesExactIndexAcrossChunks() {
+        Random random = new Random(9);
+        ExactVectorIndex exact = new ExactVectorIndex();
+        try (MappedVectorIndex index = new MappedVectorIndex(directory, VectorOps.scalar())) {
+            for (int i = 0; i < 20_000; i++) {
+                float[] embedding = randomVector(DIMENSION, 1.0, random);
+                index.add(id(i), embedding);
+                exact.add(id(i), embedding);
+            }
+
+            for (int q = 0; q < 5; q++) {
+                float[] query = randomVector(DIMENSION, 1.0, random);
+                assertEquals(ids(exact.search(query, 10, -1.0, id -> true)),
+                        ids(index.search(query, 10, -1.0, id -> true)));
+            }
+        }
+    }
+
+    @Test
+    void reopen_restoresEmbeddingsAndRemovals() {
+        float[] first = { 1f, 0f, 0f };
+        try (MappedVectorIndex index = new MappedVectorIndex(directory, VectorOps.scalar())) {
+            index.add(new MemoryNoteId("first"), first);
+            index.add(new MemoryNoteId("second"), new float[] { 0f, 1f, 0f });
+            index.add(new MemoryNoteId("removed"), new float[] { 0f, 0f, 1f });
+            index.add(new MemoryNoteId("second"), new float[] { 0.6f, 0.8f, 0f });
+            index.remove(new MemoryNoteId("removed"));
+        }
+
+        try (MappedVectorIndex reopened = new MappedVectorIndex(directory, VectorOps.scalar())) {
+            assertEquals(2, reopened.size());
+            assertArrayEquals(first, reopened.vector(new MemoryNoteId("first")));
+            assertNull(reopened.vector(new MemoryNoteId("removed")));
+            List<VectorMatch> matches = reopened.search(new float[] { 1f, 0f, 0f }, 10, -1.0, id -> true);
+            assertEquals(List.of("first", "second"), matches.stream().map(match -> match.id().value()).toList());
+            assertEquals(0.6, matches.get(1).score(), 1e-6);
+        }
+    }
+
+    @Test
+    void add_reusesFreedSlotsAndRejectsOtherDimensions() {
+        try (MappedVectorIndex index = new MappedVectorIndex(directory, VectorOps.scalar())) {
+            index.add(new MemoryNoteId("a"), new float[] { 1f, 0f });
+            index.remove(new MemoryNoteId("a"));
+            index.add(new MemoryNoteId("b"), new float[] { 0f, 1f });
+            index.add(new MemoryNoteId("c"), new float[] { 1f, 0f, 0f });
+
+            assertEquals(1, index.size());
+            assertEquals("b", index.search(new float[] { 0f, 1f }, 1, -1.0, id -> true).get(0).id().value());
+        }
+
+        try (MappedVectorIndex reopened = new MappedVectorIndex(directory, VectorOps.scalar())) {
+            assertEquals(1, reopened.size());
+            assertArrayEquals(new float[] { 0f, 1f }, reopened.vector(new MemoryNoteId("b")));
+        }
+    }
+
+    @Test
+    void retain_freesSlotsOfUnknownNotesForReuse() {
+        try (MappedVectorIndex index = new MappedVectorIndex(directory, VectorOps.scalar())) {
+            index.add(new MemoryNoteId("kept"), new float[] { 1f, 0f });
+            index.add(new MemoryNoteId("orphan"), new float[] { 0f, 1f });
+        }
+
+        try (MappedVectorIndex reopened = new MappedVectorIndex(directory, VectorOps.scalar())) {
+            assertEquals(1, reopened.retain(id -> id.value().equals("kept")));
+            reopened.add(new MemoryNoteId("new"), new float[] { 0f, 1f });
+            assertEquals(2, reopened.size());
+            assertNull(reopened.vector(new MemoryNoteId("orphan")));
+        }
+
+        try (MappedVectorIndex reopened = new MappedVectorIndex(directory, VectorOps.scalar())) {
+            assertEquals(2, reopened.size());
+            assertNull(reopened.vector(new MemoryNoteId("orphan")));
+            assertArrayEquals(new float[] { 0f, 1f }, reopened.vector(new MemoryNoteId("new")));
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.thecookiezen.archiledger.infrastructure.persistence.vector;
+
+import com.thecookiezen.archiledger.domain.model.MemoryNoteId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static com.thecookiezen.archiledger.infrastructure.persistence.vector.VectorFixtures.id;
+import static com.thecookiezen.archiledger.infrastructure.persistence.vector.VectorFixtures.ids;
+import static com.thecookiezen.archiledger.infrastructure.persistence.vector.VectorFixtures.randomVector;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PcaVectorIndexTest {
+
+    private static final int DIMENSION = 128;
+    private static final int LATENT_DIMENSION = 24;
+
+    private PcaVectorIndex index;
+
+    @AfterEach
+    void tearDown() {
+        if (index != null) {
+            index.close();
+        }
+    }
+
+    @Test
+    void search_isExactBeforeTraining() {
+        index = new PcaVectorIndex(VectorOps.scalar(), 1, 1, 1_000, 2.0);
+        index.add(new MemoryNoteId("same"), new float[] { 2f, 0f });
+        index.add(new MemoryNoteId("close"), new float[] { 1f, 0.2f });
+        index.add(new MemoryNoteId("orthogonal"), new float[] { 0f, 1f });
+
+        List<VectorMatch> matches = index.search(new float[] { 1f, 0f }, 10, 0.5, id -> true);
+
+        assertFalse(index.trained());
+        assertEquals(List.of("same", "close"), matches.stream().map(match -> match.id().value()).toList());
+    }
+
+    @Test
+    void fit_capturesLowRankStructure() {
+        Random random = new Random(3);
+        float[][] latent = latentDirections(random);
+        List<float[]> vectors = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            vectors.add(VectorOps.normalize(embedding(latent, random)));
+        }
+
+        PcaProjection projection = PcaProjection.fit(vectors, 32);
+
+        assertEquals(32, projection.components());
+        assertTrue(projection.explainedVariance() >= 0.95);
+        float[] basis = projection.basis();
+        assertEquals(1.0, VectorOps.scalar().dot(basis, 0, basis, 0, DIMENSION), 1e-4);
+        assertEquals(0.0, VectorOps.scalar().dot(basis, 0, basis, DIMENSION, DIMENSION), 1e-4);
+    }
+
+    @Test
+    void search_afterTrainingKeepsRecallHigh() {
+        Random random = new Random(42);
+        float[][] latent = latentDirections(random);
+        index = new PcaVectorIndex(VectorOps.preferred(), 32, 10, 1_000_000, 2.0);
+        ExactVectorIndex exact = new ExactVectorIndex();
+        for (int i = 0; i < 4_000; i++) {
+            float[] embedding = embedding(latent, random);
+            index.add(id(i), embedding);
+            exact.add(id(i), embedding);
+        }
+        index.train();
+
+        assertTrue(index.trained());
+        int hits = 0;
+        for (int q = 0; q < 100; q++) {
+            float[] query = embedding(latent, random);
+            Set<MemoryNoteId> expected = new HashSet<>(ids(exact.search(query, 10, -1.0, id -> true)));
+            hits += (int) index.search(query, 10, -1.0, id -> true).stream()
+                    .filter(match -> expected.contains(match.id()))
+                    .count();
+        }
+        assertTrue(hits / 1000.0 >= 0.95);
+    }
+
+    @Test
+    void search_reRankedScoresAreExactAndNewWritesAreProjected() {
+        Random random = new Random(7);
+        float[][] latent = latentDirections(random);
+        index = new PcaVectorIndex(VectorOps.scalar(), 16, 4, 1_000_000, 2.0);
+        for (int i = 0; i < 500; i++) {
+            index.add(id(i), embedding(latent, random));
+        }
+        index.train();
+        float[] late = embedding(latent, random);
+        index.add(new MemoryNoteId("late"), late);
+
+        List<VectorMatch> matches = index.search(late, 3, -1.0, id -> true);
+
+        assertEquals("late", matches.get(0).id().value());
+        assertEquals(1.0, matches.get(0).score(), 1e-5);
+    }
+
+    @Test
+    void search_largeRerankFactorDoesNotOverflowCandidateCount() {
+        Random random = new Random(5);
+        float[][] latent = latentDirections(random);
+        index = new PcaVectorIndex(VectorOps.scalar(), 16, Integer.MAX_VALUE / 2, 1_000_000, 2.0);
+        for (int i = 0; i < 100; i++) {
+            index.add(id(i), embedding(latent, random));
+        }
+        index.train();
+
+        assertEquals(50, index.search(embedding(latent, random), 50, -1.0, id -> true).size());
+    }
+
+    @Test
+    void remove_andFilterExcludeNotes() {
+        Random random = new Random(11);
+        float[][] latent = latentDirections(random);
+        index = new PcaVectorIndex(VectorOps.scalar(), 16, 4, 1_000_000, 2.0);
+        float[] target = embedding(latent, random);
+        index.add(new MemoryNoteId("removed"), target);
+        index.add(new MemoryNoteId("filtered"), target);
+        index.add(new MemoryNoteId("kept"), target);
+        for (int i = 0; i < 300; i++) {
+            index.add(id(i), embedding(latent, random));
+        }
+        index.train();
+
+        index.remove(new MemoryNoteId("removed"));
+        List<VectorMatch> matches = index.search(target, 1, -1.0, id -> !id.value().equals("filtered"));
+
+        assertEquals(302, index.size());
+        assertEquals("kept", matches.get(0).id().value());
+    }
+
+    private static float[][] latentDirections(Random random) {
+        float[][] directions = new float[LATENT_DIMENSION][];
+        for (int l = 0; l < directions.length; l++) {
+            directions[l] = randomVector(DIMENSION, 1.0, random);
+        }
+        return directions;
+    }
+
+    /**
+     * Embeddings concentrated near a low-dimensional subspace with a decaying spectrum, plus isotropic noise.
+     */
+    private static float[] embedding(float[][] latent, Random random) {
+        float[] vector = new float[DIMENSION];
+        for (int l = 0; l < latent.length; l++) {
+            float weight = (float) (random.nextGaussian() / (1.0 + l * 0.2));
+            for (int d = 0; d < DIMENSION; d++) {
+                vector[d] += weight * latent[l][d];
+            }
+        }
+        for (int d = 0; d < DIMENSION; d++) {
+            vector[d] += (float) random.nextGaussian() * 0.05f;
+        }
+        return vector;
+    }
+}
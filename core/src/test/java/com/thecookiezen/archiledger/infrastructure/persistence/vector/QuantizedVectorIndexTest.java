@@ -0,0 +1,105 @@
+package com.thecookiezen.archiledger.infrastructure.persistence.vector;
+
+import com.thecookiezen.archiledger.domain.model.MemoryNoteId;
+import com.thecookiezen.archiledger.infrastructure.persistence.vector.QuantizedVectorIndex.Quantization;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static com.thecookiezen.archiledger.infrastructure.persistence.vector.VectorFixtures.id;
+import static com.thecookiezen.archiledger.infrastructure.persistence.vector.VectorFixtures.randomVector;
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuantizedVectorIndexTest {
+
+    private static final int DIMENSION = 128;
+
+    @Test
+    void search_int8WithRerankingKeepsRecallHigh() {
+        assertTrue(recallAt10(new QuantizedVectorIndex(Quantization.INT8)) >= 0.95);
+    }
+
+    @Test
+    void search_binaryWithRerankingKeepsRecallHigh() {
+        assertTrue(recallAt10(new QuantizedVectorIndex(Quantization.BINARY)) >= 0.9);
+    }
+
+    @Test
+    void search_reRankedScoresAreExact() {
+        QuantizedVectorIndex index = new QuantizedVectorIndex(Quantization.INT8);
+        index.add(new MemoryNoteId("same"), new float[] { 2f, 0f, 0f, 0f });
+        index.add(new MemoryNoteId("close"), new float[] { 1f, 0.2f, 0f, 0f });
+        index.add(new MemoryNoteId("orthogonal"), new float[] { 0f, 1f, 0f, 0f });
+
+        List<VectorMatch> matches = index.search(new float[] { 1f, 0f, 0f, 0f }, 10, 0.5, id -> true);
+
+        assertEquals(List.of("same", "close"), matches.stream().map(match -> match.id().value()).toList());
+        assertEquals(1.0, matches.get(0).score(), 1e-6);
+        assertEquals(1.0 / Math.sqrt(1.04), matches.get(1).score(), 1e-6);
+    }
+
+    @Test
+    void search_largeRerankFactorDoesNotOverflowCandidateCount() {
+        QuantizedVectorIndex index = new QuantizedVectorIndex(Quantization.INT8, VectorOps.scalar(),
+                Integer.MAX_VALUE / 2);
+        Random random = new Random(5);
+        for (int i = 0; i < 100; i++) {
+            index.add(id(i), randomVector(DIMENSION, 1.0, random));
+        }
+
+        assertEquals(50, index.search(randomVector(DIMENSION, 1.0, random), 50, -1.0, id -> true).size());
+    }
+
+    @Test
+    void remove_andFilterExcludeNotes() {
+        QuantizedVectorIndex index = new QuantizedVectorIndex(Quantization.INT8);
+        index.add(new MemoryNoteId("a"), new float[] { 1f, 0f });
+        index.add(new MemoryNoteId("b"), new float[] { 1f, 0.1f });
+        index.add(new MemoryNoteId("c"), new float[] { 1f, 0.2f });
+
+        index.remove(new MemoryNoteId("a"));
+        List<VectorMatch> matches = index.search(new float[] { 1f, 0f }, 10, -1.0,
+                id -> !id.value().equals("b"));
+
+        assertEquals(2, index.size());
+        assertEquals(List.of("c"), matches.stream().map(match -> match.id().value()).toList());
+    }
+
+    private static double recallAt10(QuantizedVectorIndex quantized) {
+        Random random = new Random(42);
+        float[][] centres = new float[20][];
+        for (int c = 0; c < centres.length; c++) {
+            centres[c] = randomVector(DIMENSION, 1.0, random);
+        }
+        ExactVectorIndex exact = new ExactVectorIndex();
+        for (int i = 0; i < 2_000; i++) {
+            float[] vector = nearby(centres[random.nextInt(centres.length)], random);
+            exact.add(id(i), vector);
+            quantized.add(id(i), vector);
+        }
+        int hits = 0;
+        for (int q = 0; q < 50; q++) {
+            float[] query = nearby(centres[random.nextInt(centres.length)], random);
+            Set<MemoryNoteId> expected = new HashSet<>();
+            exact.search(query, 10, -1.0, id -> true).forEach(match -> expected.add(match.id()));
+            hits += (int) quantized.search(query, 10, -1.0, id -> true).stream()
+                    .filter(match -> expected.contains(match.id()))
+                    .count();
+        }
+        return hits / 500.0;
+    }
+
+    /**
+     * Gaussian noise around a cluster centre, closer to the structure of real text embeddings than uniform noise.
+     */
+    private static float[] nearby(float[] centre, Random random) {
+        float[] noise = randomVector(DIMENSION, 0.5, random);
+        for (int i = 0; i < DIMENSION; i++) {
+            noise[i] += centre[i];
+        }
+        return noise;
+    }
+}
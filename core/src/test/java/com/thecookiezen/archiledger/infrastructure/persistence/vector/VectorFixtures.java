@@ -0,0 +1,51 @@
+package com.thecookiezen.archiledger.infrastructure.persistence.vector;
+
+import com.thecookiezen.archiledger.domain.model.MemoryNoteId;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test vectors and note ids shared by the vector index tests.
+ */
+final class VectorFixtures {
+
+    private VectorFixtures() {
+    }
+
+    /**
+     * Gaussian clusters around random centres, closer to the structure of real text embeddings than uniform noise.
+     */
+    static float[][] clusteredVectors(int count, int dimension, Random random) {
+        float[][] centres = new float[20][];
+        for (int c = 0; c < centres.length; c++) {
+            centres[c] = randomVector(dimension, 1.0, random);
+        }
+        float[][] vectors = new float[count][];
+        for (int i = 0; i < count; i++) {
+            float[] centre = centres[random.nextInt(centres.length)];
+            float[] noise = randomVector(dimension, 0.3, random);
+            vectors[i] = new float[dimension];
+            for (int d = 0; d < dimension; d++) {
+                vectors[i][d] = centre[d] + noise[d];
+            }
+        }
+        return vectors;
+    }
+
+    static float[] randomVector(int dimension, double scale, Random random) {
+        float[] vector = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = (float) (random.nextGaussian() * scale);
+        }
+        return vector;
+    }
+
+    static MemoryNoteId id(int index) {
+        return new MemoryNoteId("note-" + index);
+    }
+
+    static List<MemoryNoteId> ids(List<VectorMatch> matches) {
+        return matches.stream().map(VectorMatch::id).toList();
+    }
+}
@@ -6,11 +6,16 @@ import java.util.List;
 public class PerformanceReport {
 
     private final List<Result> results = new ArrayList<>();
+    private final List<SessionResult> sessionResults = new ArrayList<>();
 
     public void addResult(String scenarioName, long noteCount, long linkCount, long durationMs) {
         results.add(new Result(scenarioName, noteCount, linkCount, durationMs));
     }
 
+    public void addSessionResult(SessionResult result) {
+        sessionResults.add(result);
+    }
+
     public String generateMarkdownTable() {
         StringBuilder sb = new StringBuilder();
         sb.append("\n# Performance Test Results\n\n");
@@ -25,9 +30,25 @@ public class PerformanceReport {
                     r.scenarioName, r.noteCount, r.linkCount, r.durationMs, throughput));
         }
         sb.append("\n");
+
+        if (!sessionResults.isEmpty()) {
+            sb.append("| Scenario | Mode | Sessions | Peak in flight | Failed | Duration (ms) | Sessions/sec | p50 (ms) | p99 (ms) |\n");
+            sb.append("|----------|------|----------|----------------|--------|---------------|--------------|----------|----------|\n");
+            for (SessionResult r : sessionResults) {
+                double throughput = (double) r.sessions / (Math.max(1, r.durationMs) / 1000.0);
+                sb.append(String.format("| %s | %s | %d | %d | %d | %d | %.2f | %d | %d |\n",
+                        r.scenarioName, r.mode, r.sessions, r.peakInFlight, r.failures, r.durationMs, throughput,
+                        r.p50Ms, r.p99Ms));
+            }
+            sb.append("\n");
+        }
         return sb.toString();
     }
 
+    public record SessionResult(String scenarioName, String mode, int sessions, int peakInFlight, int failures,
+            long durationMs, long p50Ms, long p99Ms) {
+    }
+
     private record Result(String scenarioName, long noteCount, long linkCount, long durationMs) {
     }
 }
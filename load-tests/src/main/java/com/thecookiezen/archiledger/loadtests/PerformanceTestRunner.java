@@ -13,6 +13,7 @@ import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
 import com.thecookiezen.archiledger.application.service.MemoryNoteService;
+import com.thecookiezen.archiledger.domain.model.DirectedLink;
 import com.thecookiezen.archiledger.domain.model.MemoryNote;
 import com.thecookiezen.archiledger.domain.model.MemoryNoteId;
 
@@ -55,6 +56,18 @@ public class PerformanceTestRunner implements CommandLineRunner {
     @Value("${loadtest.batch-size:25}")
     private int batchSize;
 
+    @Value("${loadtest.sessions:0}")
+    private int sessions;
+
+    @Value("${loadtest.session-operations:6}")
+    private int sessionOperations;
+
+    @Value("${loadtest.platform-threads:200}")
+    private int platformThreads;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
     public PerformanceTestRunner(MemoryNoteService memoryNoteService) {
         this.memoryNoteService = memoryNoteService;
     }
@@ -67,22 +80,26 @@ public class PerformanceTestRunner implements CommandLineRunner {
                 batchSize);
         PerformanceReport report = new PerformanceReport();
 
-        runScenario(scenario, report);
+        List<MemoryNoteId> noteIds = runScenario(scenario, report);
+        if (sessions > 0 && !noteIds.isEmpty()) {
+            runSessions(noteIds, report);
+        }
 
         System.out.println(report.generateMarkdownTable());
 
         System.exit(0);
     }
 
-    private void runScenario(PerformanceScenario scenario, PerformanceReport report) {
+    private List<MemoryNoteId> runScenario(PerformanceScenario scenario, PerformanceReport report) {
         log.info("--------------------------------------------------");
         log.info("Running Scenario: {}", scenario.name());
         log.info("Notes: {}, Links/Note: {}", scenario.noteCount(), scenario.linksPerNote());
 
         long startTime = System.currentTimeMillis();
+        List<MemoryNoteId> noteIds = new ArrayList<>();
 
         try {
-            processBatches(scenario);
+            processBatches(scenario, noteIds);
         } catch (Exception e) {
             log.error("Scenario {} failed", scenario.name(), e);
         }
@@ -92,6 +109,24 @@ public class PerformanceTestRunner implements CommandLineRunner {
 
         log.info("Finished Scenario: {} in {} ms", scenario.name(), duration);
         report.addResult(scenario.name(), scenario.noteCount(), scenario.totalLinks(), duration);
+        return noteIds;
+    }
+
+    private void runSessions(List<MemoryNoteId> noteIds, PerformanceReport report) {
+        SessionConcurrencyScenario scenario = new SessionConcurrencyScenario(memoryNoteService, virtualThreads,
+                platformThreads);
+        log.info("--------------------------------------------------");
+        log.info("Running Session Concurrency: {} sessions on {}", sessions, scenario.mode());
+        try {
+            PerformanceReport.SessionResult result = scenario.run(scenarioName, sessions, sessionOperations,
+                    noteIds);
+            log.info("Finished Session Concurrency: peak {} sessions in flight, {} failed, in {} ms",
+                    result.peakInFlight(), result.failures(), result.durationMs());
+            report.addSessionResult(result);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Session concurrency scenario interrupted", e);
+        }
     }
 
     private String generateRandomContent() {
@@ -111,7 +146,7 @@ public class PerformanceTestRunner implements CommandLineRunner {
         return sentence;
     }
 
-    private void processBatches(PerformanceScenario scenario) {
+    private void processBatches(PerformanceScenario scenario, List<MemoryNoteId> noteIds) {
         log.info("Generating and saving data in batches...");
         int batches = (int) Math.ceil((double) scenario.noteCount() / scenario.batchSize());
         int linksPerNote = scenario.linksPerNote();
@@ -138,11 +173,12 @@ public class PerformanceTestRunner implements CommandLineRunner {
                     .toList();
 
             memoryNoteService.createNotes(batchNotes);
+            batchNotes.forEach(note -> noteIds.add(note.id()));
 
             final int currentBatchSize = batchNotes.size();
             int createdLinksCount = 0;
             if (currentBatchSize > 0 && linksPerNote > 0) {
-                List<MemoryNoteId[]> linkPairs = new ArrayList<>();
+                List<DirectedLink> links = new ArrayList<>();
                 for (int j = 0; j < currentBatchSize; j++) {
                     MemoryNote source = batchNotes.get(j);
                     for (int k = 0; k < linksPerNote; k++) {
@@ -150,14 +186,12 @@ public class PerformanceTestRunner implements CommandLineRunner {
                         MemoryNote target = batchNotes.get(targetIndex);
 
                         if (!source.id().equals(target.id())) {
-                            linkPairs.add(new MemoryNoteId[] { source.id(), target.id() });
+                            links.add(new DirectedLink(source.id(), target.id(), "RELATED_TO"));
                         }
                     }
                 }
-                for (MemoryNoteId[] pair : linkPairs) {
-                    memoryNoteService.addLink(pair[0], pair[1], "RELATED_TO");
-                }
-                createdLinksCount = linkPairs.size();
+                memoryNoteService.addLinks(links);
+                createdLinksCount = links.size();
             }
 
             long batchEndTime = System.currentTimeMillis();
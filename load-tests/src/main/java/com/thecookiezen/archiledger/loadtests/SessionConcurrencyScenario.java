@@ -0,0 +1,105 @@
+package com.thecookiezen.archiledger.loadtests;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.thecookiezen.archiledger.application.service.MemoryNoteService;
+import com.thecookiezen.archiledger.domain.model.MemoryNoteId;
+import com.thecookiezen.archiledger.domain.model.SearchCriteria;
+
+/**
+ * Opens {@code sessions} concurrent MCP-like sessions, each issuing a short sequence of get_note,
+ * get_linked_notes and search_notes calls, the way request handlers would. With virtual threads every
+ * session gets its own thread; otherwise sessions share a fixed pool sized like Tomcat's default
+ * {@code server.tomcat.threads.max}, so the difference in sessions in flight and session latency shows
+ * what each mode sustains.
+ */
+class SessionConcurrencyScenario {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionConcurrencyScenario.class);
+
+    private static final String[] QUERIES = {
+            "database stores transaction logs", "network latency", "secure credentials",
+            "cached items updated periodically", "analytics metrics"
+    };
+
+    private final MemoryNoteService memoryNoteService;
+    private final boolean virtualThreads;
+    private final int platformThreads;
+
+    SessionConcurrencyScenario(MemoryNoteService memoryNoteService, boolean virtualThreads, int platformThreads) {
+        this.memoryNoteService = memoryNoteService;
+        this.virtualThreads = virtualThreads;
+        this.platformThreads = platformThreads;
+    }
+
+    String mode() {
+        return virtualThreads ? "virtual threads" : platformThreads + " platform threads";
+    }
+
+    PerformanceReport.SessionResult run(String name, int sessions, int operationsPerSession,
+            List<MemoryNoteId> noteIds) throws InterruptedException {
+        log.info("Running {} sessions x {} operations on {}", sessions, operationsPerSession, mode());
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peakInFlight = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        long[] latenciesNanos = new long[sessions];
+
+        long start = System.nanoTime();
+        ExecutorService executor = virtualThreads
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(platformThreads);
+        for (int i = 0; i < sessions; i++) {
+            int session = i;
+            executor.execute(() -> {
+                long sessionStart = System.nanoTime();
+                peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    for (int op = 0; op < operationsPerSession; op++) {
+                        runOperation(op, noteIds);
+                    }
+                } catch (RuntimeException e) {
+                    failures.incrementAndGet();
+                    log.debug("Session {} failed", session, e);
+                } finally {
+                    inFlight.decrementAndGet();
+                    latenciesNanos[session] = System.nanoTime() - sessionStart;
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.HOURS);
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        Arrays.sort(latenciesNanos);
+        return new PerformanceReport.SessionResult(name, mode(), sessions, peakInFlight.get(), failures.get(),
+                durationMs, percentileMs(latenciesNanos, 0.50), percentileMs(latenciesNanos, 0.99));
+    }
+
+    private void runOperation(int op, List<MemoryNoteId> noteIds) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        MemoryNoteId id = noteIds.get(random.nextInt(noteIds.size()));
+        switch (op % 3) {
+            case 0 -> memoryNoteService.getNote(id);
+            case 1 -> memoryNoteService.getLinkedNotes(id);
+            default -> memoryNoteService.similaritySearch(QUERIES[random.nextInt(QUERIES.length)],
+                    SearchCriteria.topK(10));
+        }
+    }
+
+    private static long percentileMs(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return TimeUnit.NANOSECONDS.toMillis(sortedNanos[Math.max(0, index)]);
+    }
+}
@@ -0,0 +1,122 @@
+package com.thecookiezen.archiledger.loadtests.benchmarks;
+
+import java.util.Random;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ladybugdb.Connection;
+import com.ladybugdb.Database;
+import com.ladybugdb.QueryResult;
+import com.thecookiezen.archiledger.infrastructure.persistence.ladybugdb.ReadWriteConnectionPools;
+
+/**
+ * Measures a LadybugDB vector index query taken through the connection pools, once with {@code LOAD vector} run
+ * before every query (what per-query extension loading did) and once with the extension loaded on each pooled
+ * connection the first time it is leased.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExtensionLoadingBenchmark {
+
+    private static final int DIMENSION = 384;
+    private static final int TOP_K = 10;
+
+    @Param({ "10000" })
+    public int notes;
+
+    private Database database;
+    private ReadWriteConnectionPools pools;
+    private String vectorQuery;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = new Database(":memory:");
+        try (Connection conn = new Connection(database)) {
+            execute(conn, "CREATE NODE TABLE NoteEmbedding(noteId STRING PRIMARY KEY, embedding FLOAT["
+                    + DIMENSION + "])");
+            execute(conn, "UNWIND range(0, " + (notes - 1) + ") AS i CREATE (:NoteEmbedding {"
+                    + "noteId: concat('note-', CAST(i AS STRING)), "
+                    + "embedding: CAST(list_transform(range(1, " + DIMENSION + "), x -> sin(i * 0.37 + x * 0.11))"
+                    + " AS FLOAT[" + DIMENSION + "])})");
+            execute(conn, "INSTALL vector");
+            execute(conn, "LOAD vector");
+            execute(conn, "CALL CREATE_VECTOR_INDEX('NoteEmbedding', 'note_embedding_idx', 'embedding', "
+                    + "metric := 'cosine')");
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to prepare the benchmark database", e);
+        }
+        pools = new ReadWriteConnectionPools(database, 1, 1, 1);
+        pools.requireExtension("vector");
+
+        Random random = new Random(42);
+        StringJoiner vector = new StringJoiner(", ", "[", "]");
+        for (int d = 0; d < DIMENSION; d++) {
+            vector.add(Float.toString((float) random.nextGaussian()));
+        }
+        vectorQuery = "CALL QUERY_VECTOR_INDEX('NoteEmbedding', 'note_embedding_idx', CAST(" + vector
+                + " AS FLOAT[" + DIMENSION + "]), " + TOP_K + ") RETURN node.noteId, distance";
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%nLOAD statements run by the pools: %d%n", pools.extensionLoads());
+        pools.close();
+        database.close();
+    }
+
+    @Benchmark
+    public long loadPerQuery() {
+        Connection conn = pools.acquire();
+        try {
+            execute(conn, "LOAD vector");
+            return search(conn);
+        } finally {
+            pools.release(conn);
+        }
+    }
+
+    @Benchmark
+    public long loadOncePerConnection() {
+        Connection conn = pools.acquire();
+        try {
+            return search(conn);
+        } finally {
+            pools.release(conn);
+        }
+    }
+
+    private long search(Connection conn) {
+        try (QueryResult result = conn.query(vectorQuery)) {
+            if (!result.isSuccess()) {
+                throw new IllegalStateException(result.getErrorMessage());
+            }
+            return result.getNumTuples();
+        }
+    }
+
+    private static void execute(Connection conn, String cypher) {
+        try (QueryResult result = conn.query(cypher)) {
+            if (!result.isSuccess()) {
+                throw new IllegalStateException("Query failed: " + cypher + " — " + result.getErrorMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.thecookiezen.archiledger.loadtests.benchmarks;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.thecookiezen.archiledger.domain.model.MemoryNoteId;
+import com.thecookiezen.archiledger.infrastructure.persistence.vector.ExactVectorIndex;
+import com.thecookiezen.archiledger.infrastructure.persistence.vector.PcaVectorIndex;
+import com.thecookiezen.archiledger.infrastructure.persistence.vector.VectorMatch;
+import com.thecookiezen.archiledger.infrastructure.persistence.vector.VectorOps;
+
+/**
+ * Compares single-threaded exact search with the PCA-prefiltered index (64 of 384 dimensions scanned, then
+ * full-precision re-ranking), and prints the recall@10 the prefilter keeps relative to the exact results.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Benchmark)
+public class PcaSearchBenchmark {
+
+    private static final int TOP_K = 10;
+    private static final int LATENT_DIMENSION = 96;
+    private static final int RECALL_QUERIES = 100;
+
+    @Param({ "10000", "100000" })
+    public int notes;
+
+    @Param({ "384" })
+    public int dimension;
+
+    private ExactVectorIndex exactIndex;
+    private PcaVectorIndex pcaIndex;
+    private float[][] latent;
+    private float[] query;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        latent = new float[LATENT_DIMENSION][dimension];
+        for (float[] direction : latent) {
+            for (int d = 0; d < dimension; d++) {
+                direction[d] = (float) random.nextGaussian();
+            }
+        }
+        exactIndex = new ExactVectorIndex(VectorOps.preferred(), Integer.MAX_VALUE);
+        pcaIndex = new PcaVectorIndex(VectorOps.preferred(), PcaVectorIndex.DEFAULT_COMPONENTS,
+                PcaVectorIndex.DEFAULT_RERANK_FACTOR, Integer.MAX_VALUE, PcaVectorIndex.DEFAULT_RETRAIN_GROWTH);
+        for (int i = 0; i < notes; i++) {
+            MemoryNoteId id = new MemoryNoteId("note-" + i);
+            float[] embedding = embedding(random);
+            exactIndex.add(id, embedding);
+            pcaIndex.add(id, embedding);
+        }
+        pcaIndex.train();
+        query = embedding(random);
+
+        int hits = 0;
+        for (int q = 0; q < RECALL_QUERIES; q++) {
+            float[] probe = embedding(random);
+            Set<MemoryNoteId> expected = new HashSet<>();
+            exactIndex.search(probe, TOP_K, -1.0, id -> true).forEach(match -> expected.add(match.id()));
+            for (VectorMatch match : pcaIndex.search(probe, TOP_K, -1.0, id -> true)) {
+                if (expected.contains(match.id())) {
+                    hits++;
+                }
+            }
+        }
+        System.out.printf("%nPCA recall@%d over %d queries: %.3f%n", TOP_K, RECALL_QUERIES,
+                (double) hits / (RECALL_QUERIES * TOP_K));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pcaIndex.close();
+    }
+
+    @Benchmark
+    public List<VectorMatch> exact() {
+        return exactIndex.search(query, TOP_K, -1.0, id -> true);
+    }
+
+    @Benchmark
+    public List<VectorMatch> pca() {
+        return pcaIndex.search(query, TOP_K, -1.0, id -> true);
+    }
+
+    /**
+     * Sentence embeddings concentrate most of their energy in a minority of directions; isotropic random vectors
+     * would leave nothing for the projection to exploit.
+     */
+    private float[] embedding(Random random) {
+        float[] vector = new float[dimension];
+        for (int l = 0; l < LATENT_DIMENSION; l++) {
+            float weight = (float) (random.nextGaussian() / (1.0 + l * 0.1));
+            for (int d = 0; d < dimension; d++) {
+                vector[d] += weight * latent[l][d];
+            }
+        }
+        for (int d = 0; d < dimension; d++) {
+            vector[d] += (float) random.nextGaussian() * 0.5f;
+        }
+        return vector;
+    }
+}
@@ -0,0 +1,107 @@
+package com.thecookiezen.archiledger.loadtests.benchmarks;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.thecookiezen.archiledger.domain.model.MemoryNoteId;
+import com.thecookiezen.archiledger.infrastructure.persistence.vector.ExactVectorIndex;
+import com.thecookiezen.archiledger.infrastructure.persistence.vector.QuantizedVectorIndex;
+import com.thecookiezen.archiledger.infrastructure.persistence.vector.VectorIndex;
+import com.thecookiezen.archiledger.infrastructure.persistence.vector.VectorMatch;
+
+/**
+ * Measures search latency of the full-precision exact index against the int8 and binary quantized indexes,
+ * and prints the recall@10 each quantized mode keeps relative to the exact results.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Benchmark)
+public class QuantizedSearchBenchmark {
+
+    private static final int TOP_K = 10;
+    private static final int CLUSTERS = 256;
+    private static final int RECALL_QUERIES = 100;
+
+    @Param({ "100000" })
+    public int notes;
+
+    @Param({ "384" })
+    public int dimension;
+
+    @Param({ "NONE", "INT8", "BINARY" })
+    public String quantization;
+
+    private VectorIndex index;
+    private float[] query;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        float[][] centres = new float[CLUSTERS][];
+        for (int i = 0; i < CLUSTERS; i++) {
+            centres[i] = randomVector(random, null);
+        }
+        ExactVectorIndex exact = new ExactVectorIndex();
+        index = "NONE".equals(quantization)
+                ? exact
+                : new QuantizedVectorIndex(QuantizedVectorIndex.Quantization.valueOf(quantization));
+        for (int i = 0; i < notes; i++) {
+            MemoryNoteId id = new MemoryNoteId("note-" + i);
+            float[] embedding = randomVector(random, centres[random.nextInt(CLUSTERS)]);
+            exact.add(id, embedding);
+            if (index != exact) {
+                index.add(id, embedding);
+            }
+        }
+        query = randomVector(random, centres[0]);
+
+        int hits = 0;
+        for (int q = 0; q < RECALL_QUERIES; q++) {
+            float[] probe = randomVector(random, centres[random.nextInt(CLUSTERS)]);
+            Set<MemoryNoteId> expected = new HashSet<>();
+            exact.search(probe, TOP_K, -1.0, id -> true).forEach(match -> expected.add(match.id()));
+            for (VectorMatch match : index.search(probe, TOP_K, -1.0, id -> true)) {
+                if (expected.contains(match.id())) {
+                    hits++;
+                }
+            }
+        }
+        System.out.printf("%n%s recall@%d over %d queries: %.3f%n", quantization, TOP_K, RECALL_QUERIES,
+                (double) hits / (RECALL_QUERIES * TOP_K));
+    }
+
+    @Benchmark
+    public List<VectorMatch> search() {
+        return index.search(query, TOP_K, -1.0, id -> true);
+    }
+
+    /**
+     * Embeddings of real notes cluster by topic; uniformly random vectors would understate what sign bits keep.
+     */
+    private float[] randomVector(Random random, float[] centre) {
+        float[] vector = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = (centre == null ? 0f : centre[i]) + (float) random.nextGaussian() * (centre == null ? 1f : 0.5f);
+        }
+        return vector;
+    }
+}
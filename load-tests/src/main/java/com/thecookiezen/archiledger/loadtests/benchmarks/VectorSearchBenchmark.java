@@ -0,0 +1,122 @@
+package com.thecookiezen.archiledger.loadtests.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.thecookiezen.archiledger.domain.model.MemoryNoteId;
+import com.thecookiezen.archiledger.infrastructure.persistence.vector.ExactVectorIndex;
+import com.thecookiezen.archiledger.infrastructure.persistence.vector.HnswVectorIndex;
+import com.thecookiezen.archiledger.infrastructure.persistence.vector.VectorMatch;
+import com.thecookiezen.archiledger.infrastructure.persistence.vector.VectorOps;
+
+/**
+ * Compares the previous stream-and-sort similarity scan of the in-memory profile with the
+ * contiguous-matrix exact index, using scalar and SIMD kernels, and with the approximate HNSW index.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Benchmark)
+public class VectorSearchBenchmark {
+
+    private static final int TOP_K = 10;
+
+    @Param({ "10000", "100000" })
+    public int notes;
+
+    @Param({ "384" })
+    public int dimension;
+
+    private List<StoredVector> stored;
+    private ExactVectorIndex scalarIndex;
+    private ExactVectorIndex simdIndex;
+    private HnswVectorIndex hnswIndex;
+    private float[] query;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        stored = new ArrayList<>(notes);
+        scalarIndex = new ExactVectorIndex(VectorOps.scalar(), Integer.MAX_VALUE);
+        simdIndex = new ExactVectorIndex();
+        hnswIndex = new HnswVectorIndex();
+        for (int i = 0; i < notes; i++) {
+            MemoryNoteId id = new MemoryNoteId("note-" + i);
+            float[] embedding = randomVector(random);
+            stored.add(new StoredVector(id, embedding));
+            scalarIndex.add(id, embedding);
+            simdIndex.add(id, embedding);
+            hnswIndex.add(id, embedding);
+        }
+        query = randomVector(random);
+    }
+
+    @Benchmark
+    public List<MemoryNoteId> streamSort() {
+        return stored.stream()
+                .map(vector -> new ScoredVector(vector.id(), cosineSimilarity(query, vector.embedding())))
+                .sorted((a, b) -> Double.compare(b.score(), a.score()))
+                .limit(TOP_K)
+                .map(ScoredVector::id)
+                .toList();
+    }
+
+    @Benchmark
+    public List<VectorMatch> exactScalar() {
+        return scalarIndex.search(query, TOP_K, -1.0, id -> true);
+    }
+
+    @Benchmark
+    public List<VectorMatch> exactSimd() {
+        return simdIndex.search(query, TOP_K, -1.0, id -> true);
+    }
+
+    @Benchmark
+    public List<VectorMatch> hnsw() {
+        return hnswIndex.search(query, TOP_K, -1.0, id -> true);
+    }
+
+    private float[] randomVector(Random random) {
+        float[] vector = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+
+    private static double cosineSimilarity(float[] a, float[] b) {
+        double dotProduct = 0.0;
+        double normA = 0.0;
+        double normB = 0.0;
+        for (int i = 0; i < a.length; i++) {
+            dotProduct += a[i] * b[i];
+            normA += a[i] * a[i];
+            normB += b[i] * b[i];
+        }
+        double denominator = Math.sqrt(normA) * Math.sqrt(normB);
+        return denominator == 0 ? 0.0 : dotProduct / denominator;
+    }
+
+    private record StoredVector(MemoryNoteId id, float[] embedding) {
+    }
+
+    private record ScoredVector(MemoryNoteId id, double score) {
+    }
+}
@@ -1,17 +1,29 @@
 package com.thecookiezen.archiledger.infrastructure.mcp;
 
 import com.thecookiezen.archiledger.application.service.MemoryNoteService;
+import com.thecookiezen.archiledger.domain.model.DirectedLink;
+import com.thecookiezen.archiledger.domain.model.GraphPage;
 import com.thecookiezen.archiledger.domain.model.MemoryNoteId;
+import com.thecookiezen.archiledger.domain.model.Neighborhood;
+import com.thecookiezen.archiledger.domain.model.SearchCriteria;
+import com.thecookiezen.archiledger.domain.model.SearchMode;
+import com.thecookiezen.archiledger.infrastructure.mcp.dto.FullGraphDto;
+import com.thecookiezen.archiledger.infrastructure.mcp.dto.GraphDto;
+import com.thecookiezen.archiledger.infrastructure.mcp.dto.GraphPageDto;
+import com.thecookiezen.archiledger.infrastructure.mcp.dto.LinkResultDto;
 import com.thecookiezen.archiledger.infrastructure.mcp.dto.MemoryNoteDto;
+import com.thecookiezen.archiledger.infrastructure.mcp.dto.NeighborhoodDto;
 import com.thecookiezen.archiledger.infrastructure.mcp.dto.NoteLinkDto;
 import com.thecookiezen.archiledger.infrastructure.mcp.dto.NoteLinksDto;
+import com.thecookiezen.archiledger.infrastructure.mcp.dto.NoteSkeletonDto;
+import com.thecookiezen.archiledger.infrastructure.mcp.dto.SearchResultDto;
 
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
-import java.util.Map;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -33,17 +45,19 @@ public class McpToolAdapter {
                                 .collect(Collectors.toList());
         }
 
-        @Tool(name = "add_links", description = "Add typed links between existing memory notes. Links represent connections with a relation type (e.g., 'DEPENDS_ON', 'RELATED_TO', 'CONTRADICTS').")
-        public void addLinks(
+        @Tool(name = "add_links", description = "Add typed links between existing memory notes. Links represent connections with a relation type (e.g., 'DEPENDS_ON', 'RELATED_TO', 'CONTRADICTS'). Returns the outcome of each link: LINKED, SOURCE_NOT_FOUND or TARGET_NOT_FOUND.")
+        public List<LinkResultDto> addLinks(
                         @ToolParam(description = "List of links to create, each with source note ID, target note ID, and relation type") List<NoteLinksDto> links) {
-                for (NoteLinksDto link : links) {
-                        for (NoteLinkDto noteLink : link.links()) {
-                                memoryNoteService.addLink(
-                                                new MemoryNoteId(link.fromNoteId()),
-                                                new MemoryNoteId(noteLink.target()),
-                                                noteLink.relationType());
-                        }
-                }
+                List<DirectedLink> directedLinks = links.stream()
+                                .flatMap(link -> link.links().stream()
+                                                .map(noteLink -> new DirectedLink(
+                                                                link.fromNoteId(),
+                                                                noteLink.target(),
+                                                                noteLink.relationType())))
+                                .toList();
+                return memoryNoteService.addLinks(directedLinks).stream()
+                                .map(LinkResultDto::fromDomain)
+                                .collect(Collectors.toList());
         }
 
         @Tool(name = "get_note", description = "Retrieve a specific memory note by its ID. Returns the note with its content, keywords, tags, links, and metadata. Increments the retrieval counter for relevance tracking.")
@@ -69,10 +83,40 @@ public class McpToolAdapter {
                                 .collect(Collectors.toList());
         }
 
-        @Tool(name = "search_notes", description = "Perform a semantic similarity search across all memory notes. Returns the most relevant notes based on vector embeddings of their content.")
-        public List<String> searchNotes(
-                        @ToolParam(description = "Natural language query to search for similar notes") String query) {
-                return memoryNoteService.similaritySearch(query);
+        @Tool(name = "get_neighborhood", description = "Explore the graph around a note in one call. Follows links in both directions up to the given depth and returns each reachable note once with its hop distance (0 for the start note), plus the links between the returned notes.")
+        public NeighborhoodDto getNeighborhood(
+                        @ToolParam(description = "ID of the note to start from") String noteId,
+                        @ToolParam(description = "Maximum number of hops, 1 to 3 (default 2)", required = false) Integer depth,
+                        @ToolParam(description = "Only follow links of these relation types (default all)", required = false) List<String> relationTypes,
+                        @ToolParam(description = "Maximum notes to return including the start note, 1 to 1000 (default 100); nearer notes are kept first", required = false) Integer maxNodes) {
+                return NeighborhoodDto.fromDomain(memoryNoteService.getNeighborhood(
+                                new MemoryNoteId(noteId),
+                                depth != null ? depth : Neighborhood.DEFAULT_DEPTH,
+                                relationTypes,
+                                maxNodes != null ? maxNodes : Neighborhood.DEFAULT_MAX_NODES));
+        }
+
+        @Tool(name = "search_notes", description = "Search across all memory notes. By default performs a semantic similarity search over vector embeddings of their content; mode=lexical ranks notes by BM25 full-text relevance of the query terms (best for exact identifiers, error codes and ticket numbers), and mode=hybrid fuses both rankings with reciprocal rank fusion. Returns the most relevant notes, each with its ID, score (higher is more relevant) and content. Results can be limited, cut off below a minimum score, and filtered by tags or creation time. Semantic search uses an approximate nearest-neighbour index and applies the tag and time filters to its nearest candidates, widening them until enough notes match, so a very selective filter makes the search slower and can still miss a matching note; mode=lexical and get_notes_by_tag are exhaustive.")
+        public List<SearchResultDto> searchNotes(
+                        @ToolParam(description = "Natural language query or exact terms to search for") String query,
+                        @ToolParam(description = "Maximum number of results to return, 1 to 1000 (default 10)", required = false) Integer limit,
+                        @ToolParam(description = "Minimum cosine similarity score between -1 and 1; lower-scoring notes are omitted. Applies to the vector ranking only", required = false) Double minScore,
+                        @ToolParam(description = "Only return notes carrying at least one of these tags", required = false) List<String> tags,
+                        @ToolParam(description = "Only return notes created at or after this ISO-8601 timestamp", required = false) String createdAfter,
+                        @ToolParam(description = "Only return notes created before this ISO-8601 timestamp", required = false) String createdBefore,
+                        @ToolParam(description = "Ranking: vector (default), lexical or hybrid", required = false) String mode) {
+                SearchCriteria criteria = new SearchCriteria(
+                                limit != null ? limit : SearchCriteria.DEFAULT_LIMIT,
+                                minScore != null ? minScore : SearchCriteria.NO_MIN_SCORE,
+                                tags,
+                                createdAfter,
+                                createdBefore);
+                SearchMode searchMode = mode != null && !mode.isBlank()
+                                ? SearchMode.valueOf(mode.trim().toUpperCase(Locale.ROOT))
+                                : SearchMode.VECTOR;
+                return memoryNoteService.search(query, criteria, searchMode).stream()
+                                .map(SearchResultDto::fromDomain)
+                                .collect(Collectors.toList());
         }
 
         @Tool(name = "delete_notes", description = "Delete one or more memory notes by their IDs. Also removes associated links and embeddings.")
@@ -94,9 +138,22 @@ public class McpToolAdapter {
                 }
         }
 
-        @Tool(name = "read_graph", description = "Read the entire knowledge graph. Returns all memory notes and their links.")
-        public Map<String, Object> readGraph() {
-                return memoryNoteService.readGraph();
+        @Tool(name = "read_graph", description = "Read the knowledge graph. Without parameters returns all memory notes and their links at once; for large graphs pass pageSize (and the returned nextCursor on following calls) to read notes page by page, ordered by ID, until nextCursor is null. skeleton=true returns only note IDs, tags and links, without content.")
+        public GraphDto readGraph(
+                        @ToolParam(description = "Cursor returned as nextCursor by the previous page; omit for the first page", required = false) String cursor,
+                        @ToolParam(description = "Maximum notes per page, 1 to 1000 (default 100)", required = false) Integer pageSize,
+                        @ToolParam(description = "Return only note IDs, tags and links (default false)", required = false) Boolean skeleton) {
+                boolean skeletonOnly = Boolean.TRUE.equals(skeleton);
+                if (cursor == null && pageSize == null && !skeletonOnly) {
+                        return FullGraphDto.fromDomain(memoryNoteService.readGraph());
+                }
+                int size = pageSize != null ? pageSize : GraphPage.DEFAULT_PAGE_SIZE;
+                if (skeletonOnly) {
+                        return GraphPageDto.fromDomain(memoryNoteService.readGraphSkeleton(cursor, size),
+                                        NoteSkeletonDto::fromDomain);
+                }
+                return GraphPageDto.fromDomain(memoryNoteService.readGraphPage(cursor, size),
+                                MemoryNoteDto::fromDomain);
         }
 
         @Tool(name = "get_all_tags", description = "List all unique tags currently used across all memory notes. Useful for discovering available categories.")
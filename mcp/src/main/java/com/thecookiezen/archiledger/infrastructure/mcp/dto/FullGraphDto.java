@@ -0,0 +1,19 @@
+package com.thecookiezen.archiledger.infrastructure.mcp.dto;
+
+import com.thecookiezen.archiledger.domain.model.MemoryNote;
+import com.thecookiezen.archiledger.domain.model.NoteLink;
+
+import java.util.List;
+import java.util.Map;
+
+public record FullGraphDto(List<MemoryNoteDto> notes, List<NoteLinkDto> links) implements GraphDto {
+
+    @SuppressWarnings("unchecked")
+    public static FullGraphDto fromDomain(Map<String, Object> graph) {
+        List<MemoryNote> notes = (List<MemoryNote>) graph.getOrDefault("notes", List.of());
+        List<NoteLink> links = (List<NoteLink>) graph.getOrDefault("links", List.of());
+        return new FullGraphDto(
+                notes.stream().map(MemoryNoteDto::fromDomain).toList(),
+                links.stream().map(NoteLinkDto::fromDomain).toList());
+    }
+}
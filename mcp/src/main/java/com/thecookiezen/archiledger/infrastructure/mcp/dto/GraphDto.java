@@ -0,0 +1,7 @@
+package com.thecookiezen.archiledger.infrastructure.mcp.dto;
+
+/**
+ * Result of the {@code read_graph} tool: the whole graph at once, or one page of it.
+ */
+public sealed interface GraphDto permits FullGraphDto, GraphPageDto {
+}
@@ -0,0 +1,13 @@
+package com.thecookiezen.archiledger.infrastructure.mcp.dto;
+
+import com.thecookiezen.archiledger.domain.model.GraphPage;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record GraphPageDto<T>(List<T> notes, String nextCursor) implements GraphDto {
+
+    public static <D, T> GraphPageDto<T> fromDomain(GraphPage<D> page, Function<D, T> mapper) {
+        return new GraphPageDto<>(page.notes().stream().map(mapper).toList(), page.nextCursor());
+    }
+}
@@ -0,0 +1,14 @@
+package com.thecookiezen.archiledger.infrastructure.mcp.dto;
+
+import com.thecookiezen.archiledger.domain.model.LinkResult;
+
+public record LinkResultDto(String fromNoteId, String target, String relationType, String status) {
+
+    public static LinkResultDto fromDomain(LinkResult result) {
+        return new LinkResultDto(
+                result.link().from().value(),
+                result.link().to().value(),
+                result.link().relationType(),
+                result.status().name());
+    }
+}
@@ -0,0 +1,38 @@
+package com.thecookiezen.archiledger.infrastructure.mcp.dto;
+
+import com.thecookiezen.archiledger.domain.model.DirectedLink;
+import com.thecookiezen.archiledger.domain.model.Neighborhood;
+import com.thecookiezen.archiledger.domain.model.NeighborhoodNote;
+
+import java.util.List;
+
+public record NeighborhoodDto(List<Neighbor> notes, List<Link> links) {
+
+    public record Neighbor(String id, int distance, String content, List<String> keywords, String context,
+            List<String> tags, String timestamp) {
+
+        static Neighbor fromDomain(NeighborhoodNote neighbor) {
+            return new Neighbor(
+                    neighbor.note().id().value(),
+                    neighbor.distance(),
+                    neighbor.note().content(),
+                    neighbor.note().keywords(),
+                    neighbor.note().context(),
+                    neighbor.note().tags(),
+                    neighbor.note().timestamp());
+        }
+    }
+
+    public record Link(String fromNoteId, String target, String relationType) {
+
+        static Link fromDomain(DirectedLink link) {
+            return new Link(link.from().value(), link.to().value(), link.relationType());
+        }
+    }
+
+    public static NeighborhoodDto fromDomain(Neighborhood neighborhood) {
+        return new NeighborhoodDto(
+                neighborhood.notes().stream().map(Neighbor::fromDomain).toList(),
+                neighborhood.links().stream().map(Link::fromDomain).toList());
+    }
+}
@@ -0,0 +1,15 @@
+package com.thecookiezen.archiledger.infrastructure.mcp.dto;
+
+import com.thecookiezen.archiledger.domain.model.NoteSkeleton;
+
+import java.util.List;
+
+public record NoteSkeletonDto(String id, List<String> tags, List<NoteLinkDto> links) {
+
+    public static NoteSkeletonDto fromDomain(NoteSkeleton skeleton) {
+        return new NoteSkeletonDto(
+                skeleton.id().value(),
+                skeleton.tags(),
+                skeleton.links().stream().map(NoteLinkDto::fromDomain).toList());
+    }
+}
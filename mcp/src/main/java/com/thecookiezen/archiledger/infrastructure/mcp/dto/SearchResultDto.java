@@ -0,0 +1,10 @@
+package com.thecookiezen.archiledger.infrastructure.mcp.dto;
+
+import com.thecookiezen.archiledger.domain.model.ScoredNote;
+
+public record SearchResultDto(String id, double score, String content) {
+
+    public static SearchResultDto fromDomain(ScoredNote hit) {
+        return new SearchResultDto(hit.note().id().value(), hit.score(), hit.note().content());
+    }
+}
@@ -35,6 +35,33 @@ run_scenario() {
     echo ""
 }
 
+run_session_scenario() {
+    local SCENARIO_NAME=$1
+    local ENTITIES=$2
+    local SESSIONS=$3
+    local VIRTUAL=$4
+    local HEAP=$5
+
+    echo "===================================================================================================="
+    echo "Running Sessions: $SCENARIO_NAME | Entities: $ENTITIES | Sessions: $SESSIONS | Virtual threads: $VIRTUAL | Heap: $HEAP"
+    echo "===================================================================================================="
+
+    rm -rf "/tmp/$SCENARIO_NAME-$VIRTUAL"
+    java -Xmx$HEAP -jar "$JAR_FILE" \
+    --logging.level.root=ERROR \
+    --logging.level.com.thecookiezen.archiledger.loadtests=INFO \
+    --spring.profiles.active=ladybugdb \
+    --spring.threads.virtual.enabled=$VIRTUAL \
+    --ladybugdb.data-dir="/tmp/$SCENARIO_NAME-$VIRTUAL" \
+    --loadtest.scenario.name="$SCENARIO_NAME" \
+    --loadtest.note-count=$ENTITIES \
+    --loadtest.links-per-note=5 \
+    --loadtest.batch-size=25 \
+    --loadtest.sessions=$SESSIONS || { status=$?; echo "Scenario $SCENARIO_NAME FAILED with exit code $status"; }
+
+    echo ""
+}
+
 # Run Scenarios
 
 run_scenario "Functional" 100 5 "512m"
@@ -45,4 +72,8 @@ run_scenario "Functional" 100 5 "512m"
 
 # run_scenario "Large" 100000 30 "1g"
 
+# Same session load on a 200-thread platform pool and on virtual threads with database/embedding bulkheads
+run_session_scenario "Sessions" 1000 2000 false "1g"
+run_session_scenario "Sessions" 1000 2000 true "1g"
+
 echo "All tests completed."